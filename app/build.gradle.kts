@@ -30,6 +30,10 @@ android {
         sourceCompatibility = JavaVersion.VERSION_1_8
         targetCompatibility = JavaVersion.VERSION_1_8
     }
+    testOptions {
+        // JVM 테스트에서 android.util.Log 등은 아무 일도 하지 않게
+        unitTests.isReturnDefaultValues = true
+    }
 }
 
 dependencies {
@@ -45,10 +49,15 @@ dependencies {
     implementation("androidx.constraintlayout:constraintlayout:2.1.4")
     implementation("androidx.drawerlayout:drawerlayout:1.2.0")
     implementation("com.squareup.okhttp3:okhttp:4.9.1")
+    implementation("androidx.work:work-runtime:2.9.0")  // 대기질 자료 주기적 미리 받기
     implementation("com.google.android.gms:play-services-auth:20.7.0")
     implementation ("com.github.bumptech.glide:glide:4.13.2")
     annotationProcessor ("com.github.bumptech.glide:compiler:4.13.2")
     testImplementation("junit:junit:4.13.2")
+    testImplementation("org.xerial:sqlite-jdbc:3.46.0.0")  // QuizSchema 마이그레이션 테스트용 JVM SQLite
+    testImplementation("com.squareup.okhttp3:mockwebserver:4.9.1")  // AirQualityRepository 테스트용 HTTP 서버
+    testImplementation("net.sf.kxml:kxml2:2.3.0")  // JVM 테스트용 XmlPullParser (앱에서는 android.util.Xml)
     androidTestImplementation("androidx.test.ext:junit:1.2.1")
     androidTestImplementation("androidx.test.espresso:espresso-core:3.6.1")
+    androidTestImplementation("androidx.work:work-testing:2.9.0")  // WorkManagerTestInitHelper
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+#!/usr/bin/env python3
+# quiz_pack.json -> app/src/main/assets/quiz_pack.db
+# 앱 첫 실행 때 QuizContentPack 이 이 파일을 읽기 전용으로 열어 quiz_database 로 한 번에 복사한다.
+# correctAnswer 는 "|" 로 같은 뜻의 답을 여러 개 둘 수 있다. (AnswerKey)
+# 내용을 바꾸면 version 을 올리고 QuizContentPack.BUNDLED_VERSION 도 같은 값으로 맞춘 뒤 다시 실행한다.
+import json
+import os
+import sqlite3
+
+HERE = os.path.dirname(os.path.abspath(__file__))
+SOURCE = os.path.join(HERE, "quiz_pack.json")
+OUTPUT = os.path.join(HERE, "..", "src", "main", "assets", "quiz_pack.db")
+TABLES = ["air_pollution_quiz", "soil_pollution_quiz", "water_pollution_quiz", "plastic_pollution_quiz"]
+
+
+def main():
+    with open(SOURCE, encoding="utf-8") as f:
+        pack = json.load(f)
+
+    if os.path.exists(OUTPUT):
+        os.remove(OUTPUT)
+    db = sqlite3.connect(OUTPUT)
+    db.execute("CREATE TABLE pack_info (version INTEGER NOT NULL)")
+    db.execute("INSERT INTO pack_info VALUES (?)", (pack["version"],))
+    for table in TABLES:
+        db.execute("CREATE TABLE " + table + " ("
+                   "question TEXT NOT NULL, study TEXT, correct_answer TEXT NOT NULL, correct_answer_length INTEGER, "
+                   "explanation TEXT, max_score INTEGER DEFAULT 3, attempts_allowed INTEGER DEFAULT 3, "
+                   "order_index INTEGER PRIMARY KEY)")
+        for quiz in pack["quizzes"].get(table, []):
+            answer = quiz["correctAnswer"]
+            db.execute("INSERT INTO " + table + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                       (quiz["question"], quiz.get("study"), answer, len(answer.split("|")[0]), quiz.get("explanation"),
+                        quiz.get("maxScore", 3), quiz.get("attemptsAllowed", 3), quiz["order"]))
+    db.commit()
+    db.execute("VACUUM")
+    db.close()
+    print("wrote", os.path.normpath(OUTPUT), os.path.getsize(OUTPUT), "bytes")
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,148 @@
+package com.example.green_action.airquality;
+
+import android.content.Context;
+import android.util.Log;
+import android.util.Xml;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.work.Configuration;
+import androidx.work.NetworkType;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+import androidx.work.testing.SynchronousExecutor;
+import androidx.work.testing.TestDriver;
+import androidx.work.testing.WorkManagerTestInitHelper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class AirQualityPrefetchWorkerTest {
+
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final long NINE_O_CLOCK = 1792281600000L; // 2026-10-18 09:00 KST
+    // 9시 자료가 올라온 뒤로 고정한 시계. 응답의 측정 시각이 currentHour() 와 같아야 캐시가 '이번 시간 자료'가 된다.
+    private static final long NOW = NINE_O_CLOCK + AirQualityRepository.PUBLISH_DELAY_MS + 5 * 60 * 1000L;
+    private static final String BODY = "<response><header><resultCode>00</resultCode><resultMsg>NORMAL_CODE</resultMsg></header>"
+            + "<body><items><item><stationName>중구</stationName><dataTime>2026-10-18 09:00</dataTime>"
+            + "<pm10Value>31</pm10Value></item></items>"
+            + "<numOfRows>100</numOfRows><pageNo>1</pageNo><totalCount>1</totalCount></body></response>";
+
+    private Context context;
+    private File cacheDir;
+    private ExecutorService io;
+    private ExecutorService network;
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        Configuration config = new Configuration.Builder()
+                .setMinimumLoggingLevel(Log.DEBUG)
+                .setExecutor(new SynchronousExecutor())
+                .build();
+        WorkManagerTestInitHelper.initializeTestWorkManager(context, config);
+
+        cacheDir = new File(context.getCacheDir(), "air_quality_test");
+        deleteCache();
+        // 네트워크 대신 가로채서 응답한다.
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(chain -> {
+                    requests.incrementAndGet();
+                    return new Response.Builder()
+                            .request(chain.request())
+                            .protocol(Protocol.HTTP_1_1)
+                            .code(200)
+                            .message("OK")
+                            .body(ResponseBody.create(BODY, MediaType.get("text/xml; charset=utf-8")))
+                            .build();
+                })
+                .build();
+        io = Executors.newSingleThreadExecutor();
+        network = Executors.newFixedThreadPool(2);
+        AirQualityRepository.setInstanceForTesting(new AirQualityRepository(HttpUrl.get("https://apis.example.test/air"), "key",
+                client, cacheDir, io, network, Runnable::run, () -> NOW, Xml::newPullParser));
+    }
+
+    @After
+    public void tearDown() {
+        AirQualityRepository.setInstanceForTesting(null);
+        io.shutdown();
+        network.shutdown();
+        deleteCache();
+    }
+
+    @Test
+    public void waitsForBatteryAndUnmeteredNetwork() throws Exception {
+        AirQualityPrefetchWorker.schedule(context, Arrays.asList("서울", "경기"));
+
+        WorkInfo info = uniqueWork();
+        assertEquals(WorkInfo.State.ENQUEUED, info.getState());
+        assertEquals(NetworkType.UNMETERED, info.getConstraints().getRequiredNetworkType());
+        assertTrue(info.getConstraints().requiresBatteryNotLow());
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    public void prefetchesOncePerHour() throws Exception {
+        AirQualityPrefetchWorker.schedule(context, Arrays.asList("서울", "경기"));
+        WorkInfo info = uniqueWork();
+        TestDriver driver = WorkManagerTestInitHelper.getTestDriver(context);
+
+        driver.setAllConstraintsMet(info.getId());
+        driver.setInitialDelayMet(info.getId());
+        assertEquals(2, requests.get()); // 시도마다 한 페이지
+        assertEquals("2026101809", AirQualityRepository.getInstance(context).currentHour());
+        assertTrue(AirQualityRepository.getInstance(context).isCurrent("서울"));
+        assertTrue(AirQualityRepository.getInstance(context).isCurrent("경기"));
+
+        // 같은 시간 안에 다시 돌면 받지 않는다.
+        driver.setPeriodDelayMet(info.getId());
+        assertEquals(2, requests.get());
+        assertEquals(WorkInfo.State.ENQUEUED, uniqueWork().getState());
+    }
+
+    @Test
+    public void firstRunIsAlignedToPublication() {
+        assertEquals(AirQualityRepository.PUBLISH_DELAY_MS, AirQualityPrefetchWorker.delayToNextPublication(NINE_O_CLOCK));
+        assertEquals(AirQualityRepository.PUBLISH_DELAY_MS - 5 * 60 * 1000L,
+                AirQualityPrefetchWorker.delayToNextPublication(NINE_O_CLOCK + 5 * 60 * 1000L));
+        assertEquals(HOUR, AirQualityPrefetchWorker.delayToNextPublication(NINE_O_CLOCK + AirQualityRepository.PUBLISH_DELAY_MS));
+    }
+
+    private WorkInfo uniqueWork() throws Exception {
+        List<WorkInfo> infos = WorkManager.getInstance(context).getWorkInfosForUniqueWork(AirQualityPrefetchWorker.UNIQUE_NAME).get();
+        assertEquals(1, infos.size());
+        return infos.get(0);
+    }
+
+    private void deleteCache() {
+        File[] files = cacheDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.green_action.Community;
+
+// board_heads/{boardType} 요약 노드: 게시판별 최신 글과 글 수
+// 글 작성/수정/삭제 경로(FirebaseRepository)에서 함께 갱신하므로
+// 홈 화면은 게시판 글 목록을 내려받지 않고 이 노드 하나만 듣는다.
+public class BoardHead {
+    public String latestId;         // 최신 글 postId
+    public String latestTitle;      // 최신 글 제목
+    public String latestTimestamp;  // 최신 글 timestamp (게시글과 같은 문자열 밀리초)
+    public long count;              // 게시판 글 수
+    public boolean counted;         // 기존 글 수를 한 번 세어 채웠는지 (도입 이전 게시판 보정용)
+
+    public BoardHead() {
+        // Default constructor required for calls to DataSnapshot.getValue(BoardHead.class)
+    }
+
+    public BoardHead(String latestId, String latestTitle, String latestTimestamp, long count, boolean counted) {
+        this.latestId = latestId;
+        this.latestTitle = latestTitle;
+        this.latestTimestamp = latestTimestamp;
+        this.count = count;
+        this.counted = counted;
+    }
+}
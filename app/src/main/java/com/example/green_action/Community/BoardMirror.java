@@ -0,0 +1,375 @@
+package com.example.green_action.Community;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 게시판 글과 댓글의 로컬 사본 (SQLite)
+// - posts: (board_type, timestamp) 색인으로 게시판별 최신순 페이지를 바로 읽는다.
+// - comments: (board_type, post_id, timestamp) 색인
+// - sync_state: 게시판별 동기화 기준점(watermark). 이 시점까지의 글은 빠짐없이 들어 있다.
+// 게시판 화면은 여기서 먼저 그리고, Firebase 에서 받은 변경분을 반영하면서 함께 저장한다.
+// 퀴즈 데이터베이스(quiz_database)와는 파일을 분리해 서로의 스키마 변경에 영향을 주지 않는다.
+// 읽기/쓰기 메서드는 execute/load 로 넘겨 전용 스레드에서 실행해야 한다.
+public class BoardMirror extends SQLiteOpenHelper {
+
+    private static final String DATABASE_NAME = "community_mirror";
+    private static final int DATABASE_VERSION = 1;
+
+    // 게시판별로 보관하는 최대 글 수 (오래된 글부터 정리)
+    static final int MAX_POSTS_PER_BOARD = 500;
+
+    private static final String TABLE_POSTS = "posts";
+    private static final String TABLE_COMMENTS = "comments";
+    private static final String TABLE_SYNC_STATE = "sync_state";
+
+    private static BoardMirror instance;
+
+    // 모든 읽기/쓰기를 순서대로 처리하는 단일 스레드
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private BoardMirror(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    public static synchronized BoardMirror getInstance(Context context) {
+        if (instance == null) {
+            instance = new BoardMirror(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        db.enableWriteAheadLogging();
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_POSTS + " (" +
+                "post_id TEXT PRIMARY KEY, " +
+                "board_type TEXT NOT NULL, " +
+                "user_id TEXT, " +
+                "user_name TEXT, " +
+                "title TEXT, " +
+                "content TEXT, " +
+                "timestamp INTEGER NOT NULL, " + // 밀리초 (Firebase 에는 문자열로 저장됨)
+                "likes INTEGER DEFAULT 0, " +
+                "comment_count INTEGER DEFAULT 0" +
+                ")");
+        db.execSQL("CREATE INDEX idx_posts_board_time ON " + TABLE_POSTS + " (board_type, timestamp)");
+
+        db.execSQL("CREATE TABLE " + TABLE_COMMENTS + " (" +
+                "comment_id TEXT PRIMARY KEY, " +
+                "board_type TEXT NOT NULL, " +
+                "post_id TEXT NOT NULL, " +
+                "user_id TEXT, " +
+                "user_name TEXT, " +
+                "comment_text TEXT, " +
+                "timestamp INTEGER NOT NULL" +
+                ")");
+        db.execSQL("CREATE INDEX idx_comments_board_post_time ON " + TABLE_COMMENTS + " (board_type, post_id, timestamp)");
+
+        db.execSQL("CREATE TABLE " + TABLE_SYNC_STATE + " (" +
+                "board_type TEXT PRIMARY KEY, " +
+                "watermark TEXT NOT NULL, " +     // 마지막으로 받은 글의 timestamp (Firebase 값 그대로)
+                "watermark_key TEXT NOT NULL" +   // 같은 timestamp 구분용 post key
+                ")");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // 캐시이므로 스키마가 바뀌면 비우고 다시 받는다.
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_POSTS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_COMMENTS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_SYNC_STATE);
+        onCreate(db);
+    }
+
+    // ----- 실행 -----
+
+    // 쓰기 작업을 전용 스레드에서 실행
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    // 읽기 작업을 전용 스레드에서 실행하고 결과를 메인 스레드로 전달
+    public <T> void load(Loader<T> loader, Callback<T> callback) {
+        executor.execute(() -> {
+            T result = loader.load();
+            mainHandler.post(() -> callback.onLoaded(result));
+        });
+    }
+
+    // ----- 게시글 -----
+
+    // 최신 글 limit 개 (최신순)
+    public List<CommunityPostItem> loadLatestPosts(String boardType, int limit) {
+        return queryPosts("board_type = ?", new String[]{boardType}, limit);
+    }
+
+    // (timestamp, postId) 보다 오래된 글 limit 개 (최신순)
+    public List<CommunityPostItem> loadPostsBefore(String boardType, String timestamp, String postId, int limit) {
+        String millis = String.valueOf(parseMillis(timestamp));
+        return queryPosts("board_type = ? AND (timestamp < ? OR (timestamp = ? AND post_id < ?))",
+                new String[]{boardType, millis, millis, postId}, limit);
+    }
+
+    private List<CommunityPostItem> queryPosts(String selection, String[] args, int limit) {
+        List<CommunityPostItem> posts = new ArrayList<>();
+        Cursor cursor = getReadableDatabase().query(TABLE_POSTS,
+                new String[]{"post_id", "board_type", "user_id", "user_name", "title", "content",
+                        "timestamp", "likes", "comment_count"},
+                selection, args, null, null, "timestamp DESC, post_id DESC", String.valueOf(limit));
+        try {
+            while (cursor.moveToNext()) {
+                CommunityPostItem item = new CommunityPostItem(cursor.getString(0), cursor.getString(2),
+                        cursor.getString(4), cursor.getString(5), String.valueOf(cursor.getLong(6)), cursor.getString(3));
+                item.setBoardType(cursor.getString(1));
+                item.setLikes(cursor.getInt(7));
+                item.setCommentCount(cursor.getInt(8));
+                posts.add(item);
+            }
+        } finally {
+            cursor.close();
+        }
+        return posts;
+    }
+
+    // 글 저장 (한 트랜잭션, 미리 컴파일한 문장 재사용)
+    public void upsertPosts(String boardType, Collection<CommunityPostItem> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        SQLiteDatabase db = getWritableDatabase();
+        SQLiteStatement statement = db.compileStatement("INSERT OR REPLACE INTO " + TABLE_POSTS +
+                " (post_id, board_type, user_id, user_name, title, content, timestamp, likes, comment_count)" +
+                " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        db.beginTransaction();
+        try {
+            for (CommunityPostItem post : posts) {
+                if (post.getPostId() == null) {
+                    continue;
+                }
+                statement.clearBindings();
+                statement.bindString(1, post.getPostId());
+                statement.bindString(2, boardType);
+                bindNullable(statement, 3, post.getUserId());
+                bindNullable(statement, 4, post.getUserName());
+                bindNullable(statement, 5, post.getTitle());
+                bindNullable(statement, 6, post.getContent());
+                statement.bindLong(7, parseMillis(post.getTimestamp()));
+                statement.bindLong(8, post.getLikes());
+                statement.bindLong(9, post.getCommentCount());
+                statement.executeInsert();
+            }
+            trimBoard(db, boardType);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            statement.close();
+        }
+    }
+
+    public void deletePost(String postId) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.delete(TABLE_POSTS, "post_id = ?", new String[]{postId});
+        db.delete(TABLE_COMMENTS, "post_id = ?", new String[]{postId});
+    }
+
+    // 보관 한도를 넘는 오래된 글 정리. 가장 오래된 쪽만 잘라내므로 남은 구간은 여전히 빈틈이 없다.
+    private void trimBoard(SQLiteDatabase db, String boardType) {
+        db.execSQL("DELETE FROM " + TABLE_POSTS + " WHERE board_type = ? AND post_id NOT IN (" +
+                        "SELECT post_id FROM " + TABLE_POSTS + " WHERE board_type = ?" +
+                        " ORDER BY timestamp DESC, post_id DESC LIMIT " + MAX_POSTS_PER_BOARD + ")",
+                new Object[]{boardType, boardType});
+        deleteOrphanComments(db, boardType);
+    }
+
+    // 로컬 사본에서 빠진 글의 댓글 정리
+    private static void deleteOrphanComments(SQLiteDatabase db, String boardType) {
+        db.execSQL("DELETE FROM " + TABLE_COMMENTS + " WHERE board_type = ? AND post_id NOT IN (" +
+                        "SELECT post_id FROM " + TABLE_POSTS + " WHERE board_type = ?)",
+                new Object[]{boardType, boardType});
+    }
+
+    // ----- 동기화 기준점 -----
+
+    @Nullable
+    public Watermark getWatermark(String boardType) {
+        Cursor cursor = getReadableDatabase().query(TABLE_SYNC_STATE, new String[]{"watermark", "watermark_key"},
+                "board_type = ?", new String[]{boardType}, null, null, null);
+        try {
+            return cursor.moveToFirst() ? new Watermark(cursor.getString(0), cursor.getString(1)) : null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    // 기준점은 앞으로만 이동한다.
+    public void advanceWatermark(String boardType, String timestamp, String postId) {
+        Watermark current = getWatermark(boardType);
+        if (current != null && !current.isBefore(timestamp, postId)) {
+            return;
+        }
+        getWritableDatabase().execSQL("INSERT OR REPLACE INTO " + TABLE_SYNC_STATE +
+                " (board_type, watermark, watermark_key) VALUES (?, ?, ?)", new Object[]{boardType, timestamp, postId});
+    }
+
+    // 마지막 방문 이후 보관 한도 이상의 글이 올라와 빈틈을 다 메울 수 없을 때:
+    // (timestamp, postId) 보다 오래된 글과 그 댓글을 버리고 기준점을 그 글로 옮긴다. (한 트랜잭션)
+    // 남은 구간은 이 글부터 다시 빈틈없이 시작하고, 더 오래된 페이지는 서버에서 받는다.
+    public void resetBoard(String boardType, String timestamp, String postId) {
+        SQLiteDatabase db = getWritableDatabase();
+        String millis = String.valueOf(parseMillis(timestamp));
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_POSTS, "board_type = ? AND (timestamp < ? OR (timestamp = ? AND post_id < ?))",
+                    new String[]{boardType, millis, millis, postId});
+            deleteOrphanComments(db, boardType);
+            db.execSQL("INSERT OR REPLACE INTO " + TABLE_SYNC_STATE +
+                    " (board_type, watermark, watermark_key) VALUES (?, ?, ?)", new Object[]{boardType, timestamp, postId});
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    // ----- 댓글 -----
+
+    // 게시글의 댓글 전체 (작성순)
+    public List<Comment> loadComments(String boardType, String postId) {
+        List<Comment> comments = new ArrayList<>();
+        Cursor cursor = getReadableDatabase().query(TABLE_COMMENTS,
+                new String[]{"comment_id", "user_id", "user_name", "comment_text", "timestamp"},
+                "board_type = ? AND post_id = ?", new String[]{boardType, postId},
+                null, null, "timestamp ASC, comment_id ASC");
+        try {
+            while (cursor.moveToNext()) {
+                comments.add(new Comment(cursor.getString(0), cursor.getString(1), cursor.getString(2),
+                        cursor.getString(3), cursor.getLong(4)));
+            }
+        } finally {
+            cursor.close();
+        }
+        return comments;
+    }
+
+    // 게시글의 댓글을 서버에서 받은 목록으로 교체 (한 트랜잭션)
+    public void replaceComments(String boardType, String postId, Collection<Comment> comments) {
+        SQLiteDatabase db = getWritableDatabase();
+        SQLiteStatement statement = compileCommentInsert(db);
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_COMMENTS, "board_type = ? AND post_id = ?", new String[]{boardType, postId});
+            for (Comment comment : comments) {
+                if (comment.getCommentId() != null) {
+                    insertComment(statement, boardType, postId, comment);
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            statement.close();
+        }
+    }
+
+    // 댓글 한 건 저장 (동기화 이후 추가/수정된 행만 반영)
+    public void upsertComment(String boardType, String postId, Comment comment) {
+        if (comment.getCommentId() == null) {
+            return;
+        }
+        SQLiteStatement statement = compileCommentInsert(getWritableDatabase());
+        try {
+            insertComment(statement, boardType, postId, comment);
+        } finally {
+            statement.close();
+        }
+    }
+
+    public void deleteComment(String commentId) {
+        getWritableDatabase().delete(TABLE_COMMENTS, "comment_id = ?", new String[]{commentId});
+    }
+
+    private static SQLiteStatement compileCommentInsert(SQLiteDatabase db) {
+        return db.compileStatement("INSERT OR REPLACE INTO " + TABLE_COMMENTS +
+                " (comment_id, board_type, post_id, user_id, user_name, comment_text, timestamp)" +
+                " VALUES (?, ?, ?, ?, ?, ?, ?)");
+    }
+
+    private static void insertComment(SQLiteStatement statement, String boardType, String postId, Comment comment) {
+        statement.clearBindings();
+        statement.bindString(1, comment.getCommentId());
+        statement.bindString(2, boardType);
+        statement.bindString(3, postId);
+        bindNullable(statement, 4, comment.getUserId());
+        bindNullable(statement, 5, comment.getUsername());
+        bindNullable(statement, 6, comment.getCommentText());
+        statement.bindLong(7, comment.getTimestamp());
+        statement.executeInsert();
+    }
+
+    private static void bindNullable(SQLiteStatement statement, int index, @Nullable String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
+        }
+    }
+
+    // 문자열 밀리초를 정수로 변환 (형식이 잘못된 값은 가장 오래된 것으로 취급)
+    static long parseMillis(@Nullable String timestamp) {
+        if (timestamp == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // 게시판별 동기화 기준점
+    public static class Watermark {
+        public final String timestamp;
+        public final String postId;
+
+        Watermark(String timestamp, String postId) {
+            this.timestamp = timestamp;
+            this.postId = postId;
+        }
+
+        // 이 기준점이 (timestamp, postId) 보다 앞서는지
+        boolean isBefore(String otherTimestamp, String otherPostId) {
+            long mine = parseMillis(timestamp);
+            long other = parseMillis(otherTimestamp);
+            if (mine != other) {
+                return mine < other;
+            }
+            return postId.compareTo(otherPostId) < 0;
+        }
+    }
+
+    // 인터페이스: 전용 스레드에서 실행할 읽기 작업
+    public interface Loader<T> {
+        T load();
+    }
+
+    // 인터페이스: 읽기 결과를 메인 스레드에서 받는 콜백
+    public interface Callback<T> {
+        void onLoaded(T result);
+    }
+}
@@ -0,0 +1,537 @@
+package com.example.green_action.Community;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.green_action.remote.FirebaseRepository;
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// 게시판 글을 timestamp 기준 커서로 한 페이지씩 불러오는 데이터 소스
+// - 로컬 사본(BoardMirror)이 있으면 최신 페이지를 먼저 SQLite 에서 읽어 바로 보여준다.
+// - 최신 구간(head): orderByChild("timestamp").limitToLast(N) 에 ChildEventListener 하나를 붙여
+//   첫 페이지와 새 글, 수정/삭제를 항목 단위로 받는다. (start/stop 으로 생명주기에 맞춰 관리)
+//   다시 붙일 때는 startAt(head 시작점).limitToLast(받은 head 글 수 + N) 으로 듣고,
+//   그 사이 글이 더 많이 쌓였으면 받은 구간의 가장 오래된 글로 시작점을 옮긴다.
+// - 마지막 방문 이후 head 구간보다 많은 글이 올라왔다면 그 사이 구간만
+//   startAfter(watermark).endBefore(head 시작점) 으로 받아 로컬 사본의 빈틈을 메운다.
+//   (보관 한도만큼만 받고, 한도를 채우면 그보다 오래된 로컬 글은 버리고 받은 구간부터 다시 시작)
+// - 이전 페이지: 로컬 사본에 빈틈이 없으면 SQLite 에서, 아니면
+//   endBefore(가장 오래된 글의 timestamp, key).limitToLast(N) 단발성 조회
+// 결과는 KeyedFeed 에 모여 최신순 목록으로 전달되고, 서버에서 받은 글은 로컬 사본에도 저장된다.
+// (head 구간보다 오래된 글이 다른 기기에서 삭제된 경우는 로컬 사본에 남을 수 있다)
+public class BoardPagingSource {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final String ORDER_KEY = "timestamp";
+    private static final String COMMENT_COUNT_KEY = "commentCount";
+
+    // 최신 글이 먼저 오도록 정렬 (timestamp 내림차순, 같으면 key 내림차순)
+    public static final Comparator<CommunityPostItem> NEWEST_FIRST = (a, b) -> {
+        int byTime = compareTimestamps(b.getTimestamp(), a.getTimestamp());
+        if (byTime != 0) {
+            return byTime;
+        }
+        return nullToEmpty(b.getPostId()).compareTo(nullToEmpty(a.getPostId()));
+    };
+
+    private final FirebaseRepository repository = FirebaseRepository.getInstance();
+    private final DatabaseReference postsRef;
+    private final String boardType;
+    @Nullable
+    private final BoardMirror mirror;
+    private final int pageSize;
+    private final KeyedFeed<CommunityPostItem> feed;
+    @Nullable
+    private final KeyedFeed.ErrorHandler errorHandler;
+
+    // head 구간에서 가장 오래된 글. 다시 붙일 때는 여기서부터(startAt) 듣는다.
+    private String anchorTimestamp;
+    private String anchorKey;
+
+    private boolean active = false;
+    private boolean cacheRequested = false;
+    private boolean cacheLoaded = false;
+    private boolean headLoaded = false;
+    private boolean loadingPage = false;
+    private boolean endReached = false;
+    // 로컬 사본이 최신 구간까지 빈틈없이 채워졌는지 (이후 페이지는 SQLite 에서 읽을 수 있음)
+    private boolean mirrorSynced = false;
+
+    // 로컬 사본의 동기화 기준점 (로컬 사본을 읽을 때 함께 읽고, 옮길 때 같이 갱신)
+    @Nullable
+    private BoardMirror.Watermark watermark;
+
+    private FirebaseRepository.Cancellable headListener;
+
+    // 같은 메인 루프에서 받은 글을 모아 한 트랜잭션으로 저장
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<CommunityPostItem> pendingWrites = new ArrayList<>();
+    private final Runnable flushRunnable = this::flushMirrorWrites;
+
+    public BoardPagingSource(DatabaseReference postsRef, String boardType, @Nullable BoardMirror mirror, int pageSize,
+                             KeyedFeed.Listener<CommunityPostItem> listener,
+                             @Nullable KeyedFeed.ErrorHandler errorHandler) {
+        this.postsRef = postsRef;
+        this.boardType = boardType;
+        this.mirror = mirror;
+        this.pageSize = pageSize;
+        this.errorHandler = errorHandler;
+        this.feed = new KeyedFeed<>(NEWEST_FIRST, CommunityPostItem::getPostId, listener);
+    }
+
+    // 화면이 보일 때 head 리스너를 붙인다. 처음 호출되면 로컬 사본 표시와 첫 페이지 로드를 겸한다. (onStart)
+    public void start() {
+        active = true;
+        if (mirror != null && !cacheRequested) {
+            cacheRequested = true;
+            mirror.load(() -> new CachedBoard(mirror.loadLatestPosts(boardType, pageSize), mirror.getWatermark(boardType)),
+                    cached -> {
+                        cacheLoaded = true;
+                        watermark = cached.watermark;
+                        feed.upsertAll(cached.posts);
+                        if (active) {
+                            attachHeadListener();
+                        }
+                    });
+            return;
+        }
+        if (mirror == null || cacheLoaded) {
+            attachHeadListener();
+        }
+    }
+
+    // 화면이 가려지면 head 리스너를 뗀다. (onStop)
+    public void stop() {
+        active = false;
+        detachHeadListener();
+        flushMirrorWrites();
+    }
+
+    // 지금까지 불러온 가장 오래된 글 이전의 N개를 불러온다. 이미 로딩 중이거나 끝에 도달했으면 무시한다.
+    public void loadNextPage() {
+        if (!headLoaded || loadingPage || endReached) {
+            return;
+        }
+        CommunityPostItem oldest = feed.last();
+        if (oldest == null) {
+            endReached = true;
+            return;
+        }
+
+        loadingPage = true;
+        if (mirror != null && mirrorSynced) {
+            String timestamp = nullToEmpty(oldest.getTimestamp());
+            String postId = oldest.getPostId();
+            mirror.load(() -> mirror.loadPostsBefore(boardType, timestamp, postId, pageSize), page -> {
+                if (page.size() == pageSize) {
+                    loadingPage = false;
+                    feed.upsertAll(page);
+                } else {
+                    // 로컬 사본의 끝에 도달했으면 서버에서 이어서 받는다.
+                    loadRemotePage(oldest);
+                }
+            });
+        } else {
+            loadRemotePage(oldest);
+        }
+    }
+
+    public boolean isEndReached() {
+        return endReached;
+    }
+
+    // 수정 화면에서 돌아온 결과를 서버 이벤트를 기다리지 않고 목록에 반영
+    public void applyLocalEdit(String postId, String title, String content, String timestamp) {
+        CommunityPostItem current = feed.get(postId);
+        if (current == null) {
+            return;
+        }
+        CommunityPostItem edited = new CommunityPostItem(current.getPostId(), current.getUserId(),
+                title, content, timestamp, current.getUserName());
+        edited.setLikes(current.getLikes());
+        edited.setCommentCount(current.getCommentCount());
+        edited.setBoardType(current.getBoardType());
+        feed.upsert(edited);
+        queueMirrorWrite(edited);
+    }
+
+    private void loadRemotePage(CommunityPostItem oldest) {
+        Query query = postsRef.orderByChild(ORDER_KEY)
+                .endBefore(nullToEmpty(oldest.getTimestamp()), oldest.getPostId())
+                .limitToLast(pageSize);
+        repository.readOnce(query, new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                loadingPage = false;
+                List<CommunityPostItem> page = new ArrayList<>();
+                for (DataSnapshot postSnapshot : snapshot.getChildren()) {
+                    CommunityPostItem item = fromServer(postSnapshot);
+                    if (item != null) {
+                        page.add(item);
+                    }
+                }
+                endReached = snapshot.getChildrenCount() < pageSize;
+                feed.upsertAll(page);
+                for (CommunityPostItem item : page) {
+                    queueMirrorWrite(item);
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                loadingPage = false;
+                reportError(error);
+            }
+        });
+    }
+
+    private void attachHeadListener() {
+        if (headListener != null) {
+            return;
+        }
+        boolean firstWindow = anchorTimestamp == null;
+        int limit;
+        Query headQuery;
+        if (firstWindow) {
+            limit = pageSize;
+            headQuery = postsRef.orderByChild(ORDER_KEY).limitToLast(limit);
+        } else {
+            // 다시 붙일 때는 이미 받은 head 구간 + 한 페이지만큼만 듣는다.
+            limit = countFromAnchor() + pageSize;
+            headQuery = postsRef.orderByChild(ORDER_KEY).startAt(anchorTimestamp, anchorKey).limitToLast(limit);
+            // 떨어져 있던 동안 쌓인 글이 기준점과 이어지는지 확인한 뒤에 로컬 사본 기준점을 옮긴다.
+            mirrorSynced = false;
+        }
+        headListener = repository.listenChildren(headQuery, new HeadListener());
+
+        // 같은 쿼리의 단발성 값 이벤트는 자식 이벤트가 모두 전달된 뒤에 오므로
+        // 추가 다운로드 없이 head 구간 완료 시점과 커서를 알 수 있다.
+        repository.readOnce(headQuery, new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                Set<String> headKeys = new HashSet<>();
+                String oldestTimestamp = null;
+                String oldestKey = null;
+                CommunityPostItem newest = null;
+                for (DataSnapshot postSnapshot : snapshot.getChildren()) {
+                    if (headKeys.isEmpty()) {
+                        // 오름차순이므로 첫 항목이 가장 오래된 글
+                        oldestTimestamp = orderValue(postSnapshot);
+                        oldestKey = postSnapshot.getKey();
+                    }
+                    headKeys.add(postSnapshot.getKey());
+                    newest = toItem(postSnapshot);
+                }
+                if (firstWindow) {
+                    anchorTimestamp = oldestTimestamp;
+                    anchorKey = oldestKey;
+                    endReached = snapshot.getChildrenCount() < pageSize;
+                } else if (snapshot.getChildrenCount() >= limit && !anchorKey.equals(oldestKey)) {
+                    // 구간이 가득 차 기준점까지 닿지 않았다: 받은 구간부터 다시 시작하고
+                    // 그보다 오래된 글은 페이지 로드로 다시 이어 붙인다.
+                    reanchor(oldestTimestamp, oldestKey);
+                }
+                headLoaded = true;
+                removeStaleCachedPosts(headKeys);
+                syncMirror(newest);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                reportError(error);
+            }
+        });
+    }
+
+    // 기준점 이후(head 구간)에 들어 있는 글 수
+    private int countFromAnchor() {
+        int count = 0;
+        for (CommunityPostItem item : feed.items()) {
+            if (compareCursor(item.getTimestamp(), item.getPostId(), anchorTimestamp, anchorKey) >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void reanchor(String timestamp, String key) {
+        anchorTimestamp = timestamp;
+        anchorKey = key;
+        endReached = false;
+        for (CommunityPostItem item : feed.items()) {
+            if (compareCursor(item.getTimestamp(), item.getPostId(), anchorTimestamp, anchorKey) < 0) {
+                feed.remove(item.getPostId());
+            }
+        }
+    }
+
+    private void detachHeadListener() {
+        if (headListener != null) {
+            headListener.cancel();
+            headListener = null;
+        }
+    }
+
+    // head 구간 안에 있어야 할 로컬 글이 서버 구간에 없으면 그 사이 삭제된 글이다.
+    private void removeStaleCachedPosts(Set<String> headKeys) {
+        for (CommunityPostItem item : feed.items()) {
+            boolean insideHead = anchorTimestamp != null
+                    && compareCursor(item.getTimestamp(), item.getPostId(), anchorTimestamp, anchorKey) >= 0;
+            if ((anchorTimestamp == null || insideHead) && !headKeys.contains(item.getPostId())) {
+                feed.remove(item.getPostId());
+                deleteFromMirror(item.getPostId());
+            }
+        }
+    }
+
+    // 마지막 동기화 시점(watermark)과 head 구간 사이에 빈틈이 있으면 그 구간만 받아 채운다.
+    private void syncMirror(@Nullable CommunityPostItem newest) {
+        if (mirror == null) {
+            return;
+        }
+        if (newest == null) {
+            // 빈 게시판
+            mirrorSynced = true;
+            return;
+        }
+        if (watermark == null) {
+            // 처음 방문: 로컬 사본은 head 구간부터 시작한다.
+            finishMirrorSync(newest);
+            return;
+        }
+        if (compareCursor(watermark.timestamp, watermark.postId, anchorTimestamp, anchorKey) >= 0) {
+            // head 구간이 기준점과 맞닿거나 겹친다.
+            finishMirrorSync(newest);
+            return;
+        }
+        // 기준점보다 오래된 로컬 글은 빈틈 뒤에 있으므로 목록에서 빼고, 페이지 로드로 다시 이어 붙인다.
+        for (CommunityPostItem item : feed.items()) {
+            if (compareCursor(item.getTimestamp(), item.getPostId(), anchorTimestamp, anchorKey) < 0) {
+                feed.remove(item.getPostId());
+            }
+        }
+        // 오래 떠나 있던 경우에도 보관 한도 이상은 받지 않는다.
+        Query gapQuery = postsRef.orderByChild(ORDER_KEY)
+                .startAfter(watermark.timestamp, watermark.postId)
+                .endBefore(anchorTimestamp, anchorKey)
+                .limitToLast(BoardMirror.MAX_POSTS_PER_BOARD);
+        repository.readOnce(gapQuery, new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                CommunityPostItem oldest = null;
+                for (DataSnapshot postSnapshot : snapshot.getChildren()) {
+                    CommunityPostItem item = fromServer(postSnapshot);
+                    if (item != null) {
+                        if (oldest == null) {
+                            oldest = item;
+                        }
+                        queueMirrorWrite(item);
+                    }
+                }
+                if (oldest != null && snapshot.getChildrenCount() >= BoardMirror.MAX_POSTS_PER_BOARD) {
+                    // 한도를 채웠으면 기준점과 이어지지 않을 수 있으므로 받은 구간부터 로컬 사본을 새로 시작한다.
+                    resetMirror(oldest);
+                }
+                finishMirrorSync(newest);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                // 빈틈이 남아 있으므로 페이지는 계속 서버에서 받는다.
+                reportError(error);
+            }
+        });
+    }
+
+    private void finishMirrorSync(CommunityPostItem newest) {
+        mirrorSynced = true;
+        advanceWatermark(newest);
+    }
+
+    private void advanceWatermark(CommunityPostItem item) {
+        if (mirror == null || item.getPostId() == null) {
+            return;
+        }
+        // 대기 중인 저장이 먼저 실행되도록 비운 뒤 기준점을 옮긴다.
+        flushMirrorWrites();
+        String timestamp = nullToEmpty(item.getTimestamp());
+        String postId = item.getPostId();
+        if (watermark == null || watermark.isBefore(timestamp, postId)) {
+            watermark = new BoardMirror.Watermark(timestamp, postId);
+        }
+        mirror.execute(() -> mirror.advanceWatermark(boardType, timestamp, postId));
+    }
+
+    private void resetMirror(CommunityPostItem oldest) {
+        flushMirrorWrites();
+        String timestamp = nullToEmpty(oldest.getTimestamp());
+        String postId = oldest.getPostId();
+        watermark = new BoardMirror.Watermark(timestamp, postId);
+        mirror.execute(() -> mirror.resetBoard(boardType, timestamp, postId));
+    }
+
+    private void queueMirrorWrite(CommunityPostItem item) {
+        if (mirror == null) {
+            return;
+        }
+        pendingWrites.add(item);
+        if (pendingWrites.size() == 1) {
+            mainHandler.post(flushRunnable);
+        }
+    }
+
+    private void flushMirrorWrites() {
+        mainHandler.removeCallbacks(flushRunnable);
+        if (mirror == null || pendingWrites.isEmpty()) {
+            return;
+        }
+        List<CommunityPostItem> batch = new ArrayList<>(pendingWrites);
+        pendingWrites.clear();
+        mirror.execute(() -> mirror.upsertPosts(boardType, batch));
+    }
+
+    private void deleteFromMirror(String postId) {
+        if (mirror != null) {
+            flushMirrorWrites();
+            mirror.execute(() -> mirror.deletePost(postId));
+        }
+    }
+
+    private void reportError(DatabaseError error) {
+        if (errorHandler != null) {
+            errorHandler.onError(error);
+        }
+    }
+
+    private class HeadListener implements ChildEventListener {
+
+        @Override
+        public void onChildAdded(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+            CommunityPostItem item = fromServer(snapshot);
+            if (item != null) {
+                feed.upsert(item);
+                queueMirrorWrite(item);
+                if (mirrorSynced) {
+                    // 동기화 이후 head 리스너가 받은 글은 기준점 이후 구간을 빈틈없이 이어 간다.
+                    advanceWatermark(item);
+                }
+            }
+        }
+
+        @Override
+        public void onChildChanged(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+            onChildAdded(snapshot, previousChildName);
+        }
+
+        @Override
+        public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+            String key = snapshot.getKey();
+            // limitToLast 구간에서는 새 글이 들어오면 가장 오래된 글이 구간 밖으로 밀려나며 onChildRemoved 가 온다.
+            // 실제 삭제인지 구간 밖으로 밀려난 것인지 timestamp 하나만 읽어 확인
+            repository.read(postsRef.child(key).child(ORDER_KEY), DataSnapshot::exists,
+                    new FirebaseRepository.Callback<Boolean>() {
+                        @Override
+                        public void onSuccess(@Nullable Boolean exists) {
+                            if (!Boolean.TRUE.equals(exists)) {
+                                feed.remove(key);
+                                deleteFromMirror(key);
+                            }
+                        }
+
+                        @Override
+                        public void onError(@NonNull DatabaseError error) {
+                            reportError(error);
+                        }
+                    });
+        }
+
+        @Override
+        public void onChildMoved(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+            // 순서는 NEWEST_FIRST 가 결정하므로 내용만 갱신
+            onChildAdded(snapshot, previousChildName);
+        }
+
+        @Override
+        public void onCancelled(@NonNull DatabaseError error) {
+            reportError(error);
+        }
+    }
+
+    // 로컬 사본에서 읽은 최신 페이지와 기준점
+    private static class CachedBoard {
+        final List<CommunityPostItem> posts;
+        @Nullable
+        final BoardMirror.Watermark watermark;
+
+        CachedBoard(List<CommunityPostItem> posts, @Nullable BoardMirror.Watermark watermark) {
+            this.posts = posts;
+            this.watermark = watermark;
+        }
+    }
+
+    @Nullable
+    static CommunityPostItem toItem(DataSnapshot snapshot) {
+        CommunityPostItem item = snapshot.getValue(CommunityPostItem.class);
+        if (item != null && item.getPostId() == null) {
+            item.setPostId(snapshot.getKey());
+        }
+        if (item != null && !snapshot.hasChild(COMMENT_COUNT_KEY)) {
+            // 댓글 수 도입 이전 글: 함께 받은 댓글 목록으로 센다.
+            item.setCommentCount((int) snapshot.child("comments").getChildrenCount());
+        }
+        return item;
+    }
+
+    // 서버에서 받은 글. 댓글 수가 없는 예전 글이면 센 값을 서버에도 한 번 채운다.
+    @Nullable
+    private CommunityPostItem fromServer(DataSnapshot snapshot) {
+        CommunityPostItem item = toItem(snapshot);
+        if (item != null && !snapshot.hasChild(COMMENT_COUNT_KEY)) {
+            repository.backfillCommentCount(boardType, item.getPostId(), item.getCommentCount());
+        }
+        return item;
+    }
+
+    // timestamp 는 문자열(밀리초)로 저장되어 있다.
+    private static String orderValue(DataSnapshot snapshot) {
+        Object value = snapshot.child(ORDER_KEY).getValue();
+        return value != null ? String.valueOf(value) : "";
+    }
+
+    // (timestamp, key) 커서 비교 (오래된 쪽이 작음)
+    private static int compareCursor(String timestampA, String keyA, String timestampB, String keyB) {
+        int byTime = compareTimestamps(timestampA, timestampB);
+        if (byTime != 0) {
+            return byTime;
+        }
+        return nullToEmpty(keyA).compareTo(nullToEmpty(keyB));
+    }
+
+    // 밀리초 문자열 비교: 자릿수가 다르면 짧은 쪽이 더 이르다.
+    private static int compareTimestamps(String a, String b) {
+        a = nullToEmpty(a);
+        b = nullToEmpty(b);
+        if (a.length() != b.length()) {
+            return Integer.compare(a.length(), b.length());
+        }
+        return a.compareTo(b);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
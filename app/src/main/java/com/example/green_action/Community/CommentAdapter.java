@@ -9,32 +9,46 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.green_action.R;
+import com.example.green_action.remote.UserProfileCache;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
-public class CommentAdapter extends RecyclerView.Adapter<CommentAdapter.ViewHolder> {
+public class CommentAdapter extends ListAdapter<Comment, CommentAdapter.ViewHolder> {
+
+    // 같은 댓글(commentId)인지, 화면에 보이는 내용이 같은지 비교 (DiffUtil 이 백그라운드에서 사용)
+    private static final DiffUtil.ItemCallback<Comment> DIFF_CALLBACK = new DiffUtil.ItemCallback<Comment>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Comment oldItem, @NonNull Comment newItem) {
+            return Objects.equals(oldItem.getCommentId(), newItem.getCommentId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Comment oldItem, @NonNull Comment newItem) {
+            return Objects.equals(oldItem.getCommentText(), newItem.getCommentText())
+                    && Objects.equals(oldItem.getUserId(), newItem.getUserId())
+                    && oldItem.getTimestamp() == newItem.getTimestamp();
+        }
+    };
 
-    private final List<Comment> commentList;
     private final Context context;
     private final String postId;
+    private final String boardType;
 
-    public CommentAdapter(List<Comment> commentList, Context context, String postId) {
-        this.commentList = commentList;
+    public CommentAdapter(Context context, String postId, String boardType) {
+        super(DIFF_CALLBACK);
         this.context = context;
         this.postId = postId;
+        this.boardType = boardType;
     }
 
     @NonNull
@@ -46,27 +60,15 @@ public class CommentAdapter extends RecyclerView.Adapter<CommentAdapter.ViewHold
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Comment comment = commentList.get(position);
-
-        // UID의 앞 7자리만 가져오기
-        String displayId = comment.getUserId().substring(0, Math.min(comment.getUserId().length(), 7));
-
-        // 사용자 이름과 UID의 앞 7자리를 함께 표시
-        DatabaseReference userRef = FirebaseDatabase.getInstance().getReference("users").child(comment.getUserId());
-        userRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                String userName = snapshot.child("name").getValue(String.class);
-                if (userName != null) {
-                    holder.userInfo.setText(userName + " (" + displayId + ")");
-                } else {
-                    holder.userInfo.setText("Unknown User (" + displayId + ")");
-                }
-            }
-
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                holder.userInfo.setText("Unknown User (" + displayId + ")");
+        Comment comment = getItem(position);
+
+        // 사용자 이름과 UID의 앞 7자리를 함께 표시 (공유 캐시 사용)
+        String userId = comment.getUserId();
+        holder.boundUserId = userId;
+        holder.userInfo.setText(UserProfileCache.formatUserInfo(null, userId));
+        UserProfileCache.getInstance().getUserName(userId, (uid, userName) -> {
+            if (uid.equals(holder.boundUserId)) {
+                holder.userInfo.setText(UserProfileCache.formatUserInfo(userName, uid));
             }
         });
 
@@ -80,6 +82,7 @@ public class CommentAdapter extends RecyclerView.Adapter<CommentAdapter.ViewHold
                 Intent intent = new Intent(context, EditCommentActivity.class);
                 intent.putExtra("commentId", comment.getCommentId());
                 intent.putExtra("postId", postId);
+                intent.putExtra("boardType", boardType);
                 intent.putExtra("commentText", comment.getCommentText());
                 context.startActivity(intent);
             } else {
@@ -88,13 +91,9 @@ public class CommentAdapter extends RecyclerView.Adapter<CommentAdapter.ViewHold
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return commentList.size();
-    }
-
     static class ViewHolder extends RecyclerView.ViewHolder {
         TextView userInfo, content, timestamp;
+        String boundUserId; // 현재 바인딩된 작성자 UID
 
         ViewHolder(View itemView) {
             super(itemView);
@@ -8,36 +8,32 @@ import android.widget.Button;
 import android.widget.ImageButton;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.green_action.DataBaseHandler;
 import com.example.green_action.LoginActivity;
 import com.example.green_action.R;
+import com.example.green_action.StrictModeGate;
+import com.example.green_action.remote.FirebaseRepository;
+import com.example.green_action.remote.ListenerRegistry;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 
 public abstract class CommunityPostActivity extends AppCompatActivity {
 
     private static final int REQUEST_CODE_EDIT_POST = 1;
+    private static final int PREFETCH_DISTANCE = 5; // 끝에서 몇 개 남았을 때 다음 페이지를 불러올지
 
-    private DataBaseHandler db_handler;
-    protected List<CommunityPostItem> postItemList;
     private RecyclerView recyclerView;
+    private LinearLayoutManager layoutManager;
     private CommunityPostAdapter adapter;
     private String loggedInUserId;
     private FirebaseAuth firebaseAuth;
+    private BoardPagingSource pagingSource;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -47,9 +43,7 @@ public abstract class CommunityPostActivity extends AppCompatActivity {
         ImageButton buttonback = findViewById(R.id.backButton);
         buttonback.setOnClickListener(v -> finish());
 
-        db_handler = new DataBaseHandler(this);
         firebaseAuth = FirebaseAuth.getInstance(); // FirebaseAuth 인스턴스 초기화
-        postItemList = new ArrayList<>();
 
         FirebaseUser currentUser = firebaseAuth.getCurrentUser();
         if (currentUser != null) {
@@ -60,10 +54,11 @@ public abstract class CommunityPostActivity extends AppCompatActivity {
         }
 
         recyclerView = findViewById(R.id.community_list);
-        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        layoutManager = new LinearLayoutManager(this);
+        recyclerView.setLayoutManager(layoutManager);
 
         // adapter 생성 시 네 번째 매개변수로 boardType 전달
-        adapter = new CommunityPostAdapter(postItemList, this, loggedInUserId, getBoardType());
+        adapter = new CommunityPostAdapter(this, loggedInUserId, getBoardType());
         recyclerView.setAdapter(adapter);
 
         Button writePostButton = findViewById(R.id.write_post_button);
@@ -79,36 +74,55 @@ public abstract class CommunityPostActivity extends AppCompatActivity {
             }
         });
 
-        // 초기화 시 모든 게시물 로드
-        loadPostsByBoardType();
+        // onStart 에서 첫 페이지 로드, 이후 스크롤에 따라 다음 페이지 로드
+        pagingSource = createPagingSource();
+        // 화면이 보이는 동안만 최신 게시물 리스너 유지
+        StrictModeGate.watch(this);
+        ListenerRegistry.bind(this).add("board_head", () -> {
+            pagingSource.start();
+            return pagingSource::stop;
+        });
+        setupPrefetch();
     }
 
-    // 게시판 유형에 맞는 게시물을 로드하는 메서드
-    private void loadPostsByBoardType() {
-        String boardType = getBoardType();
-        String path = boardType + "_posts"; // 게시판 유형에 따른 Firebase 경로 설정
-        DatabaseReference postsRef = FirebaseDatabase.getInstance().getReference(path);
+    // 게시판 유형에 맞는 게시물을 페이지 단위로 로드하는 데이터 소스 생성
+    private BoardPagingSource createPagingSource() {
+        DatabaseReference postsRef = FirebaseRepository.getInstance().getBoardRef(getBoardType());
+
+        // 로컬 사본이 있으면 서버 응답 전에 먼저 그린다.
+        return new BoardPagingSource(postsRef, getBoardType(), BoardMirror.getInstance(this), BoardPagingSource.DEFAULT_PAGE_SIZE,
+                posts -> {
+                    // 변경된 행만 다시 바인딩되도록 DiffUtil 에 맡김
+                    adapter.submitList(posts, () -> {
+                        if (!pagingSource.isEndReached()) {
+                            // 첫 페이지가 화면을 다 채우지 못한 경우를 위해 레이아웃 후 한 번 더 확인
+                            recyclerView.post(() -> maybeLoadNextPage());
+                        }
+                    });
+                },
+                // 로드 실패 시 처리
+                error -> Toast.makeText(CommunityPostActivity.this, "게시물을 불러오지 못했습니다.", Toast.LENGTH_SHORT).show());
+    }
 
-        postsRef.addValueEventListener(new ValueEventListener() {
+    // 목록 끝에 가까워지면 다음 페이지를 미리 불러옴
+    private void setupPrefetch() {
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
             @Override
-            public void onDataChange(DataSnapshot dataSnapshot) {
-                postItemList.clear();
-                for (DataSnapshot postSnapshot : dataSnapshot.getChildren()) {
-                    CommunityPostItem postItem = postSnapshot.getValue(CommunityPostItem.class);
-                    postItemList.add(postItem);
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                if (dy > 0) {
+                    maybeLoadNextPage();
                 }
-                Collections.reverse(postItemList); // 최신 게시물이 맨 위로 오도록 역순 정렬
-                adapter.notifyDataSetChanged();
-            }
-
-            @Override
-            public void onCancelled(DatabaseError databaseError) {
-                // 로드 실패 시 처리
-                Toast.makeText(CommunityPostActivity.this, "게시물을 불러오지 못했습니다.", Toast.LENGTH_SHORT).show();
             }
         });
     }
 
+    private void maybeLoadNextPage() {
+        int lastVisible = layoutManager.findLastVisibleItemPosition();
+        if (lastVisible >= layoutManager.getItemCount() - PREFETCH_DISTANCE) {
+            pagingSource.loadNextPage();
+        }
+    }
+
     private boolean isLoggedIn() {
         // 로그인된 사용자 ID가 있는지 또는 Firebase 인증에 사용자가 있는지 확인
         FirebaseUser currentUser = firebaseAuth.getCurrentUser();
@@ -116,13 +130,6 @@ public abstract class CommunityPostActivity extends AppCompatActivity {
         return currentUser != null || !loggedInUserId.isEmpty();
     }
 
-    @Override
-    protected void onResume() {
-        super.onResume();
-        // 새로고침 시 게시물 다시 로드
-        loadPostsByBoardType();
-    }
-
     @Override
     protected void onActivityResult(int requestCode, int resultCode, @Nullable Intent data) {
         super.onActivityResult(requestCode, resultCode, data);
@@ -134,18 +141,8 @@ public abstract class CommunityPostActivity extends AppCompatActivity {
                 String updatedContent = data.getStringExtra("content");
                 long updatedTimestamp = data.getLongExtra("timestamp", -1);
 
-                // 수정된 게시물을 리스트에서 찾아 업데이트
-                for (CommunityPostItem post : postItemList) {
-                    if (post.getPostId().equals(postId)) {
-                        post.setTitle(updatedTitle);
-                        post.setContent(updatedContent);
-                        post.setTimestamp(String.valueOf(updatedTimestamp));  // long을 String으로 변환하여 설정
-                        break;
-                    }
-                }
-
-                // 리스트 갱신
-                adapter.notifyDataSetChanged();
+                // 수정된 게시물만 목록에서 갱신
+                pagingSource.applyLocalEdit(postId, updatedTitle, updatedContent, String.valueOf(updatedTimestamp));  // long을 String으로 변환하여 설정
             }
         }
     }
@@ -8,29 +8,44 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.green_action.R;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
+import com.example.green_action.remote.UserProfileCache;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
-public class CommunityPostAdapter extends RecyclerView.Adapter<CommunityPostAdapter.ViewHolder> {
+public class CommunityPostAdapter extends ListAdapter<CommunityPostItem, CommunityPostAdapter.ViewHolder> {
+
+    // 같은 글(postId)인지, 화면에 보이는 내용이 같은지 비교 (DiffUtil 이 백그라운드에서 사용)
+    private static final DiffUtil.ItemCallback<CommunityPostItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<CommunityPostItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull CommunityPostItem oldItem, @NonNull CommunityPostItem newItem) {
+            return Objects.equals(oldItem.getPostId(), newItem.getPostId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull CommunityPostItem oldItem, @NonNull CommunityPostItem newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getContent(), newItem.getContent())
+                    && Objects.equals(oldItem.getTimestamp(), newItem.getTimestamp())
+                    && Objects.equals(oldItem.getUserId(), newItem.getUserId())
+                    && oldItem.getLikes() == newItem.getLikes()
+                    && oldItem.getCommentCount() == newItem.getCommentCount();
+        }
+    };
 
-    private final List<CommunityPostItem> postItemList;
     private final Context context;
     private final String loggedInUserId;
     private final String boardType;  // 추가: 게시판 유형
 
-    public CommunityPostAdapter(List<CommunityPostItem> postItemList, Context context, String loggedInUserId, String boardType) {
-        this.postItemList = postItemList;
+    public CommunityPostAdapter(Context context, String loggedInUserId, String boardType) {
+        super(DIFF_CALLBACK);
         this.context = context;
         this.loggedInUserId = loggedInUserId;
         this.boardType = boardType; // 게시판 유형 초기화
@@ -45,53 +60,29 @@ public class CommunityPostAdapter extends RecyclerView.Adapter<CommunityPostAdap
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        CommunityPostItem postItem = postItemList.get(position);
+        CommunityPostItem postItem = getItem(position);
 
         holder.title.setText(postItem.getTitle());
         holder.content.setText(postItem.getContent());
         holder.timestamp.setText(convertTimestampToDate(postItem.getTimestamp()));
 
+        // 작성자 이름은 공유 캐시에서 가져오고, 홀더가 여전히 같은 작성자를 표시할 때만 반영
         String userId = postItem.getUserId();
+        holder.boundUserId = userId;
         if (userId != null && userId.length() >= 7) {
-            DatabaseReference userRef = FirebaseDatabase.getInstance().getReference("users").child(userId);
-            userRef.addListenerForSingleValueEvent(new ValueEventListener() {
-                @Override
-                public void onDataChange(@NonNull DataSnapshot snapshot) {
-                    String userName = snapshot.child("name").getValue(String.class);
-                    String displayId = userId.substring(0, Math.min(userId.length(), 7));
-                    if (userName == null || userName.isEmpty()) {
-                        userName = "Unknown User";
-                    }
-                    holder.userInfo.setText(userName + " (" + displayId + ")");
-                }
-
-                @Override
-                public void onCancelled(@NonNull DatabaseError error) {
-                    String displayId = userId.substring(0, Math.min(userId.length(), 7));
-                    holder.userInfo.setText("Unknown User (" + displayId + ")");
+            holder.userInfo.setText(UserProfileCache.formatUserInfo(null, userId));
+            UserProfileCache.getInstance().getUserName(userId, (uid, userName) -> {
+                if (uid.equals(holder.boundUserId)) {
+                    holder.userInfo.setText(UserProfileCache.formatUserInfo(userName, uid));
                 }
             });
         } else {
             holder.userInfo.setText("Unknown User");
         }
 
-        // 좋아요 수를 Firebase에서 가져와 설정
-        DatabaseReference likeRef = FirebaseDatabase.getInstance().getReference(boardType).child(postItem.getPostId()).child("likes");
-        likeRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                int likeCount = 0;
-                if (snapshot.exists()) {
-                    likeCount = snapshot.getValue(Integer.class);
-                }
-                holder.likeCount.setText(String.valueOf(likeCount));
-            }
-
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                holder.likeCount.setText("0"); // 오류 발생 시 기본값 설정
-            }
-        });
+        // 좋아요/댓글 수는 게시물에 함께 저장된 값으로 표시 (행마다 추가 조회 없음)
+        holder.likeCount.setText(String.valueOf(postItem.getLikes()));
+        holder.commentCount.setText(String.valueOf(postItem.getCommentCount()));
 
         // 게시물 클릭 시 PostDetailActivity로 이동
         holder.itemView.setOnClickListener(v -> {
@@ -106,13 +97,9 @@ public class CommunityPostAdapter extends RecyclerView.Adapter<CommunityPostAdap
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return postItemList.size();
-    }
-
     static class ViewHolder extends RecyclerView.ViewHolder {
-        TextView title, content, timestamp, userInfo, likeCount;
+        TextView title, content, timestamp, userInfo, likeCount, commentCount;
+        String boundUserId; // 현재 바인딩된 작성자 UID
 
         ViewHolder(View itemView) {
             super(itemView);
@@ -121,6 +108,7 @@ public class CommunityPostAdapter extends RecyclerView.Adapter<CommunityPostAdap
             timestamp = itemView.findViewById(R.id.post_timestamp);
             userInfo = itemView.findViewById(R.id.post_user_info);
             likeCount = itemView.findViewById(R.id.like_count_view); // Like Count View 추가
+            commentCount = itemView.findViewById(R.id.comment_count_view);
         }
     }
 
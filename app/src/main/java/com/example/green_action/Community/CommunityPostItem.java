@@ -7,7 +7,8 @@ public class CommunityPostItem {
     private String content;
     private String timestamp;
     private String username;  // 새로운 필드 추가
-    private int likes;  // likes 필드 추가
+    private int likes;  // likes 필드 추가 (좋아요/취소 시 함께 증감되는 비정규화 값)
+    private int commentCount;  // 댓글 수 (댓글 작성/삭제 시 함께 증감되는 비정규화 값)
     private String boardType;  // 게시판 유형을 나타내는 필드 추가
 
     public CommunityPostItem() {
@@ -80,6 +81,14 @@ public class CommunityPostItem {
         this.likes = likes;
     }
 
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(int commentCount) {
+        this.commentCount = commentCount;
+    }
+
     public String getBoardType() {
         return boardType;
     }
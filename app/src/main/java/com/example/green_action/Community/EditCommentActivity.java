@@ -10,11 +10,16 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.green_action.R;
-import com.example.green_action.remote.FirebaseClient;
+import com.example.green_action.remote.FirebaseRepository;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.ServerValue;
+
+import java.util.HashMap;
+import java.util.Map;
 
 public class EditCommentActivity extends AppCompatActivity {
-    private FirebaseClient firebaseClient;
-    private String commentId, postId;
+    private FirebaseRepository repository;
+    private String commentId, postId, boardType;
     private EditText editComment;
 
     @Override
@@ -25,7 +30,7 @@ public class EditCommentActivity extends AppCompatActivity {
         ImageButton buttonback = findViewById(R.id.backButton);
         buttonback.setOnClickListener(v -> finish());
 
-        firebaseClient = new FirebaseClient();
+        repository = FirebaseRepository.getInstance();
 
         editComment = findViewById(R.id.edit_comment_text);
         Button saveButton = findViewById(R.id.save_button);
@@ -34,15 +39,25 @@ public class EditCommentActivity extends AppCompatActivity {
         Intent intent = getIntent();
         commentId = intent.getStringExtra("commentId");
         postId = intent.getStringExtra("postId");
+        boardType = intent.getStringExtra("boardType");
         String commentText = intent.getStringExtra("commentText");
 
+        if (boardType == null || boardType.isEmpty()) {
+            Toast.makeText(this, "게시판 유형을 확인할 수 없습니다.", Toast.LENGTH_SHORT).show();
+            finish();
+            return;
+        }
+
+        // 댓글은 {board}_posts/{postId}/comments 아래에 저장되어 있음
+        DatabaseReference postRef = repository.getBoardRef(boardType).child(postId);
+
         editComment.setText(commentText);
 
         saveButton.setOnClickListener(v -> {
             String newCommentText = editComment.getText().toString().trim();
 
             if (!newCommentText.isEmpty()) {
-                firebaseClient.getCommentsRef(postId).child(commentId).child("commentText").setValue(newCommentText)
+                repository.setValue(postRef.child("comments").child(commentId).child("commentText"), newCommentText)
                         .addOnSuccessListener(aVoid -> {
                             Toast.makeText(EditCommentActivity.this, "댓글이 수정되었습니다.", Toast.LENGTH_SHORT).show();
                             finish();
@@ -55,8 +70,12 @@ public class EditCommentActivity extends AppCompatActivity {
             }
         });
 
+        // 댓글 삭제와 게시물의 댓글 수 감소를 한 번의 다중 경로 업데이트로 처리
         deleteButton.setOnClickListener(v -> {
-            firebaseClient.getCommentsRef(postId).child(commentId).removeValue()
+            Map<String, Object> updates = new HashMap<>();
+            updates.put("comments/" + commentId, null);
+            updates.put("commentCount", ServerValue.increment(-1));
+            repository.updateChildren(postRef, updates)
                     .addOnSuccessListener(aVoid -> {
                         Toast.makeText(EditCommentActivity.this, "댓글이 삭제되었습니다.", Toast.LENGTH_SHORT).show();
                         finish();
@@ -10,11 +10,11 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
-import com.example.green_action.DataBaseHandler;
 import com.example.green_action.R;
+import com.example.green_action.remote.FirebaseRepository;
 
 public class EditPostActivity extends AppCompatActivity {
-    private DataBaseHandler db_handler;
+    private FirebaseRepository repository;
     private String postId, boardType;
     private EditText editTitle, editContent;
 
@@ -26,7 +26,7 @@ public class EditPostActivity extends AppCompatActivity {
         ImageButton buttonback = findViewById(R.id.backButton);
         buttonback.setOnClickListener(v -> finish());
 
-        db_handler = new DataBaseHandler(this);
+        repository = FirebaseRepository.getInstance();
 
         editTitle = findViewById(R.id.edit_post_title);
         editContent = findViewById(R.id.edit_post_content);
@@ -57,7 +57,8 @@ public class EditPostActivity extends AppCompatActivity {
             String newContent = editContent.getText().toString().trim();
 
             if (!newTitle.isEmpty() && !newContent.isEmpty()) {
-                db_handler.updatePost(postId, newTitle, newContent, boardType); // 게시판 유형을 포함하여 업데이트
+                repository.updatePost(boardType, postId, newTitle, newContent) // 제목과 내용을 한 번의 업데이트로 저장
+                        .addOnFailureListener(e -> Log.e("EditPostActivity", "게시물 수정 실패: " + postId, e));
                 Toast.makeText(EditPostActivity.this, "게시물이 수정되었습니다.", Toast.LENGTH_SHORT).show();
                 finish();
             } else {
@@ -66,7 +67,10 @@ public class EditPostActivity extends AppCompatActivity {
         });
 
         deleteButton.setOnClickListener(v -> {
-            db_handler.deletePost(postId, boardType); // 게시판 유형을 포함하여 삭제
+            BoardMirror mirror = BoardMirror.getInstance(this);
+            repository.deletePost(boardType, postId)
+                    .addOnSuccessListener(aVoid -> mirror.execute(() -> mirror.deletePost(postId)))
+                    .addOnFailureListener(e -> Log.e("EditPostActivity", "게시물 삭제 실패: " + postId, e));
             Toast.makeText(EditPostActivity.this, "게시물이 삭제되었습니다.", Toast.LENGTH_SHORT).show();
             finish();
         });
@@ -0,0 +1,169 @@
+package com.example.green_action.Community;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// key 로 색인된 정렬 목록. 항목 단위로 추가/수정/삭제하고,
+// 같은 메인 루프 안에서 생긴 변경은 한 번의 스냅샷으로 묶어 Listener 에 전달한다.
+// (ListAdapter.submitList 로 넘기면 DiffUtil 이 백그라운드에서 변경된 행만 계산한다)
+// 항목 객체는 색인에 들어간 뒤 수정하지 말고 새 객체로 upsert 해야 한다.
+public class KeyedFeed<T> {
+
+    private final Map<String, T> index = new HashMap<>();
+    private final TreeSet<T> sorted;
+    private final KeyFunction<T> keyFunction;
+    private final Listener<T> listener;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private boolean publishScheduled = false;
+    private final Runnable publishRunnable = this::publish;
+
+    public KeyedFeed(Comparator<T> comparator, KeyFunction<T> keyFunction, Listener<T> listener) {
+        this.sorted = new TreeSet<>(comparator);
+        this.keyFunction = keyFunction;
+        this.listener = listener;
+    }
+
+    public void upsert(T item) {
+        String key = keyFunction.keyOf(item);
+        T old = index.put(key, item);
+        if (old != null) {
+            sorted.remove(old);
+        }
+        sorted.add(item);
+        schedulePublish();
+    }
+
+    public void upsertAll(Collection<T> items) {
+        for (T item : items) {
+            upsert(item);
+        }
+    }
+
+    public void remove(String key) {
+        T old = index.remove(key);
+        if (old != null) {
+            sorted.remove(old);
+            schedulePublish();
+        }
+    }
+
+    public void clear() {
+        index.clear();
+        sorted.clear();
+        schedulePublish();
+    }
+
+    @Nullable
+    public T get(String key) {
+        return index.get(key);
+    }
+
+    public boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    // 현재 항목들의 정렬된 복사본
+    public List<T> items() {
+        return new ArrayList<>(sorted);
+    }
+
+    // 정렬 순서상 마지막 항목 (비어 있으면 null)
+    @Nullable
+    public T last() {
+        return sorted.isEmpty() ? null : sorted.last();
+    }
+
+    // Firebase 자식 이벤트를 그대로 색인에 반영하는 리스너 생성
+    public ChildEventListener asChildEventListener(Parser<T> parser, @Nullable ErrorHandler errorHandler) {
+        return new ChildEventListener() {
+            @Override
+            public void onChildAdded(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                T item = parser.parse(snapshot);
+                if (item != null) {
+                    upsert(item);
+                }
+            }
+
+            @Override
+            public void onChildChanged(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                T item = parser.parse(snapshot);
+                if (item != null) {
+                    upsert(item);
+                } else {
+                    remove(snapshot.getKey());
+                }
+            }
+
+            @Override
+            public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+                remove(snapshot.getKey());
+            }
+
+            @Override
+            public void onChildMoved(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                // 순서는 comparator 가 결정하므로 내용만 갱신
+                onChildChanged(snapshot, previousChildName);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                if (errorHandler != null) {
+                    errorHandler.onError(error);
+                }
+            }
+        };
+    }
+
+    private void schedulePublish() {
+        if (!publishScheduled) {
+            publishScheduled = true;
+            mainHandler.post(publishRunnable);
+        }
+    }
+
+    private void publish() {
+        publishScheduled = false;
+        listener.onListChanged(new ArrayList<>(sorted));
+    }
+
+    // 인터페이스: 항목의 고유 key
+    public interface KeyFunction<T> {
+        String keyOf(T item);
+    }
+
+    // 인터페이스: 스냅샷을 항목으로 변환 (변환할 수 없으면 null)
+    public interface Parser<T> {
+        @Nullable
+        T parse(DataSnapshot snapshot);
+    }
+
+    // 인터페이스: 정렬된 전체 목록을 받는 콜백
+    public interface Listener<T> {
+        void onListChanged(List<T> items);
+    }
+
+    // 인터페이스: 리스너 취소 오류를 위한 콜백
+    public interface ErrorHandler {
+        void onError(DatabaseError error);
+    }
+}
@@ -3,7 +3,6 @@ package com.example.green_action.Community;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.util.Log;
 import android.widget.Button;
 import android.widget.EditText;
 import android.widget.ImageButton;
@@ -12,38 +11,54 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.green_action.LoginActivity;
 import com.example.green_action.R;
-import com.example.green_action.remote.FirebaseClient;
+import com.example.green_action.StrictModeGate;
+import com.example.green_action.remote.FirebaseRepository;
+import com.example.green_action.remote.ListenerRegistry;
+import com.example.green_action.remote.UserProfileCache;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.database.ChildEventListener;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.MutableData;
-import com.google.firebase.database.Transaction;
+import com.google.firebase.database.ServerValue;
 import com.google.firebase.database.ValueEventListener;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 public class PostDetailActivity extends AppCompatActivity {
 
-    private FirebaseClient firebaseClient;
+    // 댓글은 작성 시간순 (같으면 commentId 순)
+    private static final Comparator<Comment> OLDEST_FIRST = (a, b) -> {
+        int byTime = Long.compare(a.getTimestamp(), b.getTimestamp());
+        if (byTime != 0) {
+            return byTime;
+        }
+        return String.valueOf(a.getCommentId()).compareTo(String.valueOf(b.getCommentId()));
+    };
+
+    private FirebaseRepository repository;
     private String postId, userId, title, content, timestamp, boardType;
     private RecyclerView commentRecyclerView;
     private CommentAdapter commentAdapter;
-    private List<Comment> commentList;
+    private ListenerRegistry listeners; // onStart 에서 연결, onStop 에서 해제
+    private boolean commentsSynced = false; // 첫 동기화 이후부터 댓글 목록을 로컬 사본에 저장
     private TextView likeCountTextView;
     private Button likeButton;
-    private boolean liked = false;
+    private PostLikeManager likeManager;
     private FirebaseAuth firebaseAuth;
     private String loggedInUserId;
 
@@ -61,7 +76,9 @@ public class PostDetailActivity extends AppCompatActivity {
         ImageButton buttonback = findViewById(R.id.backButton);
         buttonback.setOnClickListener(v -> finish());
 
-        firebaseClient = new FirebaseClient();
+        repository = FirebaseRepository.getInstance();
+        listeners = ListenerRegistry.bind(this);
+        StrictModeGate.watch(this);
 
         // Intent로부터 데이터 가져오기
         postId = getIntent().getStringExtra("postId");
@@ -83,15 +100,28 @@ public class PostDetailActivity extends AppCompatActivity {
         // 좋아요 버튼과 카운트 초기화
         likeButton = findViewById(R.id.like_button);
         likeCountTextView = findViewById(R.id.like_count_text_view);
-        checkIfUserLikedPost();
+        likeManager = new PostLikeManager(boardType, postId, loggedInUserId, new PostLikeManager.Listener() {
+            @Override
+            public void onLikeStateChanged(boolean liked, int likeCount, boolean enabled) {
+                updateLikeButtonState(liked);
+                likeButton.setEnabled(enabled);
+                likeCountTextView.setText(String.valueOf(likeCount));
+            }
+
+            @Override
+            public void onLikeError(@Nullable String message) {
+                Toast.makeText(PostDetailActivity.this, "좋아요 처리에 실패했습니다.", Toast.LENGTH_SHORT).show();
+            }
+        });
+        likeButton.setEnabled(likeManager.isEnabled()); // 내 좋아요 여부를 받기 전에는 누를 수 없다.
+        listeners.add("likes", () -> {
+            likeManager.start();
+            return likeManager::stop;
+        });
 
         likeButton.setOnClickListener(v -> {
             if (isLoggedIn()) {
-                if (liked) {
-                    decrementLikeCount();
-                } else {
-                    incrementLikeCount();
-                }
+                likeManager.toggle();
             } else {
                 Intent intent = new Intent(PostDetailActivity.this, LoginActivity.class);
                 startActivity(intent);
@@ -102,8 +132,7 @@ public class PostDetailActivity extends AppCompatActivity {
         // 댓글 RecyclerView 초기화
         commentRecyclerView = findViewById(R.id.comment_recycler_view);
         commentRecyclerView.setLayoutManager(new LinearLayoutManager(this));
-        commentList = new ArrayList<>();
-        commentAdapter = new CommentAdapter(commentList, this, postId);
+        commentAdapter = new CommentAdapter(this, postId, boardType);
         commentRecyclerView.setAdapter(commentAdapter);
 
         // 댓글 데이터 불러오기
@@ -175,157 +204,129 @@ public class PostDetailActivity extends AppCompatActivity {
     }
 
     private void retrieveAndDisplayUsername(String userId, TextView idTextView) {
-        DatabaseReference userRef = firebaseClient.getUsersRef().child(userId);
-        userRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                if (snapshot.exists()) {
-                    String username = snapshot.child("name").getValue(String.class);
-                    if (username == null || username.isEmpty()) {
-                        username = "Unknown User";
-                    }
-                    String displayId = userId.substring(0, Math.min(userId.length(), 7));
-                    idTextView.setText(username + " (" + displayId + ")");
-                } else {
-                    String displayId = userId.substring(0, Math.min(userId.length(), 7));
-                    idTextView.setText("Unknown User (" + displayId + ")");
-                }
-            }
+        idTextView.setText(UserProfileCache.formatUserInfo(null, userId));
+        UserProfileCache.getInstance().getUserName(userId, (uid, username) ->
+                idTextView.setText(UserProfileCache.formatUserInfo(username, uid)));
+    }
 
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                String displayId = userId.substring(0, Math.min(userId.length(), 7));
-                idTextView.setText("Unknown User (" + displayId + ")");
-                Toast.makeText(PostDetailActivity.this, "사용자 정보를 불러오지 못했습니다.", Toast.LENGTH_SHORT).show();
-            }
-        });
+    private void updateLikeButtonState(boolean liked) {
+        if (liked) {
+            likeButton.setBackgroundResource(R.drawable.pinkheart);
+            likeButton.setAlpha(0.5f);
+        } else {
+            likeButton.setBackgroundResource(R.drawable.pinkheart);
+            likeButton.setAlpha(1.0f);
+        }
     }
 
-    private void checkIfUserLikedPost() {
-        DatabaseReference userLikeRef = firebaseClient.getPostsRef(boardType).child(postId).child("userLikes").child(getUserId());
-        userLikeRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                liked = snapshot.exists();
-                updateLikeButtonState();
-                loadLikeCount();
-            }
+    // 로컬 사본의 댓글을 먼저 보여주고, 이후 댓글을 항목 단위(추가/수정/삭제)로 받아 변경된 행만 갱신
+    private void loadComments() {
+        BoardMirror mirror = BoardMirror.getInstance(this);
+        DatabaseReference commentsRef = repository.getBoardRef(boardType).child(postId).child("comments");
+        KeyedFeed<Comment> commentFeed = new KeyedFeed<>(OLDEST_FIRST, Comment::getCommentId, commentAdapter::submitList);
 
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                Toast.makeText(PostDetailActivity.this, "좋아요 상태를 불러오지 못했습니다.", Toast.LENGTH_SHORT).show();
+        mirror.load(() -> mirror.loadComments(boardType, postId), cached -> {
+            if (isDestroyed()) {
+                return;
             }
+            commentFeed.upsertAll(cached);
+            listeners.add("comments", () -> attachComments(commentsRef, commentFeed, mirror));
         });
     }
 
-    private void loadLikeCount() {
-        DatabaseReference likesRef = firebaseClient.getPostsRef(boardType).child(postId).child("likes");
-        likesRef.addValueEventListener(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                int likeCount = 0;
-                if (snapshot.exists()) {
-                    likeCount = snapshot.getValue(Integer.class);
-                }
-                likeCountTextView.setText(String.valueOf(likeCount));
+    // 댓글 자식 리스너 연결. 다시 연결될 때도 자식 이벤트가 다시 오므로 피드 갱신은 중복에 안전하다.
+    // 동기화 전의 이벤트는 동기화 시점에 한 번에 저장하고, 이후에는 이벤트가 온 댓글 한 건만 로컬 사본에 반영한다.
+    private FirebaseRepository.Cancellable attachComments(DatabaseReference commentsRef, KeyedFeed<Comment> commentFeed, BoardMirror mirror) {
+        commentsSynced = false;
+        ChildEventListener feedListener = commentFeed.asChildEventListener(snapshot -> {
+            Comment comment = snapshot.getValue(Comment.class);
+            if (comment != null && comment.getCommentId() == null) {
+                comment.setCommentId(snapshot.getKey());
             }
-
+            return comment;
+        }, error -> Toast.makeText(PostDetailActivity.this, "댓글을 불러오지 못했습니다.", Toast.LENGTH_SHORT).show());
+        FirebaseRepository.Cancellable childListener = repository.listenChildren(commentsRef, new ChildEventListener() {
             @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                Toast.makeText(PostDetailActivity.this, "좋아요 수를 불러오지 못했습니다.", Toast.LENGTH_SHORT).show();
+            public void onChildAdded(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                feedListener.onChildAdded(snapshot, previousChildName);
+                mirrorComment(commentFeed, mirror, snapshot.getKey());
             }
-        });
-    }
 
-    private void incrementLikeCount() {
-        DatabaseReference postRef = firebaseClient.getPostsRef(boardType).child(postId);
-        postRef.runTransaction(new Transaction.Handler() {
             @Override
-            public Transaction.Result doTransaction(@NonNull MutableData currentData) {
-                Integer currentValue = currentData.child("likes").getValue(Integer.class);
-                if (currentValue == null) {
-                    currentData.child("likes").setValue(1);
-                } else {
-                    currentData.child("likes").setValue(currentValue + 1);
-                }
-                currentData.child("userLikes").child(getUserId()).setValue(true);
-                liked = true;
-                return Transaction.success(currentData);
+            public void onChildChanged(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                feedListener.onChildChanged(snapshot, previousChildName);
+                mirrorComment(commentFeed, mirror, snapshot.getKey());
             }
 
             @Override
-            public void onComplete(@NonNull DatabaseError error, boolean committed, DataSnapshot currentData) {
-                if (error != null) {
-                    Toast.makeText(PostDetailActivity.this, "좋아요 증가 실패", Toast.LENGTH_SHORT).show();
-                } else {
-                    updateLikeButtonState();
-                }
+            public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+                feedListener.onChildRemoved(snapshot);
+                mirrorComment(commentFeed, mirror, snapshot.getKey());
             }
-        });
-    }
 
-    private void decrementLikeCount() {
-        DatabaseReference postRef = firebaseClient.getPostsRef(boardType).child(postId);
-        postRef.runTransaction(new Transaction.Handler() {
             @Override
-            public Transaction.Result doTransaction(@NonNull MutableData currentData) {
-                Integer currentValue = currentData.child("likes").getValue(Integer.class);
-                if (currentValue != null && currentValue > 0) {
-                    currentData.child("likes").setValue(currentValue - 1);
-                }
-                currentData.child("userLikes").child(getUserId()).setValue(null);
-                liked = false;
-                return Transaction.success(currentData);
+            public void onChildMoved(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                feedListener.onChildMoved(snapshot, previousChildName);
+                mirrorComment(commentFeed, mirror, snapshot.getKey());
             }
 
             @Override
-            public void onComplete(@NonNull DatabaseError error, boolean committed, DataSnapshot currentData) {
-                if (error != null) {
-                    Toast.makeText(PostDetailActivity.this, "좋아요 감소 실패", Toast.LENGTH_SHORT).show();
-                } else {
-                    updateLikeButtonState();
-                }
+            public void onCancelled(@NonNull DatabaseError error) {
+                feedListener.onCancelled(error);
             }
         });
-    }
-
-    private void updateLikeButtonState() {
-        if (liked) {
-            likeButton.setBackgroundResource(R.drawable.pinkheart);
-            likeButton.setAlpha(0.5f);
-        } else {
-            likeButton.setBackgroundResource(R.drawable.pinkheart);
-            likeButton.setAlpha(1.0f);
-        }
-    }
 
-    private void loadComments() {
-        DatabaseReference commentsRef = firebaseClient.getPostsRef(boardType).child(postId).child("comments");
-        commentsRef.addValueEventListener(new ValueEventListener() {
+        // 자식 이벤트가 모두 전달된 뒤 오는 단발성 이벤트로 동기화 완료 시점을 알고,
+        // 그 사이(로컬 사본 또는 화면이 멈춘 동안) 삭제된 댓글을 정리한다. (같은 위치를 듣고 있어 추가 다운로드 없음)
+        FirebaseRepository.Cancellable syncRead = repository.readOnce(commentsRef, new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot snapshot) {
-                commentList.clear();
-                for (DataSnapshot dataSnapshot : snapshot.getChildren()) {
-                    Comment comment = dataSnapshot.getValue(Comment.class);
-                    commentList.add(comment);
+                for (Comment comment : commentFeed.items()) {
+                    if (!snapshot.hasChild(comment.getCommentId())) {
+                        commentFeed.remove(comment.getCommentId());
+                    }
                 }
-                commentAdapter.notifyDataSetChanged();
+                commentsSynced = true;
+                List<Comment> synced = commentFeed.items();
+                mirror.execute(() -> mirror.replaceComments(boardType, postId, synced));
             }
 
             @Override
             public void onCancelled(@NonNull DatabaseError error) {
-                Toast.makeText(PostDetailActivity.this, "댓글을 불러오지 못했습니다.", Toast.LENGTH_SHORT).show();
+                // 로컬 사본은 그대로 둔다.
             }
         });
+        return () -> {
+            syncRead.cancel();
+            childListener.cancel();
+        };
+    }
+
+    // 피드에 반영된 결과대로 댓글 한 행만 저장하거나 지운다.
+    private void mirrorComment(KeyedFeed<Comment> commentFeed, BoardMirror mirror, @Nullable String commentId) {
+        if (!commentsSynced || commentId == null) {
+            return;
+        }
+        Comment comment = commentFeed.get(commentId);
+        if (comment != null) {
+            mirror.execute(() -> mirror.upsertComment(boardType, postId, comment));
+        } else {
+            mirror.execute(() -> mirror.deleteComment(commentId));
+        }
     }
 
+    // 댓글 저장과 게시물의 댓글 수 증가를 한 번의 다중 경로 업데이트로 처리
     private void submitComment(String commentText) {
-        DatabaseReference commentsRef = firebaseClient.getPostsRef(boardType).child(postId).child("comments").push();
-        String commentId = commentsRef.getKey();
+        DatabaseReference postRef = repository.getBoardRef(boardType).child(postId);
+        String commentId = postRef.child("comments").push().getKey();
         String currentUserId = getUserId();
         String username = getLoggedInUsername();
         Comment comment = new Comment(commentId, currentUserId, username, commentText, System.currentTimeMillis());
-        commentsRef.setValue(comment);
+
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("comments/" + commentId, comment);
+        updates.put("commentCount", ServerValue.increment(1));
+        repository.updateChildren(postRef, updates);
     }
 
     private boolean isPostOwner() {
@@ -333,8 +334,10 @@ public class PostDetailActivity extends AppCompatActivity {
     }
 
     private void deletePost() {
-        firebaseClient.getPostsRef(boardType).child(postId).removeValue()
+        repository.deletePost(boardType, postId)
                 .addOnSuccessListener(aVoid -> {
+                    BoardMirror mirror = BoardMirror.getInstance(this);
+                    mirror.execute(() -> mirror.deletePost(postId));
                     Toast.makeText(PostDetailActivity.this, "게시물이 삭제되었습니다.", Toast.LENGTH_SHORT).show();
                     finish();
                 })
@@ -0,0 +1,306 @@
+package com.example.green_action.Community;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.green_action.remote.FirebaseRepository;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.Transaction;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 게시물 좋아요 처리
+// - 사용자별 좋아요 색인: likes/{postId}/{uid} = true
+// - 좋아요 수: like_counts/{postId}/{shard} 에 나눠 저장하고 합산 (인기 글의 쓰기 경합 완화)
+// - 게시판 목록용 비정규화 값: {board}_posts/{postId}/likes 도 같은 업데이트에서 함께 증감
+// 좋아요/취소는 사용자 색인과 샤드, 게시물의 likes(ServerValue.increment)를 한 번의 updateChildren 으로 바꾼다.
+// 세 경로가 함께 반영되거나 함께 거절되고, 색인이 실제로 바뀌지 않는 증감은 보안 규칙(database.rules.json)이
+// 거절한다. (다른 기기에서 이미 누른 상태면 전체가 거절되어 한 번만 센다)
+// 트랜잭션이 아니므로 오프라인에서도 바로 로컬 캐시에 반영되고, 연결되면 순서대로 전송된다.
+// 예전 형식({board}_posts/{postId}/userLikes)이 남은 게시물은 처음 열 때 한 번 옮긴다.
+// 사용자 색인을 받고 예전 형식을 옮기기 전까지는 누를 수 없다. (Listener.onLikeStateChanged 의 enabled)
+// 화면에는 먼저 낙관적으로 반영하고, 리스너 값(보낸 쓰기가 반영된 로컬 캐시, 거절되면 되돌린 값)으로 맞춘다.
+public class PostLikeManager {
+
+    public static final int SHARD_COUNT = 4;
+    // like_counts/{postId}/legacy = true: 예전 형식을 이미 옮긴 게시물 (합산에서는 빠진다)
+    private static final String LEGACY_MARKER = "legacy";
+
+    private final FirebaseRepository repository;
+    private final String postId;
+    private final String postsPath;
+    @Nullable
+    private final String userId;
+    private final Listener listener;
+
+    private final DatabaseReference postRef;
+    private final DatabaseReference userLikeRef;
+    private final DatabaseReference countRef;
+
+    // 리스너로 받은 상태 (전송 대기 중인 쓰기 포함)
+    private boolean serverLiked = false;
+    private int serverCount = 0;
+    private boolean userLikeLoaded = false;
+    private boolean legacyMigrated = false;
+    private boolean legacyMigrating = false; // stop() 으로 멈추지 않는 트랜잭션 단계까지 포함
+    // 화면에 보여주는 상태 (리스너 값이 오기 전에는 낙관적 값)
+    private boolean liked = false;
+    private int likeCount = 0;
+    private boolean started = false;
+
+    private FirebaseRepository.Cancellable userLikeListener;
+    private FirebaseRepository.Cancellable countListener;
+    private FirebaseRepository.Cancellable legacyRequest;
+
+    public PostLikeManager(String boardType, String postId, @Nullable String userId, Listener listener) {
+        this.repository = FirebaseRepository.getInstance();
+        this.postsPath = boardType + "_posts";
+        this.postId = postId;
+        this.userId = userId;
+        this.listener = listener;
+        this.postRef = repository.getBoardRef(boardType).child(postId);
+        this.countRef = repository.getLikeCountsRef(postId);
+        this.userLikeRef = userId != null ? repository.getLikesRef(postId).child(userId) : null;
+    }
+
+    // 좋아요 여부와 좋아요 수 리스너 연결 (onStart)
+    public void start() {
+        started = true;
+        if (countListener == null) {
+            countListener = repository.listen(countRef, new ValueEventListener() {
+                @Override
+                public void onDataChange(@NonNull DataSnapshot snapshot) {
+                    int total = 0;
+                    for (int i = 0; i < SHARD_COUNT; i++) {
+                        Long value = snapshot.child("s" + i).getValue(Long.class);
+                        if (value != null) {
+                            total += value;
+                        }
+                    }
+                    serverCount = Math.max(total, 0);
+                    reconcile();
+                }
+
+                @Override
+                public void onCancelled(@NonNull DatabaseError error) {
+                    listener.onLikeError(error.getMessage());
+                }
+            });
+        }
+        if (userLikeRef != null && userLikeListener == null) {
+            userLikeListener = repository.listen(userLikeRef, new ValueEventListener() {
+                @Override
+                public void onDataChange(@NonNull DataSnapshot snapshot) {
+                    serverLiked = snapshot.exists();
+                    userLikeLoaded = true;
+                    reconcile();
+                }
+
+                @Override
+                public void onCancelled(@NonNull DatabaseError error) {
+                    listener.onLikeError(error.getMessage());
+                }
+            });
+        }
+        if (!legacyMigrated && !legacyMigrating) {
+            migrateLegacyLikes();
+        }
+    }
+
+    // 리스너 해제 (onStop)
+    public void stop() {
+        started = false;
+        if (countListener != null) {
+            countListener.cancel();
+            countListener = null;
+        }
+        if (userLikeListener != null) {
+            userLikeListener.cancel();
+            userLikeListener = null;
+        }
+        if (legacyRequest != null) {
+            // 읽는 단계면 멈추고 다음 start() 에서 처음부터 다시 한다.
+            legacyRequest.cancel();
+            legacyRequest = null;
+            legacyMigrating = false;
+        }
+    }
+
+    public boolean isLiked() {
+        return liked;
+    }
+
+    // 누를 수 있는지. 로그인하지 않았으면 누르면 로그인 화면으로 가므로 true
+    public boolean isEnabled() {
+        return userId == null || (userLikeLoaded && legacyMigrated);
+    }
+
+    // 좋아요/취소 전환. 준비되지 않았으면 무시한다.
+    public void toggle() {
+        if (userId == null || !isEnabled()) {
+            return;
+        }
+        boolean like = !liked;
+
+        // 낙관적 반영
+        liked = like;
+        likeCount = Math.max(likeCount + (like ? 1 : -1), 0);
+        notifyState();
+
+        // 이전 요청이 아직 전송되지 않았어도 쓰기는 보낸 순서대로 반영된다.
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("likes/" + postId + "/" + userId, like ? Boolean.TRUE : null);
+        updates.put("like_counts/" + postId + "/" + shardFor(userId), ServerValue.increment(like ? 1 : -1));
+        updates.put(postsPath + "/" + postId + "/likes", ServerValue.increment(like ? 1 : -1));
+        repository.updateChildren(repository.getRootRef(), updates).addOnCompleteListener(task -> {
+            // 거절되면 로컬 캐시가 되돌아가며 리스너가 서버 값으로 맞춘다.
+            if (!task.isSuccessful()) {
+                listener.onLikeError(task.getException() != null ? task.getException().getMessage() : null);
+            }
+        });
+    }
+
+    // 예전 형식 옮기기: userLikes 의 사용자들을 likes/ 색인에 넣고, 샤드 합계가 게시물의 likes 와 같아지게 맞춘다.
+    // 샤드는 표식(legacy)과 함께 트랜잭션으로 한 번만 채우고, 그 뒤 색인 쓰기와 userLikes 삭제를 한 번에 한다.
+    // 색인 쓰기 전에 멈췄으면 다음에 표식을 보고 색인 쓰기만 다시 한다.
+    private void migrateLegacyLikes() {
+        legacyMigrating = true;
+        legacyRequest = repository.read(postRef.child("userLikes"), snapshot -> {
+            List<String> userIds = new ArrayList<>();
+            for (DataSnapshot child : snapshot.getChildren()) {
+                if (Boolean.TRUE.equals(child.getValue(Boolean.class))) {
+                    userIds.add(child.getKey());
+                }
+            }
+            return userIds;
+        }, new FirebaseRepository.Callback<List<String>>() {
+            @Override
+            public void onSuccess(@Nullable List<String> legacyUserIds) {
+                if (legacyUserIds == null || legacyUserIds.isEmpty()) {
+                    finishLegacyMigration();
+                    return;
+                }
+                legacyRequest = repository.read(postRef.child("likes"), likesSnapshot -> likesSnapshot.getValue(Long.class),
+                        new FirebaseRepository.Callback<Long>() {
+                            @Override
+                            public void onSuccess(@Nullable Long postLikes) {
+                                seedShards(legacyUserIds, postLikes != null ? postLikes : legacyUserIds.size());
+                            }
+
+                            @Override
+                            public void onError(@NonNull DatabaseError error) {
+                                failLegacyMigration(error.getMessage());
+                            }
+                        });
+            }
+
+            @Override
+            public void onError(@NonNull DatabaseError error) {
+                failLegacyMigration(error.getMessage());
+            }
+        });
+    }
+
+    private void seedShards(List<String> legacyUserIds, long postLikes) {
+        legacyRequest = null;
+        repository.runTransaction(countRef, new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                if (currentData.child(LEGACY_MARKER).getValue() != null) {
+                    return Transaction.abort(); // 다른 기기나 이전 실행에서 이미 채움
+                }
+                // 이미 있는 샤드 값(예전 형식을 옮기기 전에 새로 누른 좋아요)에 예전 좋아요를 더한다.
+                long[] shards = new long[SHARD_COUNT];
+                long total = 0;
+                for (int i = 0; i < SHARD_COUNT; i++) {
+                    Long value = currentData.child("s" + i).getValue(Long.class);
+                    shards[i] = value != null ? value : 0;
+                    total += shards[i];
+                }
+                for (String legacyUserId : legacyUserIds) {
+                    shards[shardIndexFor(legacyUserId)]++;
+                }
+                // 게시판 목록이 보여 주는 likes 와 합계를 맞춘다. (uid 없이 세어진 차이는 s0 에)
+                shards[0] += postLikes - total - legacyUserIds.size();
+                for (int i = 0; i < SHARD_COUNT; i++) {
+                    currentData.child("s" + i).setValue(shards[i]);
+                }
+                currentData.child(LEGACY_MARKER).setValue(Boolean.TRUE);
+                return Transaction.success(currentData);
+            }
+
+            @Override
+            public void onComplete(@Nullable DatabaseError error, boolean committed, @Nullable DataSnapshot currentData) {
+                // 커밋되지 않았어도 오류가 없으면 이미 채워진 것이므로 색인 쓰기로 넘어간다.
+                if (error != null) {
+                    failLegacyMigration(error.getMessage());
+                    return;
+                }
+                Map<String, Object> updates = new HashMap<>();
+                for (String legacyUserId : legacyUserIds) {
+                    updates.put("likes/" + postId + "/" + legacyUserId, Boolean.TRUE);
+                }
+                updates.put(postsPath + "/" + postId + "/userLikes", null);
+                repository.updateChildren(repository.getRootRef(), updates).addOnCompleteListener(task -> {
+                    if (task.isSuccessful()) {
+                        finishLegacyMigration();
+                    } else {
+                        failLegacyMigration(task.getException() != null ? task.getException().getMessage() : null);
+                    }
+                });
+            }
+        });
+    }
+
+    private void finishLegacyMigration() {
+        legacyRequest = null;
+        legacyMigrating = false;
+        legacyMigrated = true;
+        reconcile();
+    }
+
+    // 옮기지 못하면 버튼을 막아 둔 채로 두고 다음 start() 에서 다시 시도한다.
+    private void failLegacyMigration(@Nullable String message) {
+        legacyRequest = null;
+        legacyMigrating = false;
+        if (started) {
+            listener.onLikeError(message);
+        }
+    }
+
+    private void reconcile() {
+        liked = serverLiked;
+        likeCount = serverCount;
+        notifyState();
+    }
+
+    private void notifyState() {
+        listener.onLikeStateChanged(liked, likeCount, isEnabled());
+    }
+
+    // 같은 사용자의 좋아요/취소는 항상 같은 샤드에 기록되도록 uid 로 샤드를 정한다.
+    static String shardFor(String userId) {
+        return "s" + shardIndexFor(userId);
+    }
+
+    private static int shardIndexFor(String userId) {
+        return (userId.hashCode() & Integer.MAX_VALUE) % SHARD_COUNT;
+    }
+
+    // 인터페이스: 좋아요 상태 변경과 오류를 위한 콜백
+    public interface Listener {
+        // enabled: 좋아요 버튼을 누를 수 있는지
+        void onLikeStateChanged(boolean liked, int likeCount, boolean enabled);
+
+        void onLikeError(@Nullable String message);
+    }
+}
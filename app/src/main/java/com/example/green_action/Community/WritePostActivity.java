@@ -11,16 +11,13 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.green_action.R;
-import com.example.green_action.remote.FirebaseClient;
+import com.example.green_action.remote.FirebaseRepository;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
 
 public class WritePostActivity extends AppCompatActivity {
 
-    private FirebaseClient firebaseClient;
-    private DatabaseReference postsRef;
+    private FirebaseRepository repository;
     private String boardType;
 
     @Override
@@ -31,7 +28,7 @@ public class WritePostActivity extends AppCompatActivity {
         ImageButton buttonback = findViewById(R.id.backButton);
         buttonback.setOnClickListener(v -> finish());
 
-        firebaseClient = new FirebaseClient();
+        repository = FirebaseRepository.getInstance();
 
         // 게시판 타입을 받아옴
         boardType = getIntent().getStringExtra("boardType");
@@ -41,9 +38,6 @@ public class WritePostActivity extends AppCompatActivity {
             return;
         }
 
-        // 게시판에 맞는 Firebase 경로 설정
-        postsRef = FirebaseDatabase.getInstance().getReference(boardType + "_posts");
-
         EditText titleEditText = findViewById(R.id.post_title);
         EditText contentEditText = findViewById(R.id.post_content);
         Button submitButton = findViewById(R.id.button_submit_post);
@@ -55,8 +49,9 @@ public class WritePostActivity extends AppCompatActivity {
             String username = getUserName(); // 사용자 이름을 가져오는 메서드
 
             if (!title.isEmpty() && !content.isEmpty()) {
-                DatabaseReference newPostRef = postsRef.push(); // 고유 postId 생성
-                newPostRef.setValue(new CommunityPostItem(newPostRef.getKey(), userId, title, content, getCurrentTimestamp(), username))
+                String postId = repository.newPostId(boardType); // 고유 postId 생성
+                // 게시물과 게시판 요약(board_heads)을 한 번에 기록
+                repository.createPost(boardType, new CommunityPostItem(postId, userId, title, content, getCurrentTimestamp(), username))
                         .addOnSuccessListener(aVoid -> {
                             Toast.makeText(WritePostActivity.this, "게시물이 성공적으로 등록되었습니다!", Toast.LENGTH_SHORT).show();
                             // 작성 완료 후 원래 게시판으로 돌아가기
@@ -0,0 +1,34 @@
+package com.example.green_action;
+
+import android.app.Application;
+import android.content.pm.ApplicationInfo;
+
+import com.example.green_action.airquality.AirQualityPrefetchWorker;
+import com.example.green_action.quiz.QuizRepository;
+import com.example.green_action.remote.FirebasePersistence;
+import com.example.green_action.remote.ListenerRegistry;
+import com.example.green_action.remote.RepositoryMetrics;
+import com.example.green_action.remote.WriteBehindQueue;
+
+public class GreenActionApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // Firebase Database 를 처음 사용하기 전에 디스크 캐시를 설정해야 한다.
+        FirebasePersistence.configure(this);
+        boolean debuggable = (getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+        // 디버그 빌드에서만 화면별 리스너 중복/누수 검사
+        ListenerRegistry.setDebugChecks(debuggable);
+        // 디버그 빌드에서만 경로별 읽기/쓰기/전송량 집계 (값을 한 번 더 변환하므로)
+        RepositoryMetrics.setEnabled(debuggable);
+        // 디버그 빌드에서만 퀴즈/게시판 화면의 메인 스레드 디스크/네트워크 접근 검사
+        StrictModeGate.setEnabled(debuggable);
+        // 포함된 퀴즈 팩 설치(첫 실행)와 Firebase 변경분 확인은 백그라운드에서
+        QuizRepository.getInstance(this).syncContentUpdates();
+        // 지난 실행에서 보내지 못한 퀴즈 진행/점수 쓰기가 있으면 이어서 보낸다.
+        WriteBehindQueue.getInstance(this);
+        // 대기질 자료는 한 시간마다 미리 받아 두고 화면은 저장된 자료로 바로 그린다.
+        AirQualityPrefetchWorker.schedule(this);
+    }
+}
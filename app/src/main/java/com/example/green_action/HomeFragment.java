@@ -16,25 +16,37 @@ import androidx.fragment.app.Fragment;
 import androidx.fragment.app.FragmentManager;
 import androidx.fragment.app.FragmentTransaction;
 
+import com.example.green_action.Community.BoardHead;
 import com.example.green_action.Community.FreeBoardActivity;
 import com.example.green_action.Community.IssueBoardActivity;
 import com.example.green_action.Community.NoticeBoardActivity;
 import com.example.green_action.Community.QnaBoardActivity;
 import com.example.green_action.air_pollution.AirPollutionFragment;
+import com.example.green_action.airquality.AirQualityHistory;
 import com.example.green_action.plastic_pollution.PlasticPollutionFragment;
+import com.example.green_action.remote.FirebaseRepository;
+import com.example.green_action.remote.ListenerRegistry;
 import com.example.green_action.soil_pollution.SoilPollutionFragment;
 import com.example.green_action.water_pollution.WaterPollutionFragment;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.Query;
 import com.google.firebase.database.ValueEventListener;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 public class HomeFragment extends Fragment {
 
+    // 노출 점수를 보여 줄 시도. 지역 설정이 없어 대기오염 화면의 예전 기본 지역을 쓴다.
+    private static final String EXPOSURE_SIDO = "경기";
+
     private TextView issueBoardTitle, issueLatestPostTitle, freeBoardTitle, freeLatestPostTitle;
     private TextView noticeBoardTitle, noticeLatestPostTitle, qnaBoardTitle, qnaLatestPostTitle;
+    private final Map<String, TextView> latestTitleViews = new HashMap<>();
+    private TextView airExposureView;
+
+    private final FirebaseRepository repository = FirebaseRepository.getInstance();
 
     @Nullable
     @Override
@@ -50,12 +62,13 @@ public class HomeFragment extends Fragment {
         noticeLatestPostTitle = view.findViewById(R.id.tv_notice_latest_post_title);
         qnaBoardTitle = view.findViewById(R.id.tv_qna_board);
         qnaLatestPostTitle = view.findViewById(R.id.tv_qna_latest_post_title);
+        airExposureView = view.findViewById(R.id.tv_air_exposure);
 
-        // 최신 게시물 제목 불러오기
-        setupRealtimeUpdates("issue_posts", issueLatestPostTitle);
-        setupRealtimeUpdates("free_posts", freeLatestPostTitle);
-        setupRealtimeUpdates("notice_posts", noticeLatestPostTitle);
-        setupRealtimeUpdates("qna_posts", qnaLatestPostTitle);
+        // 게시판 요약(board_heads)을 표시할 TextView (FirebaseRepository.BOARD_TYPES 순서)
+        latestTitleViews.put("issue", issueLatestPostTitle);
+        latestTitleViews.put("free", freeLatestPostTitle);
+        latestTitleViews.put("notice", noticeLatestPostTitle);
+        latestTitleViews.put("qna", qnaLatestPostTitle);
 
         // 버튼 클릭 이벤트 설정
         setButtonTouchListener(view.findViewById(R.id.air_pollution));
@@ -76,37 +89,63 @@ public class HomeFragment extends Fragment {
         return view;
     }
 
-    // Firebase에서 최신 게시물 제목을 실시간으로 가져오는 메서드
-    private void setupRealtimeUpdates(String postType, TextView textView) {
-        DatabaseReference postsRef = FirebaseDatabase.getInstance().getReference(postType);
-
-        // 게시물을 타임스탬프 역순으로 정렬하고 첫 번째 항목을 가져옴
-        Query latestPostQuery = postsRef.orderByChild("timestamp").limitToLast(1);
-
-        latestPostQuery.addValueEventListener(new ValueEventListener() {
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        // 네 게시판의 최신 글을 board_heads 리스너 하나로 받는다. 뷰가 보일 때만 유지.
+        ListenerRegistry.bind(getViewLifecycleOwner()).listen("board_heads", repository.getBoardHeadsRef(), new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
-                if (dataSnapshot.exists()) {
-                    for (DataSnapshot postSnapshot : dataSnapshot.getChildren()) {
-                        String postTitle = postSnapshot.child("title").getValue(String.class);
-                        if (postTitle != null) {
-                            textView.setText(postTitle);
-                        } else {
-                            textView.setText("최신 글 제목을 불러올 수 없습니다.");
-                        }
+                for (String boardType : FirebaseRepository.BOARD_TYPES) {
+                    BoardHead head = dataSnapshot.child(boardType).getValue(BoardHead.class);
+                    bindBoardHead(boardType, head);
+                    if (head == null || !head.counted) {
+                        // 요약 노드 도입 이전에 작성된 글 보정 (프로세스당 한 번)
+                        repository.backfillBoardHead(boardType);
                     }
-                } else {
-                    textView.setText("최신 글이 없습니다.");
                 }
             }
 
             @Override
             public void onCancelled(@NonNull DatabaseError databaseError) {
-                textView.setText("데이터베이스 오류: " + databaseError.getMessage());
+                for (TextView textView : latestTitleViews.values()) {
+                    textView.setText("데이터베이스 오류: " + databaseError.getMessage());
+                }
+            }
+        });
+
+        // 최근 7일 초미세먼지 노출 점수 (로컬 시계열에서 백그라운드로 계산)
+        AirQualityHistory.getInstance(requireContext()).loadExposure(EXPOSURE_SIDO, exposure -> {
+            if (getView() == null) {
+                return; // 계산하는 사이 뷰가 사라졌다.
             }
+            bindExposure(exposure);
         });
     }
 
+    private void bindExposure(@Nullable AirQualityHistory.Exposure exposure) {
+        if (exposure == null) {
+            airExposureView.setText("대기질 기록을 모으는 중입니다.");
+            return;
+        }
+        airExposureView.setText(String.format(Locale.KOREA, "%s 최근 %d일 초미세먼지 평균 %.1f ㎍/㎥ · 노출 점수 %d",
+                EXPOSURE_SIDO, exposure.days, exposure.pm25Average, exposure.score));
+    }
+
+    private void bindBoardHead(String boardType, @Nullable BoardHead head) {
+        TextView textView = latestTitleViews.get(boardType);
+        if (textView == null) {
+            return;
+        }
+        if (head == null || head.latestId == null) {
+            textView.setText("최신 글이 없습니다.");
+        } else if (head.latestTitle != null) {
+            textView.setText(head.latestTitle);
+        } else {
+            textView.setText("최신 글 제목을 불러올 수 없습니다.");
+        }
+    }
+
     // 터치 이벤트 설정
     private void setButtonTouchListener(View button) {
         button.setOnTouchListener(new View.OnTouchListener() {
@@ -9,7 +9,7 @@ import android.widget.Toast;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 
-import com.example.green_action.remote.FirebaseClient; // FirebaseClient를 통해 사용자 정보 저장
+import com.example.green_action.remote.FirebaseRepository; // FirebaseRepository를 통해 사용자 정보 저장
 import com.google.android.gms.auth.api.signin.GoogleSignIn;
 import com.google.android.gms.auth.api.signin.GoogleSignInAccount;
 import com.google.android.gms.auth.api.signin.GoogleSignInClient;
@@ -34,7 +34,7 @@ public class LoginActivity extends AppCompatActivity {
     private FirebaseAuth mAuth;
     private EditText id, pw;
     private GoogleSignInClient mGoogleSignInClient;
-    private FirebaseClient firebaseClient; // FirebaseClient 인스턴스 추가
+    private FirebaseRepository repository; // FirebaseRepository 인스턴스
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -43,8 +43,8 @@ public class LoginActivity extends AppCompatActivity {
         // FirebaseAuth 인스턴스 초기화
         mAuth = FirebaseAuth.getInstance();
 
-        // FirebaseClient 인스턴스 초기화
-        firebaseClient = new FirebaseClient();
+        // FirebaseRepository 인스턴스 초기화
+        repository = FirebaseRepository.getInstance();
 
         // 이미 로그인된 사용자가 있는지 확인하고, 있으면 메인 액티비티로 이동
         FirebaseUser currentUser = mAuth.getCurrentUser();
@@ -230,8 +230,8 @@ public class LoginActivity extends AppCompatActivity {
         // 필요한 필드만 사용하여 User 객체 생성
         User newUser = new User(userId, userEmail, profileImage, userName, "", "", userId, "", 0, 0);
 
-        // FirebaseClient를 통해 사용자 정보 저장
-        firebaseClient.saveUserData(userId, newUser); // userId를 key로 사용하여 데이터 저장
+        // FirebaseRepository를 통해 사용자 정보 저장
+        repository.saveUser(userId, newUser); // userId를 key로 사용하여 데이터 저장
     }
 
 }
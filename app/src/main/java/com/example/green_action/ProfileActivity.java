@@ -7,26 +7,26 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.bumptech.glide.Glide;
-import com.example.green_action.remote.FirebaseClient;
-import com.google.firebase.database.DataSnapshot;
+import com.example.green_action.remote.FirebaseRepository;
 import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.ValueEventListener;
 
 public class ProfileActivity extends AppCompatActivity {
 
     private static final String TAG = "ProfileActivity";
-    private FirebaseClient firebaseClient;
+    private FirebaseRepository repository;
+    private FirebaseRepository.Cancellable userRequest;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_profile);
 
-        // FirebaseClient 초기화
-        firebaseClient = new FirebaseClient();
+        // FirebaseRepository 초기화
+        repository = FirebaseRepository.getInstance();
 
         // UI 요소 참조
         ImageView profileImageView = findViewById(R.id.imageView);
@@ -44,10 +44,9 @@ public class ProfileActivity extends AppCompatActivity {
         }
 
         // 사용자 데이터 읽기
-        firebaseClient.loadUserData(userId, new ValueEventListener() {
+        userRequest = repository.loadUser(userId, new FirebaseRepository.Callback<User>() {
             @Override
-            public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
-                User user = dataSnapshot.getValue(User.class);
+            public void onSuccess(@Nullable User user) {
                 if (user != null) {
                     // 사용자 정보 UI에 설정
                     profileIdTextView.setText(user.id);
@@ -71,10 +70,19 @@ public class ProfileActivity extends AppCompatActivity {
             }
 
             @Override
-            public void onCancelled(@NonNull DatabaseError databaseError) {
+            public void onError(@NonNull DatabaseError databaseError) {
                 Log.e(TAG, "Database error: " + databaseError.getMessage());
                 Toast.makeText(ProfileActivity.this, "데이터베이스 오류: " + databaseError.getMessage(), Toast.LENGTH_SHORT).show();
             }
         });
     }
-}
\ No newline at end of file
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        // 화면이 닫힌 뒤 도착한 응답은 무시
+        if (userRequest != null) {
+            userRequest.cancel();
+        }
+    }
+}
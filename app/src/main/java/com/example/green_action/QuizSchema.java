@@ -0,0 +1,175 @@
+package com.example.green_action;
+
+// quiz_database 스키마와 버전별 마이그레이션
+// DataBaseHelper 가 유일한 소유자이며, 스키마를 바꿀 때는 VERSION 을 올리고 migrateTo 에 단계를 추가한다.
+// 기존 데이터를 지우는 단계는 두지 않는다. (진행 상태가 사라지면 클라우드에서 전부 다시 받아야 한다)
+// Android 와 무관한 SQL 만 사용하므로 JVM 테스트에서 JDBC SQLite 로 그대로 검증한다.
+//
+// 버전 이력
+// 1: (구 DataBaseHandler) quiz_progress(quiz_id PK, is_solved)
+// 2: 퀴즈 내용 테이블 4개와 user_table 추가
+// 3: (구 DataBaseHelper) quiz_progress 를 (user_id, quiz_id) 키로 바꾼 버전. 이 파일을 v3 로 만든 기기가 있을 수 있다.
+// 4: 두 계통 통합. quiz_progress 는 현재 사용자 기준 (quiz_id PK, is_solved) 로 정리
+// 5: 내용 테이블 order_index 색인, 코드에 있던 대기오염 문항(정답)을 테이블로 이전
+// 6: content_meta (설치된 퀴즈 내용 팩 버전)
+// 7: pending_writes (Firebase 로 보낼 쓰기 대기열, WriteBehindQueue)
+// 8: pending_writes.attempts (실패한 전송 횟수)
+public final class QuizSchema {
+
+    public static final int VERSION = 8;
+
+    // 대기오염 퀴즈 화면의 문항 수
+    static final int LEGACY_AIR_QUIZ_COUNT = 30;
+
+    public static final String TABLE_QUIZ_PROGRESS = "quiz_progress";
+    public static final String TABLE_CONTENT_META = "content_meta";
+    public static final String TABLE_PENDING_WRITES = "pending_writes";
+    public static final String[] QUIZ_TABLES = {
+            "air_pollution_quiz", "soil_pollution_quiz", "water_pollution_quiz", "plastic_pollution_quiz"
+    };
+
+    private QuizSchema() {
+    }
+
+    // 새 설치: 최신 스키마를 바로 만든다.
+    public static void create(SchemaSql db) {
+        createProgressTable(db, TABLE_QUIZ_PROGRESS);
+        createContentTables(db);
+        createOrderIndexes(db);
+        seedLegacyAirQuizzes(db);
+        createContentMetaTable(db);
+        createPendingWritesTable(db);
+    }
+
+    // oldVersion 다음 버전부터 newVersion 까지 한 단계씩 적용
+    public static void migrate(SchemaSql db, int oldVersion, int newVersion) {
+        for (int version = oldVersion + 1; version <= newVersion; version++) {
+            migrateTo(db, version);
+        }
+    }
+
+    private static void migrateTo(SchemaSql db, int version) {
+        switch (version) {
+            case 2:
+                createContentTables(db);
+                break;
+            case 3:
+                // 구 DataBaseHelper 계통에서만 의미가 있던 버전. v1 계통은 v4 에서 함께 정리한다.
+                break;
+            case 4:
+                normalizeProgressTable(db);
+                createContentTables(db); // v3 계통에는 이미 있다.
+                break;
+            case 5:
+                createOrderIndexes(db);
+                seedLegacyAirQuizzes(db);
+                break;
+            case 6:
+                createContentMetaTable(db);
+                break;
+            case 7:
+                createPendingWritesTable(db);
+                break;
+            case 8:
+                addPendingWriteAttempts(db); // v7 에서 새로 만든 경우에는 이미 있다.
+                break;
+            default:
+                throw new IllegalStateException("No migration to version " + version);
+        }
+    }
+
+    // (user_id, quiz_id) 키의 진행 상태를 quiz_id 키로 합친다. 한 명이라도 푼 퀴즈는 푼 것으로 둔다.
+    private static void normalizeProgressTable(SchemaSql db) {
+        if (!db.hasColumn(TABLE_QUIZ_PROGRESS, "quiz_id")) {
+            createProgressTable(db, TABLE_QUIZ_PROGRESS); // 테이블이 없던 경우
+            return;
+        }
+        if (!db.hasColumn(TABLE_QUIZ_PROGRESS, "user_id")) {
+            return; // 이미 v1 형식
+        }
+        createProgressTable(db, "quiz_progress_v4");
+        db.execSQL("INSERT INTO quiz_progress_v4 (quiz_id, is_solved) " +
+                "SELECT quiz_id, MAX(is_solved) FROM " + TABLE_QUIZ_PROGRESS + " GROUP BY quiz_id");
+        db.execSQL("DROP TABLE " + TABLE_QUIZ_PROGRESS);
+        db.execSQL("ALTER TABLE quiz_progress_v4 RENAME TO " + TABLE_QUIZ_PROGRESS);
+    }
+
+    private static void createOrderIndexes(SchemaSql db) {
+        for (String table : QUIZ_TABLES) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_" + table + "_order ON " + table + " (order_index)");
+        }
+    }
+
+    // 예전 AirQuizSectionFragment.getCorrectAnswerForQuiz 의 문항. 이미 같은 순서의 문항이 있으면 건너뛴다.
+    private static void seedLegacyAirQuizzes(SchemaSql db) {
+        for (int order = 1; order <= LEGACY_AIR_QUIZ_COUNT; order++) {
+            String answer = order <= 10 || order == 30 ? "정답" + order : "";
+            db.execSQL("INSERT INTO air_pollution_quiz (question, study, correct_answer, correct_answer_length, order_index) " +
+                    "SELECT '퀴즈 " + order + " 문제입니다.', '퀴즈 " + order + "에 대한 학습 내용입니다.', '" + answer + "', " +
+                    answer.length() + ", " + order + " " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM air_pollution_quiz WHERE order_index = " + order + ")");
+        }
+    }
+
+    private static void createContentMetaTable(SchemaSql db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_CONTENT_META + " (" +
+                "meta_key TEXT PRIMARY KEY, " +
+                "meta_value INTEGER" +
+                ")");
+    }
+
+    // 경로별 대기 중인 쓰기. batch 0 = 아직 보내지 않음, -n = 묶음 n 으로 골랐지만 Firebase 에 넘기기 전, n = Firebase 에 넘긴 묶음
+    // op 0: 숫자 값, 1: 숫자 증가(ServerValue.increment), 2: 문자열 값
+    // attempts: 일시적인 오류로 실패한 횟수 (WriteBehindQueue.MAX_ATTEMPTS 에 닿으면 버린다)
+    private static void createPendingWritesTable(SchemaSql db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_PENDING_WRITES + " (" +
+                "path TEXT NOT NULL, " +
+                "batch INTEGER NOT NULL DEFAULT 0, " +
+                "op INTEGER NOT NULL, " +
+                "num INTEGER, " +
+                "text TEXT, " +
+                "attempts INTEGER NOT NULL DEFAULT 0, " +
+                "PRIMARY KEY (path, batch)" +
+                ")");
+    }
+
+    private static void addPendingWriteAttempts(SchemaSql db) {
+        if (!db.hasColumn(TABLE_PENDING_WRITES, "attempts")) {
+            db.execSQL("ALTER TABLE " + TABLE_PENDING_WRITES + " ADD COLUMN attempts INTEGER NOT NULL DEFAULT 0");
+        }
+    }
+
+    private static void createProgressTable(SchemaSql db, String table) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + table + " (" +
+                "quiz_id INTEGER PRIMARY KEY, " +
+                "is_solved INTEGER DEFAULT 0" +  // 0: 미해결, 1: 해결됨
+                ")");
+    }
+
+    private static void createContentTables(SchemaSql db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS user_table (" +
+                "user_id TEXT PRIMARY KEY, " +
+                "user_pw TEXT NOT NULL, " +
+                "username TEXT NOT NULL, " +
+                "email TEXT, " +
+                "contact TEXT, " +
+                "gender TEXT, " +
+                "profileImage TEXT" +
+                ")");
+        for (String table : QUIZ_TABLES) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + table + " (" +
+                    "quiz_id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                    "question TEXT NOT NULL, " +
+                    "study TEXT, " +
+                    "correct_answer TEXT NOT NULL, " +
+                    "correct_answer_length INTEGER, " +
+                    "explanation TEXT, " +
+                    "max_score INTEGER DEFAULT 3, " +
+                    "attempts_allowed INTEGER DEFAULT 3, " +
+                    "is_locked INTEGER DEFAULT 1, " +  // 1: 잠금, 0: 잠금 해제
+                    "is_solved INTEGER DEFAULT 0, " +  // 0: 미해결, 1: 해결됨
+                    "order_index INTEGER NOT NULL" +
+                    ")");
+        }
+    }
+}
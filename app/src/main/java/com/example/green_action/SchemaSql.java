@@ -0,0 +1,36 @@
+package com.example.green_action;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+// 스키마 코드(QuizSchema, AirQualityHistorySchema)가 SQLiteDatabase 와 JDBC 연결을 같은 코드로 다루기 위한 최소 인터페이스
+// 앱에서는 of(db) 로 감싸고, JVM 테스트에서는 JDBC SQLite 구현을 넘긴다.
+public interface SchemaSql {
+
+    void execSQL(String sql);
+
+    boolean hasColumn(String table, String column);
+
+    // SQLiteOpenHelper 의 onCreate/onUpgrade 에서 받은 연결
+    static SchemaSql of(SQLiteDatabase db) {
+        return new SchemaSql() {
+            @Override
+            public void execSQL(String sql) {
+                db.execSQL(sql);
+            }
+
+            @Override
+            public boolean hasColumn(String table, String column) {
+                try (Cursor cursor = db.rawQuery("PRAGMA table_info(" + table + ")", null)) {
+                    int nameIndex = cursor.getColumnIndexOrThrow("name");
+                    while (cursor.moveToNext()) {
+                        if (column.equals(cursor.getString(nameIndex))) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+        };
+    }
+}
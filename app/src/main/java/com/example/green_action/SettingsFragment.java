@@ -19,17 +19,17 @@ import androidx.fragment.app.FragmentManager;
 import androidx.fragment.app.FragmentTransaction;
 
 import com.bumptech.glide.Glide;
-import com.example.green_action.remote.FirebaseClient;
+import com.example.green_action.quiz.QuizStateStore;
+import com.example.green_action.remote.FirebaseRepository;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.ValueEventListener;
 
 public class SettingsFragment extends Fragment {
 
     private static final String TAG = "SettingsFragment";
     private FirebaseAuth mAuth;
-    private FirebaseClient firebaseClient;
+    private FirebaseRepository repository;
+    private FirebaseRepository.Cancellable userRequest;
     private String userId;
 
     @Nullable
@@ -38,7 +38,7 @@ public class SettingsFragment extends Fragment {
         View view = inflater.inflate(R.layout.fragment_settings, container, false);
 
         mAuth = FirebaseAuth.getInstance();
-        firebaseClient = new FirebaseClient();
+        repository = FirebaseRepository.getInstance();
 
         ImageView userProfileImage = view.findViewById(R.id.user_profile_image);
         TextView userIdText = view.findViewById(R.id.user_id_text);
@@ -50,10 +50,9 @@ public class SettingsFragment extends Fragment {
         userId = mAuth.getCurrentUser() != null ? mAuth.getCurrentUser().getUid() : null;
 
         if (userId != null) {
-            firebaseClient.loadUserData(userId, new ValueEventListener() {
+            userRequest = repository.loadUser(userId, new FirebaseRepository.Callback<User>() {
                 @Override
-                public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
-                    User user = dataSnapshot.getValue(User.class);
+                public void onSuccess(@Nullable User user) {
                     if (user != null) {
                         userIdText.setText(user.id);
                         userEmailText.setText(user.email);
@@ -75,7 +74,7 @@ public class SettingsFragment extends Fragment {
                 }
 
                 @Override
-                public void onCancelled(@NonNull DatabaseError databaseError) {
+                public void onError(@NonNull DatabaseError databaseError) {
                     Log.e(TAG, "Database error: " + databaseError.getMessage());
                     Toast.makeText(getActivity(), "데이터베이스 오류: " + databaseError.getMessage(), Toast.LENGTH_SHORT).show();
                 }
@@ -86,6 +85,8 @@ public class SettingsFragment extends Fragment {
         }
 
         logoutButton.setOnClickListener(v -> {
+            // 로컬 진행 상태는 계정 구분 없이 저장되므로 로그아웃할 때 비운다.
+            QuizStateStore.getInstance(requireContext()).clearLocalProgress();
             mAuth.signOut();
             Toast.makeText(getActivity(), "로그아웃 되었습니다.", Toast.LENGTH_SHORT).show();
 
@@ -100,6 +101,16 @@ public class SettingsFragment extends Fragment {
         return view;
     }
 
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        // 뷰가 사라진 뒤 도착한 응답은 무시
+        if (userRequest != null) {
+            userRequest.cancel();
+            userRequest = null;
+        }
+    }
+
     @Override
     public void onResume() {
         super.onResume();
@@ -0,0 +1,71 @@
+package com.example.green_action;
+
+import android.os.StrictMode;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+// 디버그 빌드에서 퀴즈/게시판 화면이 보이는 동안 메인 스레드의 디스크/네트워크 접근을 막는다.
+// 위반하면 앱이 죽으므로 계측 테스트나 수동 테스트가 바로 실패한다. (원인은 logcat 의 StrictMode 스택)
+// 화면이 겹쳐 있어도(액티비티 안의 프래그먼트) 마지막 화면이 멈출 때 원래 정책으로 돌린다.
+public final class StrictModeGate {
+
+    private static final String TAG = "StrictModeGate";
+
+    private static boolean enabled = false;
+    // 메인 스레드에서만 사용
+    private static int activeScreens = 0;
+    private static StrictMode.ThreadPolicy previousPolicy;
+
+    private StrictModeGate() {
+    }
+
+    // Application.onCreate 에서 디버그 빌드일 때만 켠다.
+    public static void setEnabled(boolean enable) {
+        enabled = enable;
+    }
+
+    // owner 가 시작된 동안 검사. onCreate(또는 onCreateView) 에서 한 번 호출한다.
+    public static void watch(LifecycleOwner owner) {
+        if (!enabled) {
+            return;
+        }
+        owner.getLifecycle().addObserver(new LifecycleEventObserver() {
+            @Override
+            public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+                if (event == Lifecycle.Event.ON_START) {
+                    enter();
+                } else if (event == Lifecycle.Event.ON_STOP) {
+                    exit();
+                } else if (event == Lifecycle.Event.ON_DESTROY) {
+                    source.getLifecycle().removeObserver(this);
+                }
+            }
+        });
+    }
+
+    private static void enter() {
+        if (activeScreens++ == 0) {
+            previousPolicy = StrictMode.getThreadPolicy();
+            StrictMode.setThreadPolicy(new StrictMode.ThreadPolicy.Builder()
+                    .detectDiskReads()
+                    .detectDiskWrites()
+                    .detectNetwork()
+                    .penaltyLog()
+                    .penaltyDeath()
+                    .build());
+            Log.d(TAG, "Main-thread disk/network checks on");
+        }
+    }
+
+    private static void exit() {
+        if (activeScreens > 0 && --activeScreens == 0) {
+            StrictMode.setThreadPolicy(previousPolicy);
+            previousPolicy = null;
+            Log.d(TAG, "Main-thread disk/network checks off");
+        }
+    }
+}
@@ -14,14 +14,13 @@ import android.widget.RadioGroup;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 
-import com.example.green_action.remote.FirebaseClient;
+import com.example.green_action.remote.FirebaseRepository;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.ValueEventListener;
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
 
@@ -35,7 +34,7 @@ public class UserJoinActivity extends AppCompatActivity {
     private static final String TAG = "UserJoin";
     private Uri profileImageUri;
     private StorageReference storageRef;
-    private FirebaseClient firebaseClient;
+    private FirebaseRepository repository;
     private boolean isUsernameAvailable = false;
 
     private EditText userId;
@@ -54,7 +53,7 @@ public class UserJoinActivity extends AppCompatActivity {
 
         mAuth = FirebaseAuth.getInstance();
         storageRef = FirebaseStorage.getInstance().getReference("profile_images");
-        firebaseClient = new FirebaseClient();
+        repository = FirebaseRepository.getInstance();
 
         // Initialize UI components
         userEmail = findViewById(R.id.join_email);
@@ -148,7 +147,7 @@ public class UserJoinActivity extends AppCompatActivity {
                 0
         );
 
-        firebaseClient.saveUserData(userId, newUser);
+        repository.saveUser(userId, newUser);
 
         Toast.makeText(UserJoinActivity.this, "회원가입 성공", Toast.LENGTH_SHORT).show();
         Intent intent = new Intent(UserJoinActivity.this, LoginActivity.class);
@@ -172,13 +171,23 @@ public class UserJoinActivity extends AppCompatActivity {
         }
 
         // 아이디 중복 확인
-        firebaseClient.isIDExists(id, isAvailable -> {
-            if (isAvailable) {
-                Toast.makeText(UserJoinActivity.this, "아이디가 이미 존재합니다.", Toast.LENGTH_SHORT).show();
-                isUsernameAvailable = false; // 중복된 경우 false로 설정
-            } else {
-                Toast.makeText(UserJoinActivity.this, "사용 가능한 아이디입니다.", Toast.LENGTH_SHORT).show();
-                isUsernameAvailable = true; // 사용 가능한 경우 true로 설정
+        repository.checkIdExists(id, new FirebaseRepository.Callback<Boolean>() {
+            @Override
+            public void onSuccess(@Nullable Boolean exists) {
+                if (Boolean.TRUE.equals(exists)) {
+                    Toast.makeText(UserJoinActivity.this, "아이디가 이미 존재합니다.", Toast.LENGTH_SHORT).show();
+                    isUsernameAvailable = false; // 중복된 경우 false로 설정
+                } else {
+                    Toast.makeText(UserJoinActivity.this, "사용 가능한 아이디입니다.", Toast.LENGTH_SHORT).show();
+                    isUsernameAvailable = true; // 사용 가능한 경우 true로 설정
+                }
+            }
+
+            @Override
+            public void onError(@NonNull DatabaseError error) {
+                // 확인하지 못한 아이디는 사용 가능으로 처리하지 않는다.
+                Toast.makeText(UserJoinActivity.this, "아이디 확인 실패: " + error.getMessage(), Toast.LENGTH_SHORT).show();
+                isUsernameAvailable = false;
             }
         });
     }
@@ -8,26 +8,26 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.bumptech.glide.Glide;
-import com.example.green_action.remote.FirebaseClient;
-import com.google.firebase.database.DataSnapshot;
+import com.example.green_action.remote.FirebaseRepository;
 import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.ValueEventListener;
 
 public class UserMainActivity extends AppCompatActivity {
 
     private static final String TAG = "UserMain";
-    private FirebaseClient firebaseClient;
+    private FirebaseRepository repository;
+    private FirebaseRepository.Cancellable userRequest;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_user_main);
 
-        // FirebaseClient 초기화
-        firebaseClient = new FirebaseClient();
+        // FirebaseRepository 초기화
+        repository = FirebaseRepository.getInstance();
 
         // UI 요소 참조
         ImageView userProfileImage = findViewById(R.id.user_profile_image);
@@ -48,10 +48,9 @@ public class UserMainActivity extends AppCompatActivity {
         }
 
         // 사용자 데이터 읽기
-        firebaseClient.loadUserData(userId, new ValueEventListener() {
+        userRequest = repository.loadUser(userId, new FirebaseRepository.Callback<User>() {
             @Override
-            public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
-                User user = dataSnapshot.getValue(User.class);
+            public void onSuccess(@Nullable User user) {
                 if (user != null) {
                     // 사용자 데이터 UI에 설정
                     userIdText.setText(user.id);
@@ -75,7 +74,7 @@ public class UserMainActivity extends AppCompatActivity {
             }
 
             @Override
-            public void onCancelled(@NonNull DatabaseError databaseError) {
+            public void onError(@NonNull DatabaseError databaseError) {
                 Log.e(TAG, "Database error: " + databaseError.getMessage());
                 Toast.makeText(UserMainActivity.this, "데이터베이스 오류: " + databaseError.getMessage(), Toast.LENGTH_SHORT).show();
             }
@@ -87,4 +86,13 @@ public class UserMainActivity extends AppCompatActivity {
             Log.d(TAG, "Update info button clicked");
         });
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        // 화면이 닫힌 뒤 도착한 응답은 무시
+        if (userRequest != null) {
+            userRequest.cancel();
+        }
+    }
 }
\ No newline at end of file
@@ -1,6 +1,5 @@
 package com.example.green_action.air_pollution;
 
-import android.os.AsyncTask;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -14,32 +13,32 @@ import androidx.activity.OnBackPressedCallback;
 import androidx.fragment.app.Fragment;
 import androidx.fragment.app.FragmentManager;
 import androidx.fragment.app.FragmentTransaction;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.green_action.R;
+import com.example.green_action.airquality.AirQualityPage;
+import com.example.green_action.airquality.AirQualityReading;
+import com.example.green_action.airquality.AirQualityRepository;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-
-import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-
-import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.Response;
-
+// 전국 대기질 대시보드. 17개 시도를 동시에(제한된 수만큼) 받아 도착하는 대로 측정소 카드로 보여 준다.
 public class AirPollutionFragment extends Fragment {
 
-    private static final String API_KEY = "zgDi2jCAAHkGbiYY9vTynvRLYSU3sGls9eAJM4HnHCgjj5AQM05gxkuESMijNOcgGJS+FBii9jYfBtH+Zs4ESQ==";
-    private static final String BASE_URL = "https://apis.data.go.kr/B552584/ArpltnInforInqireSvc/getCtprvnRltmMesureDnsty";
     private TextView textView;
     private Button buttonQuizAndLearn;
+    private StationCardAdapter adapter;
+
+    // 시도 -> 측정소 (메인 스레드에서만 사용)
+    private final Map<String, List<AirQualityReading>> regions = new HashMap<>();
+    private final Set<String> staleRegions = new HashSet<>();
+    private final Set<String> failedRegions = new HashSet<>();
 
     @Nullable
     @Override
@@ -48,6 +47,11 @@ public class AirPollutionFragment extends Fragment {
         textView = view.findViewById(R.id.textViewAirPollution);
         buttonQuizAndLearn = view.findViewById(R.id.buttonQuizAndLearn);
 
+        RecyclerView stationList = view.findViewById(R.id.stationList);
+        stationList.setLayoutManager(new LinearLayoutManager(requireContext()));
+        adapter = new StationCardAdapter();
+        stationList.setAdapter(adapter);
+
         // 퀴즈 버튼에 클릭 리스너 추가
         buttonQuizAndLearn.setOnClickListener(v -> loadQuizFragment());
 
@@ -81,78 +85,68 @@ public class AirPollutionFragment extends Fragment {
     }
 
     private void fetchAirPollutionData() {
-        new FetchAirPollutionTask().execute("경기"); // 예시로 '경기' 데이터를 가져옵니다.
-    }
-
-    private class FetchAirPollutionTask extends AsyncTask<String, Void, List<Map<String, String>>> {
-
-        @Override
-        protected List<Map<String, String>> doInBackground(String... params) {
-            String sidoName = params[0];
-            OkHttpClient client = new OkHttpClient();
-
-            try {
-                String url = BASE_URL + "?serviceKey=" + URLEncoder.encode(API_KEY, "UTF-8")
-                        + "&returnType=xml&numOfRows=10&pageNo=1&sidoName=" + URLEncoder.encode(sidoName, "UTF-8") + "&ver=1.3";
-                Request request = new Request.Builder().url(url).build();
-                Response response = client.newCall(request).execute();
-
-                if (response.isSuccessful() && response.body() != null) {
-                    String xmlData = response.body().string();
-                    return parseXml(xmlData);
+        regions.clear();
+        staleRegions.clear();
+        failedRegions.clear();
+        textView.setText("대기질 정보를 불러오는 중입니다.");
+
+        // 요청은 모두 한 번에 넘기고, 동시에 나가는 수는 저장소의 I/O 스레드 수로 제한된다.
+        // 이번 시간에 이미 받은 시도는 저장된 것을 바로 보여 준다.
+        AirQualityRepository repository = AirQualityRepository.getInstance(requireContext());
+        for (String sido : AirQualityRepository.SIDO_NAMES) {
+            repository.getRealtime(sido, new AirQualityRepository.Callback() {
+                @Override
+                public void onResult(AirQualityPage page, boolean stale) {
+                    if (getView() == null) {
+                        return; // 뷰가 사라진 뒤 도착한 결과
+                    }
+                    regions.put(sido, page.readings);
+                    if (stale) {
+                        staleRegions.add(sido);
+                    } else {
+                        staleRegions.remove(sido);
+                    }
+                    failedRegions.remove(sido);
+                    render();
                 }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-            return null;
-        }
 
-        @Override
-        protected void onPostExecute(List<Map<String, String>> result) {
-            if (result != null && !result.isEmpty()) {
-                StringBuilder stringBuilder = new StringBuilder();
-                for (Map<String, String> item : result) {
-                    for (Map.Entry<String, String> entry : item.entrySet()) {
-                        stringBuilder.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+                @Override
+                public void onError(Exception error) {
+                    if (getView() == null) {
+                        return;
                     }
-                    stringBuilder.append("\n");
+                    failedRegions.add(sido);
+                    render();
                 }
-                textView.setText(stringBuilder.toString());
-            } else {
-                textView.setText("데이터를 가져오는 데 실패했습니다.");
-            }
+            });
         }
+    }
 
-        private List<Map<String, String>> parseXml(String xmlData) throws Exception {
-            List<Map<String, String>> dataList = new ArrayList<>();
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(new java.io.ByteArrayInputStream(xmlData.getBytes("UTF-8")));
-            document.getDocumentElement().normalize();
-
-            NodeList nodeList = document.getElementsByTagName("item");
-            for (int i = 0; i < nodeList.getLength(); i++) {
-                Element element = (Element) nodeList.item(i);
-                Map<String, String> dataMap = new HashMap<>();
-                String[] tags = {"stationName", "mangName", "sidoName", "dataTime", "so2Value", "coValue", "o3Value", "no2Value",
-                        "pm10Value", "pm10Value24", "pm25Value", "pm25Value24", "khaiValue", "khaiGrade", "so2Grade",
-                        "coGrade", "o3Grade", "no2Grade", "pm10Grade", "pm25Grade", "pm10Grade1h", "pm25Grade1h",
-                        "so2Flag", "coFlag", "o3Flag", "no2Flag", "pm10Flag", "pm25Flag"};
-
-                for (String tag : tags) {
-                    dataMap.put(tag, getTagValue(tag, element));
-                }
-                dataList.add(dataMap);
+    // 시도 순서대로 이어 붙여 넘긴다. 바뀐 카드만 다시 그려진다.
+    private void render() {
+        List<AirQualityReading> stations = new ArrayList<>();
+        for (String sido : AirQualityRepository.SIDO_NAMES) {
+            List<AirQualityReading> readings = regions.get(sido);
+            if (readings != null) {
+                stations.addAll(readings);
             }
-            return dataList;
         }
-
-        private String getTagValue(String tag, Element element) {
-            NodeList nodeList = element.getElementsByTagName(tag);
-            if (nodeList.getLength() > 0) {
-                return nodeList.item(0).getTextContent();
+        adapter.submitList(stations);
+
+        int total = AirQualityRepository.SIDO_NAMES.size();
+        StringBuilder status = new StringBuilder();
+        if (regions.isEmpty() && failedRegions.size() == total) {
+            status.append("데이터를 가져오는 데 실패했습니다.");
+        } else {
+            status.append("전국 ").append(total).append("개 시도 중 ").append(regions.size()).append("곳, 측정소 ")
+                    .append(stations.size()).append("곳");
+            if (!staleRegions.isEmpty()) {
+                status.append(" (").append(staleRegions.size()).append("곳은 이전 시간 자료)");
+            }
+            if (!failedRegions.isEmpty()) {
+                status.append("\n").append(String.join(", ", failedRegions)).append(" 자료를 가져오지 못했습니다.");
             }
-            return "N/A"; // 데이터가 없을 경우 기본값
         }
+        textView.setText(status.toString());
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package com.example.green_action.air_pollution;
 
+import android.content.Context;
+import android.content.res.ColorStateList;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -7,27 +9,34 @@ import android.view.ViewGroup;
 import android.widget.Button;
 import android.widget.EditText;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.activity.OnBackPressedCallback;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 import androidx.fragment.app.FragmentManager;
 
-import com.example.green_action.DataBaseHandler;
 import com.example.green_action.R;
-import com.example.green_action.remote.FirebaseClient;
+import com.example.green_action.StrictModeGate;
+import com.example.green_action.quiz.AnswerEngine;
+import com.example.green_action.quiz.Quiz;
+import com.example.green_action.quiz.QuizCategory;
+import com.example.green_action.quiz.QuizRepository;
+import com.example.green_action.quiz.QuizStateStore;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 
+// 퀴즈 풀이 화면. 문항과 정답은 QuizRepository(quiz_database) 에서 읽고, 채점/시도 횟수/점수는 AnswerEngine 이 정한다.
 public class AirQuizSectionFragment extends Fragment {
 
     private int quizNumber;
+    private QuizCategory category;
+    private Quiz quiz; // 불러오기 전에는 null
     private TextView textView;
     private EditText editTextAnswer;
     private Button buttonSubmitQuiz;
-    private DataBaseHandler dbHandler;
-    private FirebaseClient firebaseClient;
     private String userId;
 
     @Nullable
@@ -38,67 +47,69 @@ public class AirQuizSectionFragment extends Fragment {
         editTextAnswer = view.findViewById(R.id.answerEditText);
         buttonSubmitQuiz = view.findViewById(R.id.submitButton);
 
-        dbHandler = new DataBaseHandler(getContext());
-        firebaseClient = new FirebaseClient();
 
         FirebaseUser currentUser = FirebaseAuth.getInstance().getCurrentUser();
         if (currentUser != null) {
             userId = currentUser.getUid();
         }
 
+        category = QuizCategory.from(getArguments());
         if (getArguments() != null) {
             quizNumber = getArguments().getInt("QUIZ_NUMBER");
-            textView.setText("퀴즈 " + quizNumber + " 문제입니다.");
         }
+        TextView scoreTextView = view.findViewById(R.id.scoreTextView);
+        buttonSubmitQuiz.setBackgroundTintList(ColorStateList.valueOf(ContextCompat.getColor(requireContext(), category.colorRes)));
+        buttonSubmitQuiz.setEnabled(false);
+
+        // 학습 화면에서 미리 읽어 두었으면 캐시에서 바로 나온다.
+        QuizRepository.getInstance(requireContext()).getQuiz(category, quizNumber, loaded -> {
+            if (getView() == null) {
+                return;
+            }
+            if (loaded == null) {
+                textView.setText("준비 중인 퀴즈입니다.");
+                return;
+            }
+            quiz = loaded;
+            textView.setText(loaded.question);
+            scoreTextView.setText("(" + loaded.maxScore + "점)");
+            buttonSubmitQuiz.setEnabled(true);
+        });
 
         buttonSubmitQuiz.setOnClickListener(v -> submitQuiz());
+        StrictModeGate.watch(getViewLifecycleOwner());
 
         return view;
     }
 
     private void submitQuiz() {
-        String userAnswer = editTextAnswer.getText().toString().trim();
-        String correctAnswer = getCorrectAnswerForQuiz(quizNumber);
-
-        boolean isCorrectAnswer = userAnswer.equalsIgnoreCase(correctAnswer);
-
-        if (isCorrectAnswer) {
-            // Update quiz progress
-            if (userId != null) {
-                // Update progress in Firebase
-                firebaseClient.saveQuizProgress(userId, quizNumber, true);
-            }
-            dbHandler.updateQuizStatus(quizNumber, true);
+        if (quiz == null) {
+            return;
+        }
+        AnswerEngine.Result result = AnswerEngine.getInstance().submit(quiz, editTextAnswer.getText().toString());
 
-            // Notify AirQuizListFragment that the quiz is correct
-            Bundle result = new Bundle();
-            result.putInt("UNLOCK_QUIZ_NUMBER", quizNumber + 1);
-            getParentFragmentManager().setFragmentResult("quiz_result", result);
+        if (result.outcome == AnswerEngine.Outcome.CORRECT) {
+            // 로컬 DB, Firebase 대기열, 목록 화면 상태는 QuizStateStore 가 백그라운드에서 한 번에 갱신한다.
+            // 이미 푼 퀴즈를 다시 풀면 점수는 주지 않는다.
+            Context appContext = requireContext().getApplicationContext();
+            int score = result.score;
+            QuizStateStore.getInstance(appContext).markSolved(userId, category, quizNumber, score, firstSolve ->
+                    Toast.makeText(appContext, firstSolve ? "정답입니다! +" + score + "점" : "정답입니다!", Toast.LENGTH_SHORT).show());
 
             // Go back to AirQuizListFragment
             FragmentManager fragmentManager = getParentFragmentManager();
             fragmentManager.popBackStack(); // Go back to AirQuizStudyFragment
             fragmentManager.popBackStack(); // Now go back to AirQuizListFragment
+        } else if (result.outcome == AnswerEngine.Outcome.OUT_OF_ATTEMPTS) {
+            // 기회를 다 쓰면 해설을 보여 주고 학습 화면으로 돌아간다.
+            String explanation = quiz.explanation != null ? quiz.explanation : "학습 내용을 다시 확인해 보세요.";
+            Toast.makeText(requireContext(), "기회를 모두 사용했습니다. " + explanation, Toast.LENGTH_LONG).show();
+            getParentFragmentManager().popBackStack();
         } else {
             // Show feedback to the user
-            editTextAnswer.setError("정답이 아닙니다. 다시 시도하세요.");
-        }
-    }
-
-    private String getCorrectAnswerForQuiz(int quizNumber) {
-        switch (quizNumber) {
-            case 1: return "정답1";
-            case 2: return "정답2";
-            case 3: return "정답3";
-            case 4: return "정답4";
-            case 5: return "정답5";
-            case 6: return "정답6";
-            case 7: return "정답7";
-            case 8: return "정답8";
-            case 9: return "정답9";
-            case 10: return "정답10";
-            case 30: return "정답30";
-            default: return "";
+            editTextAnswer.setError(result.attemptsLeft > 0
+                    ? "정답이 아닙니다. 남은 기회 " + result.attemptsLeft + "번"
+                    : "정답이 아닙니다. 다시 시도하세요.");
         }
     }
 
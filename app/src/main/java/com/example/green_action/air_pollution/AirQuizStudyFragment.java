@@ -1,5 +1,6 @@
 package com.example.green_action.air_pollution;
 
+import android.content.res.ColorStateList;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -10,15 +11,21 @@ import android.widget.TextView;
 import androidx.activity.OnBackPressedCallback;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 import androidx.fragment.app.FragmentManager;
 import androidx.fragment.app.FragmentTransaction;
 
 import com.example.green_action.R;
+import com.example.green_action.StrictModeGate;
+import com.example.green_action.quiz.QuizCategory;
+import com.example.green_action.quiz.QuizRepository;
 
+// 퀴즈 전 학습 화면. 네 분야 모두 이 화면을 쓰며 분야는 QuizCategory 인자로 받는다.
 public class AirQuizStudyFragment extends Fragment {
 
     private int quizNumber;
+    private QuizCategory category;
     private TextView textView;
     private Button buttonStartQuiz;
 
@@ -29,10 +36,28 @@ public class AirQuizStudyFragment extends Fragment {
         textView = view.findViewById(R.id.textViewAirPollution);
         buttonStartQuiz = view.findViewById(R.id.buttonQuizAndLearn);
 
+        category = QuizCategory.from(getArguments());
         if (getArguments() != null) {
             quizNumber = getArguments().getInt("QUIZ_NUMBER");
-            textView.setText("퀴즈 " + quizNumber + "에 대한 학습 내용입니다.");
         }
+        buttonStartQuiz.setBackgroundTintList(ColorStateList.valueOf(ContextCompat.getColor(requireContext(), category.colorRes)));
+        buttonStartQuiz.setEnabled(false);
+
+        QuizRepository quizRepository = QuizRepository.getInstance(requireContext());
+        quizRepository.getQuiz(category, quizNumber, quiz -> {
+            if (getView() == null) {
+                return;
+            }
+            if (quiz == null) {
+                textView.setText("준비 중인 퀴즈입니다.");
+                return;
+            }
+            textView.setText(quiz.study != null ? quiz.study : quiz.question);
+            buttonStartQuiz.setEnabled(true);
+        });
+        // 학습하는 동안 다음 퀴즈를 미리 읽어 둔다.
+        quizRepository.prefetch(category, quizNumber + 1);
+        StrictModeGate.watch(getViewLifecycleOwner());
 
         buttonStartQuiz.setOnClickListener(v -> startQuiz());
 
@@ -43,6 +68,7 @@ public class AirQuizStudyFragment extends Fragment {
         AirQuizSectionFragment sectionFragment = new AirQuizSectionFragment();
         Bundle bundle = new Bundle();
         bundle.putInt("QUIZ_NUMBER", quizNumber);
+        category.putInto(bundle);
         sectionFragment.setArguments(bundle);
 
         FragmentTransaction transaction = getParentFragmentManager().beginTransaction();
@@ -0,0 +1,126 @@
+package com.example.green_action.air_pollution;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.green_action.R;
+import com.example.green_action.quiz.QuizProgress;
+
+import java.util.BitSet;
+import java.util.List;
+
+// 퀴즈 목록 격자. 칸 하나 = 퀴즈 하나 (id = 퀴즈 번호)
+// 보이는 칸만 만들고, 진행 상태가 바뀌면 모양이 달라지는 칸만 PAYLOAD_STATE 로 다시 그린다.
+// (한 문제를 풀면 그 칸과 다음 칸 두 개)
+public class QuizGridAdapter extends RecyclerView.Adapter<QuizGridAdapter.ViewHolder> {
+
+    private static final Object PAYLOAD_STATE = new Object();
+
+    public interface OnQuizClickListener {
+        void onQuizClick(int quizNumber);
+    }
+
+    @ColorInt
+    private final int cellColor;
+    private final OnQuizClickListener listener;
+    private int quizCount = 0;
+    private QuizProgress progress = QuizProgress.empty();
+
+    public QuizGridAdapter(@ColorInt int cellColor, OnQuizClickListener listener) {
+        this.cellColor = cellColor;
+        this.listener = listener;
+        setHasStableIds(true);
+    }
+
+    public void setQuizCount(int count) {
+        if (count != quizCount) {
+            quizCount = count;
+            notifyDataSetChanged();
+        }
+    }
+
+    public QuizProgress getProgress() {
+        return progress;
+    }
+
+    public void setProgress(QuizProgress newProgress) {
+        QuizProgress previous = progress;
+        progress = newProgress;
+        BitSet changed = newProgress.changedOrders(previous);
+        for (int order = changed.nextSetBit(1); order >= 1 && order <= quizCount; order = changed.nextSetBit(order + 1)) {
+            notifyItemChanged(order - 1, PAYLOAD_STATE);
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return quizCount;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return position + 1;
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_quiz_cell, parent, false);
+        ViewHolder holder = new ViewHolder(view);
+        holder.button.setBackgroundColor(cellColor);
+        holder.button.setOnClickListener(v -> {
+            int position = holder.getAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                listener.onQuizClick(position + 1);
+            }
+        });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        holder.button.setText(String.valueOf(position + 1));
+        bindState(holder, position + 1);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+        } else {
+            bindState(holder, position + 1); // 번호는 그대로, 아이콘/활성 상태만
+        }
+    }
+
+    private void bindState(ViewHolder holder, int quizNumber) {
+        int icon;
+        boolean enabled;
+        if (progress.isSolved(quizNumber)) {
+            icon = R.drawable.ic_check; // 체크 아이콘
+            enabled = true;
+        } else if (quizNumber <= progress.nextUnlocked()) {
+            icon = R.drawable.ic_unlock; // 잠금 해제 아이콘
+            enabled = true;
+        } else {
+            icon = R.drawable.ic_lock; // 잠금 아이콘
+            enabled = false;
+        }
+        holder.button.setCompoundDrawablesRelativeWithIntrinsicBounds(0, icon, 0, 0);
+        holder.button.setEnabled(enabled);
+    }
+
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        final Button button;
+
+        ViewHolder(View itemView) {
+            super(itemView);
+            button = itemView.findViewById(R.id.quizCellButton);
+        }
+    }
+}
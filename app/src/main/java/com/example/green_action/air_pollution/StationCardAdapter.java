@@ -0,0 +1,114 @@
+package com.example.green_action.air_pollution;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.green_action.R;
+import com.example.green_action.airquality.AirQualityReading;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+// 대기질 대시보드의 측정소 카드. 시도가 하나씩 도착할 때마다 전체 목록을 submitList 로 넘기면
+// DiffUtil 이 새로 생긴 카드와 값이 바뀐 카드만 그린다.
+public class StationCardAdapter extends ListAdapter<AirQualityReading, StationCardAdapter.ViewHolder> {
+
+    // 측정소 이름은 시도가 다르면 겹칠 수 있다. (예: 서울 중구, 부산 중구)
+    private static final DiffUtil.ItemCallback<AirQualityReading> DIFF_CALLBACK = new DiffUtil.ItemCallback<AirQualityReading>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull AirQualityReading oldItem, @NonNull AirQualityReading newItem) {
+            return oldItem.sidoName.equals(newItem.sidoName) && oldItem.stationName.equals(newItem.stationName);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull AirQualityReading oldItem, @NonNull AirQualityReading newItem) {
+            return oldItem.dataTime == newItem.dataTime
+                    && oldItem.pm10 == newItem.pm10
+                    && oldItem.pm25 == newItem.pm25
+                    && oldItem.khaiGrade == newItem.khaiGrade
+                    && oldItem.flags == newItem.flags;
+        }
+    };
+
+    private static final String[] GRADE_LABELS = {"좋음", "보통", "나쁨", "매우나쁨"};
+    private static final int[] GRADE_COLORS = {R.color.airGradeGood, R.color.airGradeModerate, R.color.airGradeBad, R.color.airGradeVeryBad};
+
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("M/d HH:mm", Locale.KOREA);
+
+    public StationCardAdapter() {
+        super(DIFF_CALLBACK);
+        timeFormat.setTimeZone(TimeZone.getTimeZone("Asia/Seoul"));
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_station_card, parent, false);
+        return new ViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        AirQualityReading reading = getItem(position);
+
+        holder.name.setText(reading.stationName);
+        StringBuilder info = new StringBuilder(reading.sidoName);
+        if (reading.mangName != null && !reading.mangName.isEmpty()) {
+            info.append(" · ").append(reading.mangName);
+        }
+        if (reading.dataTime != 0) {
+            info.append(" · ").append(timeFormat.format(new Date(reading.dataTime)));
+        }
+        holder.info.setText(info);
+
+        holder.dust.setText("미세먼지 " + value(reading.pm10, reading.isFlagged(AirQualityReading.FLAG_PM10)) + " ㎍/㎥   "
+                + "초미세먼지 " + value(reading.pm25, reading.isFlagged(AirQualityReading.FLAG_PM25)) + " ㎍/㎥");
+        holder.gases.setText("O₃ " + value(reading.o3) + "  NO₂ " + value(reading.no2)
+                + "  CO " + value(reading.co) + "  SO₂ " + value(reading.so2) + " ppm");
+
+        int grade = reading.khaiGrade;
+        if (grade >= 1 && grade <= GRADE_LABELS.length) {
+            holder.grade.setText(GRADE_LABELS[grade - 1]);
+            holder.grade.setTextColor(ContextCompat.getColor(holder.itemView.getContext(), GRADE_COLORS[grade - 1]));
+        } else {
+            holder.grade.setText("-");
+            holder.grade.setTextColor(ContextCompat.getColor(holder.itemView.getContext(), R.color.black));
+        }
+    }
+
+    // 빠진 값이나 상태 정보(통신장애 등)가 있는 값은 "-"
+    private static String value(int value, boolean flagged) {
+        return value == AirQualityReading.MISSING || flagged ? "-" : String.valueOf(value);
+    }
+
+    private static String value(double value) {
+        return Double.isNaN(value) ? "-" : String.valueOf(value);
+    }
+
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        final TextView name;
+        final TextView grade;
+        final TextView info;
+        final TextView dust;
+        final TextView gases;
+
+        ViewHolder(View itemView) {
+            super(itemView);
+            name = itemView.findViewById(R.id.stationName);
+            grade = itemView.findViewById(R.id.stationGrade);
+            info = itemView.findViewById(R.id.stationInfo);
+            dust = itemView.findViewById(R.id.stationDust);
+            gases = itemView.findViewById(R.id.stationGases);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.green_action.airquality;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.example.green_action.SchemaSql;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 측정소별 대기질 시계열 (air_quality_history 파일의 유일한 소유자, 스키마는 AirQualityHistorySchema)
+// AirQualityRepository 가 새로 받은 시도 자료를 record 로 넣고, 추이 그래프와 홈 화면 노출 점수가 읽는다.
+// 넣을 때마다 그 날/그 주의 집계를 다시 계산하고, 하루에 한 번 보관 기간이 지난 행을 지운다.
+// 프로세스 전체에서 하나의 연결을 열어 두고 닫지 않는다. (WAL)
+public class AirQualityHistory extends SQLiteOpenHelper {
+
+    private static final String TAG = "AirQualityHistory";
+    private static final String DATABASE_NAME = "air_quality_history";
+
+    // 노출 점수 기준: WHO 초미세먼지 24시간 권고 기준 (㎍/㎥)
+    static final double WHO_PM25_24H = 15;
+    static final int EXPOSURE_DAYS = 7;
+
+    // 기간 길이에 따라 고르는 해상도. 그래프 한 개에 수백 점을 넘지 않는다.
+    public enum Resolution {
+        HOURLY, DAILY, WEEKLY;
+
+        public static Resolution forSpan(long spanMillis) {
+            long days = spanMillis / (24 * 60 * 60 * 1000L);
+            if (days <= 3) {
+                return HOURLY;
+            }
+            return days <= 90 ? DAILY : WEEKLY;
+        }
+    }
+
+    // 추이 그래프의 점 하나. 구간 평균이며 자료가 없으면 NaN
+    public static final class TrendPoint {
+        public final long time;   // 구간 시작 (epoch ms)
+        public final double pm10;
+        public final double pm25;
+        public final double o3;   // ppm
+        public final double no2;  // ppm
+        public final double khai;
+
+        TrendPoint(long time, double pm10, double pm25, double o3, double no2, double khai) {
+            this.time = time;
+            this.pm10 = pm10;
+            this.pm25 = pm25;
+            this.o3 = o3;
+            this.no2 = no2;
+            this.khai = khai;
+        }
+    }
+
+    // 최근 EXPOSURE_DAYS 일 동안 시도 평균 초미세먼지와 그 점수
+    public static final class Exposure {
+        public final double pm25Average;
+        public final int days;     // 자료가 있는 날 수
+        public final int score;    // WHO 24시간 기준 대비 % (100 이하 = 기준 이내)
+
+        Exposure(double pm25Average, int days) {
+            this.pm25Average = pm25Average;
+            this.days = days;
+            this.score = (int) Math.round(pm25Average / WHO_PM25_24H * 100);
+        }
+    }
+
+    public interface ExposureCallback {
+        // 자료가 없으면 exposure 는 null
+        void onExposure(@Nullable Exposure exposure);
+    }
+
+    private static AirQualityHistory instance;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // (시도, 측정소 이름) -> station_id (this 로 동기화)
+    private final Map<String, Long> stationIds = new HashMap<>();
+    private long lastPrunedDay = Long.MIN_VALUE;
+
+    private AirQualityHistory(Context context) {
+        super(context, DATABASE_NAME, null, AirQualityHistorySchema.VERSION);
+    }
+
+    public static synchronized AirQualityHistory getInstance(Context context) {
+        if (instance == null) {
+            instance = new AirQualityHistory(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        db.enableWriteAheadLogging();
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        AirQualityHistorySchema.create(SchemaSql.of(db));
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        AirQualityHistorySchema.migrate(SchemaSql.of(db), oldVersion, newVersion);
+    }
+
+    // 새로 받은 측정값을 넣고 그 날/그 주 집계를 갱신한다. (같은 측정소/시각은 덮어쓴다)
+    @WorkerThread
+    public synchronized void record(List<AirQualityReading> readings) {
+        long start = SystemClock.elapsedRealtime();
+        SQLiteDatabase db = getWritableDatabase();
+        // 시도 -> 들어온 날짜들
+        Map<String, TreeSet<Long>> touchedDays = new HashMap<>();
+        int rows = 0;
+        db.beginTransaction();
+        try (SQLiteStatement upsert = db.compileStatement(AirQualityHistorySchema.UPSERT_HOURLY)) {
+            for (AirQualityReading reading : readings) {
+                if (reading.dataTime == 0 || reading.stationName.isEmpty()) {
+                    continue;
+                }
+                long hour = AirQualityHistorySchema.hourOf(reading.dataTime);
+                upsert.bindLong(1, stationId(db, reading.sidoName, reading.stationName));
+                upsert.bindLong(2, hour);
+                bindInt(upsert, 3, reading.pm10, reading.isFlagged(AirQualityReading.FLAG_PM10));
+                bindInt(upsert, 4, reading.pm25, reading.isFlagged(AirQualityReading.FLAG_PM25));
+                bindPpm(upsert, 5, reading.o3, reading.isFlagged(AirQualityReading.FLAG_O3));
+                bindPpm(upsert, 6, reading.no2, reading.isFlagged(AirQualityReading.FLAG_NO2));
+                bindInt(upsert, 7, reading.khai, false);
+                upsert.executeInsert();
+                rows++;
+                TreeSet<Long> days = touchedDays.get(reading.sidoName);
+                if (days == null) {
+                    days = new TreeSet<>();
+                    touchedDays.put(reading.sidoName, days);
+                }
+                days.add(AirQualityHistorySchema.dayOfHour(hour));
+            }
+            rollUp(db, touchedDays);
+            db.setTransactionSuccessful();
+        } catch (Exception e) {
+            Log.e(TAG, "Error recording air quality readings", e);
+            stationIds.clear(); // 되돌린 트랜잭션에서 만든 측정소가 있을 수 있다.
+        } finally {
+            db.endTransaction();
+        }
+        pruneOncePerDay(db);
+        Log.d(TAG, "Recorded " + rows + " readings in " + (SystemClock.elapsedRealtime() - start) + " ms");
+    }
+
+    // 측정소 하나의 추이. 기간 길이에 맞는 해상도로 읽는다.
+    @WorkerThread
+    public List<TrendPoint> range(String sidoName, String stationName, long fromMillis, long toMillis) {
+        return range(sidoName, stationName, fromMillis, toMillis, Resolution.forSpan(toMillis - fromMillis));
+    }
+
+    @WorkerThread
+    public synchronized List<TrendPoint> range(String sidoName, String stationName, long fromMillis, long toMillis,
+                                               Resolution resolution) {
+        List<TrendPoint> points = new ArrayList<>();
+        SQLiteDatabase db = getReadableDatabase();
+        Long stationId = findStationId(db, sidoName, stationName);
+        if (stationId == null) {
+            return points;
+        }
+        // toMillis 가 든 시간/날/주까지 포함한다.
+        long fromHour = AirQualityHistorySchema.hourOf(fromMillis);
+        long toHour = AirQualityHistorySchema.hourOf(toMillis - 1) + 1;
+        if (resolution == Resolution.HOURLY) {
+            String[] args = {String.valueOf(stationId), String.valueOf(fromHour), String.valueOf(toHour)};
+            try (Cursor cursor = db.rawQuery(AirQualityHistorySchema.RANGE_HOURLY, args)) {
+                while (cursor.moveToNext()) {
+                    points.add(new TrendPoint(AirQualityHistorySchema.millisOfHour(cursor.getLong(0)),
+                            value(cursor, 1), value(cursor, 2), ppm(cursor, 3), ppm(cursor, 4), value(cursor, 5)));
+                }
+            }
+            return points;
+        }
+
+        long fromDay = AirQualityHistorySchema.dayOfHour(fromHour);
+        long lastDay = AirQualityHistorySchema.dayOfHour(toHour - 1);
+        boolean daily = resolution == Resolution.DAILY;
+        long from = daily ? fromDay : AirQualityHistorySchema.weekOfDay(fromDay);
+        long to = (daily ? lastDay : AirQualityHistorySchema.weekOfDay(lastDay)) + 1;
+        String[] args = {String.valueOf(stationId), String.valueOf(from), String.valueOf(to)};
+        try (Cursor cursor = db.rawQuery(daily ? AirQualityHistorySchema.RANGE_DAILY : AirQualityHistorySchema.RANGE_WEEKLY, args)) {
+            while (cursor.moveToNext()) {
+                long bucket = cursor.getLong(0);
+                long day = daily ? bucket : AirQualityHistorySchema.firstDayOfWeek(bucket);
+                points.add(new TrendPoint(AirQualityHistorySchema.millisOfHour(AirQualityHistorySchema.firstHourOfDay(day)),
+                        average(cursor, 1), average(cursor, 3), average(cursor, 5) / 1000, average(cursor, 7) / 1000,
+                        average(cursor, 9)));
+            }
+        }
+        return points;
+    }
+
+    // 최근 EXPOSURE_DAYS 일(오늘 포함) 시도 평균 초미세먼지
+    @WorkerThread
+    @Nullable
+    public synchronized Exposure exposure(String sidoName, long nowMillis) {
+        long today = AirQualityHistorySchema.dayOfHour(AirQualityHistorySchema.hourOf(nowMillis));
+        String[] args = {sidoName, String.valueOf(today - EXPOSURE_DAYS + 1), String.valueOf(today + 1)};
+        try (Cursor cursor = getReadableDatabase().rawQuery(AirQualityHistorySchema.SIDO_PM25, args)) {
+            if (!cursor.moveToFirst() || cursor.isNull(1) || cursor.getLong(1) == 0) {
+                return null;
+            }
+            return new Exposure((double) cursor.getLong(0) / cursor.getLong(1), cursor.getInt(2));
+        }
+    }
+
+    // 화면용: 백그라운드에서 계산해 메인 스레드로 준다.
+    @MainThread
+    public void loadExposure(String sidoName, ExposureCallback callback) {
+        long now = System.currentTimeMillis();
+        executor.execute(() -> {
+            Exposure exposure = null;
+            try {
+                exposure = exposure(sidoName, now);
+            } catch (Exception e) {
+                Log.e(TAG, "Error computing exposure", e);
+            }
+            Exposure result = exposure;
+            mainHandler.post(() -> callback.onExposure(result));
+        });
+    }
+
+    private void rollUp(SQLiteDatabase db, Map<String, TreeSet<Long>> touchedDays) {
+        try (SQLiteStatement daily = db.compileStatement(AirQualityHistorySchema.ROLLUP_DAILY);
+             SQLiteStatement weekly = db.compileStatement(AirQualityHistorySchema.ROLLUP_WEEKLY)) {
+            for (Map.Entry<String, TreeSet<Long>> entry : touchedDays.entrySet()) {
+                TreeSet<Long> weeks = new TreeSet<>();
+                for (long day : entry.getValue()) {
+                    daily.bindLong(1, day);
+                    daily.bindString(2, entry.getKey());
+                    daily.bindLong(3, AirQualityHistorySchema.firstHourOfDay(day));
+                    daily.bindLong(4, AirQualityHistorySchema.firstHourOfDay(day + 1));
+                    daily.executeUpdateDelete();
+                    weeks.add(AirQualityHistorySchema.weekOfDay(day));
+                }
+                for (long week : weeks) {
+                    weekly.bindLong(1, week);
+                    weekly.bindString(2, entry.getKey());
+                    weekly.bindLong(3, AirQualityHistorySchema.firstDayOfWeek(week));
+                    weekly.bindLong(4, AirQualityHistorySchema.firstDayOfWeek(week + 1));
+                    weekly.executeUpdateDelete();
+                }
+            }
+        }
+    }
+
+    // 보관 기간이 지난 행 삭제 (하루에 한 번)
+    private void pruneOncePerDay(SQLiteDatabase db) {
+        long today = AirQualityHistorySchema.dayOfHour(AirQualityHistorySchema.hourOf(System.currentTimeMillis()));
+        if (today == lastPrunedDay) {
+            return;
+        }
+        lastPrunedDay = today;
+        long keepHour = AirQualityHistorySchema.firstHourOfDay(today - AirQualityHistorySchema.HOURLY_RETENTION_DAYS);
+        long keepDay = today - AirQualityHistorySchema.DAILY_RETENTION_DAYS;
+        long keepWeek = AirQualityHistorySchema.weekOfDay(today) - AirQualityHistorySchema.WEEKLY_RETENTION_WEEKS;
+        db.execSQL(AirQualityHistorySchema.PRUNE_HOURLY, new Object[]{keepHour});
+        db.execSQL(AirQualityHistorySchema.PRUNE_DAILY, new Object[]{keepDay});
+        db.execSQL(AirQualityHistorySchema.PRUNE_WEEKLY, new Object[]{keepWeek});
+    }
+
+    private long stationId(SQLiteDatabase db, String sidoName, String stationName) {
+        Long id = findStationId(db, sidoName, stationName);
+        if (id != null) {
+            return id;
+        }
+        db.execSQL(AirQualityHistorySchema.INSERT_STATION, new Object[]{sidoName, stationName});
+        id = findStationId(db, sidoName, stationName);
+        if (id == null) {
+            throw new IllegalStateException("Station not inserted: " + sidoName + " " + stationName);
+        }
+        return id;
+    }
+
+    @Nullable
+    private Long findStationId(SQLiteDatabase db, String sidoName, String stationName) {
+        String key = sidoName + '\u0000' + stationName;
+        Long id = stationIds.get(key);
+        if (id == null) {
+            try (Cursor cursor = db.rawQuery(AirQualityHistorySchema.SELECT_STATION, new String[]{sidoName, stationName})) {
+                if (cursor.moveToFirst()) {
+                    id = cursor.getLong(0);
+                    stationIds.put(key, id);
+                }
+            }
+        }
+        return id;
+    }
+
+    private static void bindInt(SQLiteStatement statement, int index, int value, boolean flagged) {
+        if (value == AirQualityReading.MISSING || flagged) {
+            statement.bindNull(index);
+        } else {
+            statement.bindLong(index, value);
+        }
+    }
+
+    // ppm -> ppb 정수
+    private static void bindPpm(SQLiteStatement statement, int index, double value, boolean flagged) {
+        if (Double.isNaN(value) || flagged) {
+            statement.bindNull(index);
+        } else {
+            statement.bindLong(index, Math.round(value * 1000));
+        }
+    }
+
+    private static double value(Cursor cursor, int index) {
+        return cursor.isNull(index) ? Double.NaN : cursor.getDouble(index);
+    }
+
+    private static double ppm(Cursor cursor, int index) {
+        return cursor.isNull(index) ? Double.NaN : cursor.getLong(index) / 1000.0;
+    }
+
+    // (합계, 개수) 컬럼 쌍의 평균
+    private static double average(Cursor cursor, int sumIndex) {
+        long count = cursor.getLong(sumIndex + 1);
+        return count == 0 ? Double.NaN : (double) cursor.getLong(sumIndex) / count;
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.green_action.airquality;
+
+import com.example.green_action.SchemaSql;
+
+// air_quality_history 스키마와 SQL (AirQualityHistory 가 유일한 소유자)
+// Android 와 무관한 SQL 만 사용하므로 JVM 테스트에서 JDBC SQLite 로 그대로 검증한다.
+//
+// 측정소별 시계열을 세 단계 해상도로 둔다. 모두 (station_id, 시각) 기본 키의 WITHOUT ROWID 테이블이라
+// 측정소 하나의 기간 조회는 기본 키 범위 읽기 한 번이다.
+// - hourly: 시간별 원자료. HOURLY_RETENTION_DAYS 만큼만 둔다.
+// - daily:  하루(한국 시간) 합계/개수. DAILY_RETENTION_DAYS 만큼 둔다.
+// - weekly: 한 주(월요일 시작) 합계/개수. WEEKLY_RETENTION_WEEKS 만큼 둔다.
+// 평균 대신 합계와 개수를 저장하므로 빠진 값이 있어도 상위 단계 평균이 정확하다.
+// 농도는 정수로 저장한다. (㎍/㎥ 그대로, ppm 은 ppb 로)
+//
+// 버전 이력
+// 1: station, hourly, daily, weekly
+final class AirQualityHistorySchema {
+
+    static final int VERSION = 1;
+
+    static final int HOURLY_RETENTION_DAYS = 14;
+    static final int DAILY_RETENTION_DAYS = 120;
+    static final int WEEKLY_RETENTION_WEEKS = 3 * 53;
+
+    static final String TABLE_STATION = "station";
+    static final String TABLE_HOURLY = "hourly";
+    static final String TABLE_DAILY = "daily";
+    static final String TABLE_WEEKLY = "weekly";
+
+    // 시간별 값 컬럼 순서 (daily/weekly 는 각각 _sum, _n)
+    static final String[] METRICS = {"pm10", "pm25", "o3", "no2", "khai"};
+
+    private static final long HOUR_MS = 60 * 60 * 1000L;
+    private static final int KST_OFFSET_HOURS = 9;
+
+    static final String INSERT_STATION = "INSERT OR IGNORE INTO " + TABLE_STATION + " (sido, name) VALUES (?, ?)";
+    static final String SELECT_STATION = "SELECT station_id FROM " + TABLE_STATION + " WHERE sido = ? AND name = ?";
+    static final String UPSERT_HOURLY = "INSERT OR REPLACE INTO " + TABLE_HOURLY
+            + " (station_id, hour, pm10, pm25, o3, no2, khai) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // 바인딩: day, sido, 그날 첫 hour, 다음날 첫 hour
+    static final String ROLLUP_DAILY = "INSERT OR REPLACE INTO " + TABLE_DAILY + " (station_id, day, " + aggregateColumns() + ") "
+            + "SELECT h.station_id, ?, " + sumsOf("h.") + " FROM " + TABLE_HOURLY + " h "
+            + "JOIN " + TABLE_STATION + " s ON s.station_id = h.station_id "
+            + "WHERE s.sido = ? AND h.hour >= ? AND h.hour < ? GROUP BY h.station_id";
+
+    // 바인딩: week, sido, 그 주 첫 day, 다음 주 첫 day
+    static final String ROLLUP_WEEKLY = "INSERT OR REPLACE INTO " + TABLE_WEEKLY + " (station_id, week, " + aggregateColumns() + ") "
+            + "SELECT d.station_id, ?, " + resumOf("d.") + " FROM " + TABLE_DAILY + " d "
+            + "JOIN " + TABLE_STATION + " s ON s.station_id = d.station_id "
+            + "WHERE s.sido = ? AND d.day >= ? AND d.day < ? GROUP BY d.station_id";
+
+    // 측정소 하나의 기간 조회. 바인딩: station_id, 시작(포함), 끝(제외)
+    static final String RANGE_HOURLY = "SELECT hour, pm10, pm25, o3, no2, khai FROM " + TABLE_HOURLY
+            + " WHERE station_id = ? AND hour >= ? AND hour < ? ORDER BY hour";
+    static final String RANGE_DAILY = "SELECT day, " + aggregateColumns() + " FROM " + TABLE_DAILY
+            + " WHERE station_id = ? AND day >= ? AND day < ? ORDER BY day";
+    static final String RANGE_WEEKLY = "SELECT week, " + aggregateColumns() + " FROM " + TABLE_WEEKLY
+            + " WHERE station_id = ? AND week >= ? AND week < ? ORDER BY week";
+
+    // 시도 전체의 초미세먼지 합계/개수. 바인딩: sido, 시작 day(포함), 끝 day(제외)
+    static final String SIDO_PM25 = "SELECT SUM(d.pm25_sum), SUM(d.pm25_n), COUNT(DISTINCT d.day) FROM " + TABLE_DAILY + " d "
+            + "JOIN " + TABLE_STATION + " s ON s.station_id = d.station_id WHERE s.sido = ? AND d.day >= ? AND d.day < ?";
+
+    // 보관 기간이 지난 행 (상위 단계에 이미 합쳐져 있다). 바인딩: 남길 첫 시각
+    static final String PRUNE_HOURLY = "DELETE FROM " + TABLE_HOURLY + " WHERE hour < ?";
+    static final String PRUNE_DAILY = "DELETE FROM " + TABLE_DAILY + " WHERE day < ?";
+    static final String PRUNE_WEEKLY = "DELETE FROM " + TABLE_WEEKLY + " WHERE week < ?";
+
+    private AirQualityHistorySchema() {
+    }
+
+    static void create(SchemaSql db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_STATION + " (" +
+                "station_id INTEGER PRIMARY KEY, " +
+                "sido TEXT NOT NULL, " +
+                "name TEXT NOT NULL, " +
+                "UNIQUE (sido, name)" +
+                ")");
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_HOURLY + " (" +
+                "station_id INTEGER NOT NULL, " +
+                "hour INTEGER NOT NULL, " +  // epoch 시 (UTC 정시 = 한국 정시)
+                "pm10 INTEGER, pm25 INTEGER, o3 INTEGER, no2 INTEGER, khai INTEGER, " +
+                "PRIMARY KEY (station_id, hour)" +
+                ") WITHOUT ROWID");
+        createAggregateTable(db, TABLE_DAILY, "day");   // 한국 시간 기준 epoch 일
+        createAggregateTable(db, TABLE_WEEKLY, "week"); // 월요일 시작 주 번호
+    }
+
+    // oldVersion 다음 버전부터 newVersion 까지 한 단계씩 적용
+    static void migrate(SchemaSql db, int oldVersion, int newVersion) {
+        for (int version = oldVersion + 1; version <= newVersion; version++) {
+            migrateTo(db, version);
+        }
+    }
+
+    private static void migrateTo(SchemaSql db, int version) {
+        switch (version) {
+            default:
+                throw new IllegalStateException("No migration to version " + version);
+        }
+    }
+
+    private static void createAggregateTable(SchemaSql db, String table, String bucket) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + table + " (" +
+                "station_id INTEGER NOT NULL, " +
+                bucket + " INTEGER NOT NULL, " +
+                aggregateColumnDefinitions() +
+                "PRIMARY KEY (station_id, " + bucket + ")" +
+                ") WITHOUT ROWID");
+    }
+
+    private static String aggregateColumnDefinitions() {
+        StringBuilder columns = new StringBuilder();
+        for (String metric : METRICS) {
+            columns.append(metric).append("_sum INTEGER NOT NULL DEFAULT 0, ")
+                    .append(metric).append("_n INTEGER NOT NULL DEFAULT 0, ");
+        }
+        return columns.toString();
+    }
+
+    private static String aggregateColumns() {
+        StringBuilder columns = new StringBuilder();
+        for (String metric : METRICS) {
+            if (columns.length() > 0) {
+                columns.append(", ");
+            }
+            columns.append(metric).append("_sum, ").append(metric).append("_n");
+        }
+        return columns.toString();
+    }
+
+    // 시간별 값의 합계와 개수 (NULL 은 빼고 센다)
+    private static String sumsOf(String alias) {
+        StringBuilder columns = new StringBuilder();
+        for (String metric : METRICS) {
+            if (columns.length() > 0) {
+                columns.append(", ");
+            }
+            columns.append("IFNULL(SUM(").append(alias).append(metric).append("), 0), COUNT(").append(alias).append(metric).append(")");
+        }
+        return columns.toString();
+    }
+
+    // 하위 단계 합계/개수의 합
+    private static String resumOf(String alias) {
+        StringBuilder columns = new StringBuilder();
+        for (String metric : METRICS) {
+            if (columns.length() > 0) {
+                columns.append(", ");
+            }
+            columns.append("SUM(").append(alias).append(metric).append("_sum), SUM(").append(alias).append(metric).append("_n)");
+        }
+        return columns.toString();
+    }
+
+    // ----- 시각 단위 변환 (한국 시간 기준 일/주) -----
+
+    static long hourOf(long millis) {
+        return Math.floorDiv(millis, HOUR_MS);
+    }
+
+    static long dayOfHour(long hour) {
+        return Math.floorDiv(hour + KST_OFFSET_HOURS, 24);
+    }
+
+    static long firstHourOfDay(long day) {
+        return day * 24 - KST_OFFSET_HOURS;
+    }
+
+    // 1970-01-01 은 목요일이므로 3일을 더하면 월요일 시작 주가 된다.
+    static long weekOfDay(long day) {
+        return Math.floorDiv(day + 3, 7);
+    }
+
+    static long firstDayOfWeek(long week) {
+        return week * 7 - 3;
+    }
+
+    static long millisOfHour(long hour) {
+        return hour * HOUR_MS;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.green_action.airquality;
+
+import java.util.List;
+
+// getCtprvnRltmMesureDnsty 응답 한 페이지
+public final class AirQualityPage {
+    public static final String RESULT_OK = "00";
+
+    public final String resultCode;
+    public final String resultMsg;
+    public final int totalCount;    // 전체 측정소 수 (모든 페이지)
+    public final int pageNo;
+    public final int numOfRows;
+    public final List<AirQualityReading> readings;
+
+    AirQualityPage(String resultCode, String resultMsg, int totalCount, int pageNo, int numOfRows,
+                   List<AirQualityReading> readings) {
+        this.resultCode = resultCode;
+        this.resultMsg = resultMsg;
+        this.totalCount = totalCount;
+        this.pageNo = pageNo;
+        this.numOfRows = numOfRows;
+        this.readings = readings;
+    }
+
+    public boolean isOk() {
+        return RESULT_OK.equals(resultCode);
+    }
+}
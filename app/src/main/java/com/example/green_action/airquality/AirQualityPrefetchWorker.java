@@ -0,0 +1,80 @@
+package com.example.green_action.airquality;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 한 시간마다 대기질 자료를 미리 받아 AirQualityRepository 의 디스크 캐시에 넣는다.
+// 배터리가 부족하지 않고 비종량제 네트워크(Wi-Fi 등)일 때만 돈다.
+// 첫 실행은 다음 정시 자료가 올라오는 시각에 맞추고, 이번 시간 자료가 이미 있는 시도는 받지 않는다.
+public class AirQualityPrefetchWorker extends Worker {
+
+    static final String UNIQUE_NAME = "air_quality_prefetch";
+    static final String KEY_REGIONS = "regions";
+
+    private static final long HOUR_MS = TimeUnit.HOURS.toMillis(1);
+
+    public AirQualityPrefetchWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    // 앱 시작 시 호출. 이미 예약돼 있으면 그대로 둔다.
+    public static void schedule(Context context) {
+        schedule(context, AirQualityRepository.SIDO_NAMES);
+    }
+
+    @VisibleForTesting
+    static void schedule(Context context, List<String> sidoNames) {
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(UNIQUE_NAME, ExistingPeriodicWorkPolicy.KEEP,
+                buildRequest(sidoNames, System.currentTimeMillis()));
+    }
+
+    static PeriodicWorkRequest buildRequest(List<String> sidoNames, long now) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.UNMETERED)
+                .setRequiresBatteryNotLow(true)
+                .build();
+        Data input = new Data.Builder()
+                .putStringArray(KEY_REGIONS, sidoNames.toArray(new String[0]))
+                .build();
+        return new PeriodicWorkRequest.Builder(AirQualityPrefetchWorker.class, 1, TimeUnit.HOURS)
+                .setConstraints(constraints)
+                .setInitialDelay(delayToNextPublication(now), TimeUnit.MILLISECONDS)
+                .setInputData(input)
+                .build();
+    }
+
+    // 다음 정시 자료가 올라오는 시각(매시 정각 + PUBLISH_DELAY_MS)까지 남은 시간
+    // 한국 시간은 UTC 와 정시 단위로 차이 나므로 epoch 기준 정시로 계산해도 같다.
+    static long delayToNextPublication(long now) {
+        long delay = AirQualityRepository.PUBLISH_DELAY_MS - now % HOUR_MS;
+        return delay > 0 ? delay : delay + HOUR_MS;
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        String[] regions = getInputData().getStringArray(KEY_REGIONS);
+        List<String> sidoNames = regions != null ? Arrays.asList(regions) : AirQualityRepository.SIDO_NAMES;
+        try {
+            int failed = AirQualityRepository.getInstance(getApplicationContext()).prefetch(sidoNames);
+            return failed == 0 ? Result.success() : Result.retry();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        }
+    }
+}
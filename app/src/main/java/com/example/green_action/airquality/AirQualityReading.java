@@ -0,0 +1,121 @@
+package com.example.green_action.airquality;
+
+import androidx.annotation.Nullable;
+
+// 측정소 한 곳의 한 시간 측정값 (getCtprvnRltmMesureDnsty 의 item 하나)
+// 값이 없거나("-") 통신장애 등으로 빠진 항목은 농도는 NaN / MISSING, 등급은 MISSING 이다.
+public final class AirQualityReading {
+
+    public static final int MISSING = -1;
+
+    // flags: 측정 자료 상태 정보(xxxFlag)가 있는 항목. 해당 항목 값은 믿을 수 없다.
+    public static final int FLAG_SO2 = 1;
+    public static final int FLAG_CO = 1 << 1;
+    public static final int FLAG_O3 = 1 << 2;
+    public static final int FLAG_NO2 = 1 << 3;
+    public static final int FLAG_PM10 = 1 << 4;
+    public static final int FLAG_PM25 = 1 << 5;
+
+    public final String stationName;
+    @Nullable
+    public final String mangName;   // 측정망 (도시대기, 도로변대기 ...)
+    public final String sidoName;
+    public final long dataTime;     // 측정 시각 (epoch ms, 없으면 0)
+
+    public final double so2;        // ppm
+    public final double co;         // ppm
+    public final double o3;         // ppm
+    public final double no2;        // ppm
+    public final int pm10;          // ㎍/㎥
+    public final int pm10Avg24;     // 24시간 예측이동농도
+    public final int pm25;
+    public final int pm25Avg24;
+    public final int khai;          // 통합대기환경수치
+
+    // 1: 좋음, 2: 보통, 3: 나쁨, 4: 매우나쁨
+    public final int khaiGrade;
+    public final int so2Grade;
+    public final int coGrade;
+    public final int o3Grade;
+    public final int no2Grade;
+    public final int pm10Grade;     // 24시간
+    public final int pm25Grade;
+    public final int pm10Grade1h;
+    public final int pm25Grade1h;
+
+    public final int flags;
+
+    AirQualityReading(Builder b) {
+        stationName = b.stationName != null ? b.stationName : "";
+        mangName = b.mangName;
+        sidoName = b.sidoName != null ? b.sidoName : "";
+        dataTime = b.dataTime;
+        so2 = b.so2;
+        co = b.co;
+        o3 = b.o3;
+        no2 = b.no2;
+        pm10 = b.pm10;
+        pm10Avg24 = b.pm10Avg24;
+        pm25 = b.pm25;
+        pm25Avg24 = b.pm25Avg24;
+        khai = b.khai;
+        khaiGrade = b.khaiGrade;
+        so2Grade = b.so2Grade;
+        coGrade = b.coGrade;
+        o3Grade = b.o3Grade;
+        no2Grade = b.no2Grade;
+        pm10Grade = b.pm10Grade;
+        pm25Grade = b.pm25Grade;
+        pm10Grade1h = b.pm10Grade1h;
+        pm25Grade1h = b.pm25Grade1h;
+        flags = b.flags;
+    }
+
+    public boolean isFlagged(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    // 디코더가 item 하나를 읽는 동안 채우는 값. item 마다 reset() 후 재사용한다.
+    static final class Builder {
+        String stationName;
+        String mangName;
+        String sidoName;
+        long dataTime;
+        double so2;
+        double co;
+        double o3;
+        double no2;
+        int pm10;
+        int pm10Avg24;
+        int pm25;
+        int pm25Avg24;
+        int khai;
+        int khaiGrade;
+        int so2Grade;
+        int coGrade;
+        int o3Grade;
+        int no2Grade;
+        int pm10Grade;
+        int pm25Grade;
+        int pm10Grade1h;
+        int pm25Grade1h;
+        int flags;
+
+        Builder reset() {
+            stationName = null;
+            mangName = null;
+            sidoName = null;
+            dataTime = 0;
+            so2 = co = o3 = no2 = Double.NaN;
+            pm10 = pm10Avg24 = pm25 = pm25Avg24 = khai = MISSING;
+            khaiGrade = so2Grade = coGrade = o3Grade = no2Grade = MISSING;
+            pm10Grade = pm25Grade = pm10Grade1h = pm25Grade1h = MISSING;
+            flags = 0;
+            return this;
+        }
+
+        AirQualityReading build() {
+            return new AirQualityReading(this);
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.example.green_action.airquality;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.util.Xml;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import okhttp3.Cache;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import org.xmlpull.v1.XmlPullParser;
+
+// 에어코리아 시도별 실시간 측정정보 (getCtprvnRltmMesureDnsty)
+// - OkHttpClient 하나를 프로세스 전체에서 공유한다. (연결 재사용, HTTP 캐시)
+// - 시도 하나의 모든 페이지(totalCount 기준)를 받아 한 페이지로 합쳐 준다.
+// - 응답은 (시도, 응답의 가장 최근 측정 시각) 이름으로 디스크에 저장한다. API 가 한 시간마다 갱신되므로 같은 시간 안에는 다시 받지 않는다.
+//   정시 자료는 PUBLISH_DELAY_MS 쯤 늦게 올라오므로 그 전까지는 지난 시간 자료를 이번 자료로 본다.
+//   받은 자료가 그보다도 오래됐으면(API 갱신 지연) 지난 자료로 주고, 다음 요청에서 다시 받는다.
+// - 같은 키를 동시에 요청하면 네트워크 호출 하나를 함께 기다린다.
+// - 이번 시간 자료가 없으면 지난 자료를 먼저 주고(stale = true), 새로 받으면 한 번 더 준다.
+// - 디스크 읽기는 단일 스레드, 네트워크는 MAX_CONCURRENT_REQUESTS 개 스레드에서 한다.
+//   저장된 시도는 다른 시도의 네트워크 요청을 기다리지 않고 바로 나온다.
+// - AirQualityPrefetchWorker 가 한 시간마다 미리 받아 두므로 화면은 보통 저장된 자료로 바로 그린다.
+// - 새로 받은 자료는 AirQualityHistory 에도 쌓는다. (추이 그래프, 노출 점수)
+// 콜백은 메인 스레드에서 호출된다. (테스트에서는 생성자로 실행기를 바꾼다)
+public class AirQualityRepository {
+
+    private static final String TAG = "AirQualityRepository";
+
+    private static final String API_KEY = "zgDi2jCAAHkGbiYY9vTynvRLYSU3sGls9eAJM4HnHCgjj5AQM05gxkuESMijNOcgGJS+FBii9jYfBtH+Zs4ESQ==";
+    private static final String BASE_URL = "https://apis.data.go.kr/B552584/ArpltnInforInqireSvc/getCtprvnRltmMesureDnsty";
+    // 한 페이지 행 수. 측정소가 가장 많은 경기(약 100곳)도 한두 페이지면 된다.
+    private static final int NUM_OF_ROWS = 100;
+    private static final int MAX_PAGES = 10;
+    // 동시에 보내는 요청 수. 17개 시도를 세 번의 왕복 안에 받는다.
+    private static final int MAX_CONCURRENT_REQUESTS = 6;
+    // 정시 측정 자료가 API 에 올라오기까지의 여유
+    static final long PUBLISH_DELAY_MS = 20 * 60 * 1000L;
+    private static final long PREFETCH_TIMEOUT_MS = 2 * 60 * 1000L;
+
+    // sidoName 파라미터로 쓰는 17개 시도
+    public static final List<String> SIDO_NAMES = Collections.unmodifiableList(Arrays.asList(
+            "서울", "부산", "대구", "인천", "광주", "대전", "울산", "세종", "경기",
+            "강원", "충북", "충남", "전북", "전남", "경북", "경남", "제주"));
+
+    private static final long HTTP_CACHE_BYTES = 5L * 1024 * 1024;
+    private static final String CACHE_DIR = "air_quality";
+    private static final TimeZone KST = TimeZone.getTimeZone("Asia/Seoul");
+
+    private static AirQualityRepository instance;
+
+    public interface Callback {
+        // stale: 이전 시간의 저장된 자료 (새 자료를 받는 중)
+        void onResult(AirQualityPage page, boolean stale);
+
+        void onError(Exception error);
+
+        // 요청 하나가 끝났을 때 마지막으로 한 번. current: 이번 시간 자료를 줬는지 (실패하거나 받은 자료가 지난 시간이면 false)
+        default void onFinished(boolean current) {
+        }
+    }
+
+    private final HttpUrl baseUrl;
+    private final String serviceKey;
+    private final OkHttpClient client;
+    private final File cacheDir;
+    private final Executor ioExecutor;
+    private final Executor networkExecutor;
+    private final Executor callbackExecutor;
+    private final LongSupplier clock;
+    private final Supplier<XmlPullParser> parsers;
+    // 새로 받은 자료를 쌓아 두는 시계열 (테스트에서는 없음)
+    @Nullable
+    private AirQualityHistory history;
+
+    // (시도, 이번 시간) 키 -> 같은 요청을 기다리는 콜백들 (this 로 동기화)
+    private final Map<String, List<Callback>> inFlight = new HashMap<>();
+
+    @VisibleForTesting
+    AirQualityRepository(HttpUrl baseUrl, String serviceKey, OkHttpClient client, File cacheDir,
+                         Executor ioExecutor, Executor networkExecutor, Executor callbackExecutor,
+                         LongSupplier clock, Supplier<XmlPullParser> parsers) {
+        this.baseUrl = baseUrl;
+        this.serviceKey = serviceKey;
+        this.client = client;
+        this.cacheDir = cacheDir;
+        this.ioExecutor = ioExecutor;
+        this.networkExecutor = networkExecutor;
+        this.callbackExecutor = callbackExecutor;
+        this.clock = clock;
+        this.parsers = parsers;
+    }
+
+    public static synchronized AirQualityRepository getInstance(Context context) {
+        if (instance == null) {
+            File cacheRoot = context.getApplicationContext().getCacheDir();
+            OkHttpClient client = new OkHttpClient.Builder()
+                    .cache(new Cache(new File(cacheRoot, "http_air_quality"), HTTP_CACHE_BYTES))
+                    .build();
+            Handler mainHandler = new Handler(Looper.getMainLooper());
+            instance = new AirQualityRepository(HttpUrl.get(BASE_URL), API_KEY, client, new File(cacheRoot, CACHE_DIR),
+                    Executors.newSingleThreadExecutor(), Executors.newFixedThreadPool(MAX_CONCURRENT_REQUESTS),
+                    mainHandler::post, System::currentTimeMillis, Xml::newPullParser);
+            instance.history = AirQualityHistory.getInstance(context);
+        }
+        return instance;
+    }
+
+    // 테스트에서 AirQualityPrefetchWorker 가 쓸 저장소를 바꾼다. (null 이면 다음 getInstance 에서 새로 만든다)
+    @VisibleForTesting
+    static synchronized void setInstanceForTesting(@Nullable AirQualityRepository repository) {
+        instance = repository;
+    }
+
+    // 시도(예: "경기")의 이번 시간 측정 자료
+    public void getRealtime(String sidoName, Callback callback) {
+        String key = cacheKey(sidoName, currentHour());
+        synchronized (this) {
+            List<Callback> waiters = inFlight.get(key);
+            if (waiters != null) {
+                waiters.add(callback);
+                return;
+            }
+            waiters = new ArrayList<>();
+            waiters.add(callback);
+            inFlight.put(key, waiters);
+        }
+        ioExecutor.execute(() -> loadCached(sidoName, key));
+    }
+
+    // 이번 시간(또는 그 뒤) 자료가 저장돼 있는지
+    @WorkerThread
+    public boolean isCurrent(String sidoName) {
+        File latest = latestCacheFile(sidoName);
+        return latest != null && isCurrentFile(sidoName, latest);
+    }
+
+    // 백그라운드 작업용: 이번 시간 자료가 없는 시도만 받아 저장하고 끝날 때까지 기다린다.
+    // 화면의 요청과 겹치면 그 호출을 함께 기다린다. 받지 못한 시도 수를 돌려준다.
+    @WorkerThread
+    public int prefetch(List<String> sidoNames) throws InterruptedException {
+        List<String> missing = new ArrayList<>();
+        for (String sidoName : sidoNames) {
+            if (!isCurrent(sidoName)) {
+                missing.add(sidoName);
+            }
+        }
+        if (missing.isEmpty()) {
+            Log.d(TAG, "Prefetch skipped, hour " + currentHour() + " is cached");
+            return 0;
+        }
+        CountDownLatch done = new CountDownLatch(missing.size());
+        AtomicInteger failed = new AtomicInteger();
+        for (String sidoName : missing) {
+            getRealtime(sidoName, new Callback() {
+                @Override
+                public void onResult(AirQualityPage page, boolean stale) {
+                }
+
+                @Override
+                public void onError(Exception error) {
+                }
+
+                @Override
+                public void onFinished(boolean current) {
+                    if (!current) {
+                        failed.incrementAndGet();
+                    }
+                    done.countDown();
+                }
+            });
+        }
+        if (!done.await(PREFETCH_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            return (int) done.getCount() + failed.get();
+        }
+        Log.d(TAG, "Prefetched " + (missing.size() - failed.get()) + "/" + missing.size() + " regions for hour " + currentHour());
+        return failed.get();
+    }
+
+    // 디스크 스레드: 이번 시간 자료가 있으면 끝, 없으면 지난 자료를 먼저 주고 네트워크로 넘긴다.
+    private void loadCached(String sidoName, String key) {
+        File latest = latestCacheFile(sidoName);
+        AirQualityPage cached = readCache(latest);
+        if (cached != null && isCurrentFile(sidoName, latest)) {
+            finish(key, cached, true, null);
+            return;
+        }
+
+        AirQualityPage stale = cached;
+        if (stale != null) {
+            List<Callback> waiters;
+            synchronized (this) {
+                waiters = new ArrayList<>(inFlight.get(key));
+            }
+            callbackExecutor.execute(() -> {
+                for (Callback waiter : waiters) {
+                    waiter.onResult(stale, true);
+                }
+            });
+        }
+
+        networkExecutor.execute(() -> load(sidoName, key, stale != null));
+    }
+
+    private void load(String sidoName, String key, boolean staleDelivered) {
+        try {
+            // 첫 페이지의 totalCount 로 남은 페이지 수를 정한다.
+            List<byte[]> bodies = new ArrayList<>();
+            List<AirQualityPage> pages = new ArrayList<>();
+            int pageCount = 1;
+            for (int pageNo = 1; pageNo <= pageCount; pageNo++) {
+                byte[] body = fetch(sidoName, pageNo);
+                AirQualityPage page = decode(body);
+                if (!page.isOk()) {
+                    throw new IOException("Air quality API error " + page.resultCode + ": " + page.resultMsg);
+                }
+                bodies.add(body);
+                pages.add(page);
+                if (pageNo == 1) {
+                    pageCount = Math.min(MAX_PAGES, (page.totalCount + NUM_OF_ROWS - 1) / NUM_OF_ROWS);
+                } else if (page.readings.isEmpty()) {
+                    break;
+                }
+            }
+            AirQualityPage merged = merge(pages);
+            long newest = newestDataTime(merged);
+            boolean current = false;
+            if (newest > 0) {
+                // 파일 이름은 요청한 시각이 아니라 자료의 측정 시각
+                String dataHour = hourOf(newest);
+                writeCache(sidoName, new File(cacheDir, cacheKey(sidoName, dataHour)), bodies);
+                current = dataHour.compareTo(currentHour()) >= 0;
+            }
+            if (!current) {
+                Log.d(TAG, sidoName + " is not updated for hour " + currentHour() + " yet");
+            }
+            finish(key, merged, current, null);
+            if (history != null) {
+                history.record(merged.readings);
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Fetching " + sidoName + " failed", e);
+            // 지난 자료를 이미 줬으면 그대로 두고, 없을 때만 실패를 알린다.
+            finish(key, null, false, staleDelivered ? null : e);
+        }
+    }
+
+    // current: page 가 이번 시간 자료인지 (아니면 지난 자료로 준다)
+    private void finish(String key, @Nullable AirQualityPage page, boolean current, @Nullable Exception error) {
+        List<Callback> waiters;
+        synchronized (this) {
+            waiters = inFlight.remove(key);
+        }
+        if (waiters == null) {
+            return;
+        }
+        callbackExecutor.execute(() -> {
+            for (Callback waiter : waiters) {
+                if (page != null) {
+                    waiter.onResult(page, !current);
+                } else if (error != null) {
+                    waiter.onError(error);
+                }
+                waiter.onFinished(page != null && current);
+            }
+        });
+    }
+
+    private byte[] fetch(String sidoName, int pageNo) throws IOException {
+        HttpUrl url = baseUrl.newBuilder()
+                .addQueryParameter("serviceKey", serviceKey)
+                .addQueryParameter("returnType", "xml")
+                .addQueryParameter("numOfRows", String.valueOf(NUM_OF_ROWS))
+                .addQueryParameter("pageNo", String.valueOf(pageNo))
+                .addQueryParameter("sidoName", sidoName)
+                .addQueryParameter("ver", "1.3")
+                .build();
+        Request request = new Request.Builder().url(url).build();
+        try (Response response = client.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                throw new IOException("HTTP " + response.code());
+            }
+            return body.bytes();
+        }
+    }
+
+    private AirQualityPage decode(byte[] body) throws Exception {
+        return AirQualityXmlDecoder.decode(parsers.get(), new ByteArrayInputStream(body));
+    }
+
+    // 페이지들의 측정소를 이어 붙인 한 페이지
+    private static AirQualityPage merge(List<AirQualityPage> pages) {
+        AirQualityPage first = pages.get(0);
+        if (pages.size() == 1) {
+            return first;
+        }
+        List<AirQualityReading> readings = new ArrayList<>(first.totalCount);
+        for (AirQualityPage page : pages) {
+            readings.addAll(page.readings);
+        }
+        return new AirQualityPage(first.resultCode, first.resultMsg, first.totalCount, 1, readings.size(), readings);
+    }
+
+    // 응답에서 가장 최근 측정 시각 (없으면 0)
+    private static long newestDataTime(AirQualityPage page) {
+        long newest = 0;
+        for (AirQualityReading reading : page.readings) {
+            newest = Math.max(newest, reading.dataTime);
+        }
+        return newest;
+    }
+
+    // ----- 디스크 캐시: {시도 16진수}_{측정 시각 yyyyMMddHH} 파일, 시도마다 가장 최근 파일 하나만 남긴다 -----
+    // 파일 = 페이지 수(int) + 페이지마다 (길이(int) + 응답 원문)
+
+    @Nullable
+    private AirQualityPage readCache(@Nullable File file) {
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            int count = in.readInt();
+            if (count < 1 || count > MAX_PAGES) {
+                throw new IOException("Bad page count " + count);
+            }
+            List<AirQualityPage> pages = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int length = in.readInt();
+                if (length < 0 || length > file.length()) {
+                    throw new IOException("Bad page length " + length);
+                }
+                byte[] body = new byte[length];
+                in.readFully(body);
+                AirQualityPage page = decode(body);
+                if (!page.isOk()) {
+                    return null;
+                }
+                pages.add(page);
+            }
+            return merge(pages);
+        } catch (Exception e) {
+            Log.w(TAG, "Discarding unreadable cache " + file.getName(), e);
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+            return null;
+        }
+    }
+
+    @Nullable
+    private File latestCacheFile(String sidoName) {
+        File[] files = cacheDir.listFiles((dir, name) -> name.startsWith(sidoPrefix(sidoName)) && !name.endsWith(".tmp"));
+        File latest = null;
+        if (files != null) {
+            for (File file : files) {
+                if (latest == null || file.getName().compareTo(latest.getName()) > 0) {
+                    latest = file;
+                }
+            }
+        }
+        return latest;
+    }
+
+    private void writeCache(String sidoName, File target, List<byte[]> bodies) throws IOException {
+        if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+            throw new IOException("Cannot create " + cacheDir);
+        }
+        File tmp = new File(cacheDir, target.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(tmp))) {
+            out.writeInt(bodies.size());
+            for (byte[] body : bodies) {
+                out.writeInt(body.length);
+                out.write(body);
+            }
+        }
+        if (!tmp.renameTo(target)) {
+            throw new IOException("Cannot write " + target);
+        }
+        File[] old = cacheDir.listFiles((dir, name) -> name.startsWith(sidoPrefix(sidoName)) && !name.equals(target.getName()));
+        if (old != null) {
+            for (File file : old) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+    }
+
+    static String cacheKey(String sidoName, String hour) {
+        return sidoPrefix(sidoName) + hour;
+    }
+
+    // 파일의 측정 시각이 지금 받을 수 있는 가장 최근 시각 이후인지 (yyyyMMddHH 는 문자열 순서 = 시간 순서)
+    private boolean isCurrentFile(String sidoName, File file) {
+        return file.getName().substring(sidoPrefix(sidoName).length()).compareTo(currentHour()) >= 0;
+    }
+
+    private static String sidoPrefix(String sidoName) {
+        StringBuilder builder = new StringBuilder();
+        for (byte b : sidoName.getBytes(StandardCharsets.UTF_8)) {
+            builder.append(String.format(Locale.ROOT, "%02x", b));
+        }
+        return builder.append('_').toString();
+    }
+
+    // 지금 받을 수 있는 가장 최근 측정 시각
+    String currentHour() {
+        return hourOf(clock.getAsLong() - PUBLISH_DELAY_MS);
+    }
+
+    // 측정 시각(한국 시간, 정시 단위)
+    static String hourOf(long millis) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyyMMddHH", Locale.ROOT);
+        format.setTimeZone(KST);
+        return format.format(new Date(millis));
+    }
+}
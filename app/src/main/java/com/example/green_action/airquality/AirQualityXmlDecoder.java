@@ -0,0 +1,189 @@
+package com.example.green_action.airquality;
+
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+// getCtprvnRltmMesureDnsty XML 응답을 한 번 훑으면서 AirQualityReading 으로 바로 옮긴다.
+// DOM 을 만들지 않고 항목마다 Map 도 만들지 않는다. 인코딩은 XML 선언을 따른다.
+// 파서는 호출하는 쪽이 준다. (앱: android.util.Xml.newPullParser(), JVM 테스트: kxml2)
+final class AirQualityXmlDecoder {
+
+    private static final long HOUR_MS = 60 * 60 * 1000L;
+    private static final long KST_OFFSET_MS = 9 * HOUR_MS;
+
+    private AirQualityXmlDecoder() {
+    }
+
+    static AirQualityPage decode(XmlPullParser parser, InputStream in) throws XmlPullParserException, IOException {
+        parser.setInput(in, null);
+
+        String resultCode = "";
+        String resultMsg = "";
+        int totalCount = AirQualityReading.MISSING;
+        int pageNo = 1;
+        int numOfRows = 0;
+        List<AirQualityReading> readings = new ArrayList<>();
+        AirQualityReading.Builder item = new AirQualityReading.Builder();
+        boolean inItem = false;
+
+        for (int event = parser.getEventType(); event != XmlPullParser.END_DOCUMENT; event = parser.next()) {
+            if (event == XmlPullParser.START_TAG) {
+                String name = parser.getName();
+                if (inItem) {
+                    readField(parser, name, item);
+                    continue;
+                }
+                switch (name) {
+                    case "item":
+                        item.reset();
+                        inItem = true;
+                        break;
+                    case "resultCode":
+                        resultCode = parser.nextText().trim();
+                        break;
+                    case "resultMsg":
+                        resultMsg = parser.nextText().trim();
+                        break;
+                    case "totalCount":
+                        totalCount = parseInt(parser.nextText());
+                        break;
+                    case "pageNo":
+                        pageNo = parseInt(parser.nextText());
+                        break;
+                    case "numOfRows":
+                        numOfRows = parseInt(parser.nextText());
+                        break;
+                    default:
+                        break; // response, header, body, items
+                }
+            } else if (event == XmlPullParser.END_TAG && inItem && "item".equals(parser.getName())) {
+                readings.add(item.build());
+                inItem = false;
+            }
+        }
+        return new AirQualityPage(resultCode, resultMsg, totalCount == AirQualityReading.MISSING ? readings.size() : totalCount,
+                pageNo, numOfRows, readings);
+    }
+
+    // item 의 자식 하나. 모르는 태그는 건너뛴다. (다음 이벤트에서 자식/텍스트로 나오고 무시된다)
+    private static void readField(XmlPullParser parser, String name, AirQualityReading.Builder item)
+            throws XmlPullParserException, IOException {
+        switch (name) {
+            case "stationName": item.stationName = parser.nextText().trim(); break;
+            case "mangName": item.mangName = parser.nextText().trim(); break;
+            case "sidoName": item.sidoName = parser.nextText().trim(); break;
+            case "dataTime": item.dataTime = parseDataTime(parser.nextText()); break;
+            case "so2Value": item.so2 = parseDouble(parser.nextText()); break;
+            case "coValue": item.co = parseDouble(parser.nextText()); break;
+            case "o3Value": item.o3 = parseDouble(parser.nextText()); break;
+            case "no2Value": item.no2 = parseDouble(parser.nextText()); break;
+            case "pm10Value": item.pm10 = parseInt(parser.nextText()); break;
+            case "pm10Value24": item.pm10Avg24 = parseInt(parser.nextText()); break;
+            case "pm25Value": item.pm25 = parseInt(parser.nextText()); break;
+            case "pm25Value24": item.pm25Avg24 = parseInt(parser.nextText()); break;
+            case "khaiValue": item.khai = parseInt(parser.nextText()); break;
+            case "khaiGrade": item.khaiGrade = parseInt(parser.nextText()); break;
+            case "so2Grade": item.so2Grade = parseInt(parser.nextText()); break;
+            case "coGrade": item.coGrade = parseInt(parser.nextText()); break;
+            case "o3Grade": item.o3Grade = parseInt(parser.nextText()); break;
+            case "no2Grade": item.no2Grade = parseInt(parser.nextText()); break;
+            case "pm10Grade": item.pm10Grade = parseInt(parser.nextText()); break;
+            case "pm25Grade": item.pm25Grade = parseInt(parser.nextText()); break;
+            case "pm10Grade1h": item.pm10Grade1h = parseInt(parser.nextText()); break;
+            case "pm25Grade1h": item.pm25Grade1h = parseInt(parser.nextText()); break;
+            case "so2Flag": item.flags |= flag(parser.nextText(), AirQualityReading.FLAG_SO2); break;
+            case "coFlag": item.flags |= flag(parser.nextText(), AirQualityReading.FLAG_CO); break;
+            case "o3Flag": item.flags |= flag(parser.nextText(), AirQualityReading.FLAG_O3); break;
+            case "no2Flag": item.flags |= flag(parser.nextText(), AirQualityReading.FLAG_NO2); break;
+            case "pm10Flag": item.flags |= flag(parser.nextText(), AirQualityReading.FLAG_PM10); break;
+            case "pm25Flag": item.flags |= flag(parser.nextText(), AirQualityReading.FLAG_PM25); break;
+            default:
+                break;
+        }
+    }
+
+    private static int flag(String text, int flag) {
+        return text.trim().isEmpty() ? 0 : flag;
+    }
+
+    // 음이 아닌 정수. "-", 빈 값 등은 MISSING
+    static int parseInt(String text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') start++;
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+        if (start == end || end - start > 9) {
+            return AirQualityReading.MISSING;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return AirQualityReading.MISSING;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    // 농도(ppm). 숫자가 아니면 NaN
+    static double parseDouble(String text) {
+        String trimmed = text.trim();
+        if (trimmed.isEmpty()) {
+            return Double.NaN;
+        }
+        char first = trimmed.charAt(0);
+        if ((first < '0' || first > '9') && first != '.') {
+            return Double.NaN; // "-" 등. 예외를 만들지 않도록 먼저 거른다.
+        }
+        try {
+            return Double.parseDouble(trimmed);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    // "yyyy-MM-dd HH:mm" (한국 시간) -> epoch ms. 자정은 "24:00" 으로 오기도 한다. 형식이 다르면 0
+    static long parseDataTime(String text) {
+        String s = text.trim();
+        if (s.length() != 16 || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != ' ' || s.charAt(13) != ':') {
+            return 0;
+        }
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 7);
+        int day = digits(s, 8, 10);
+        int hour = digits(s, 11, 13);
+        int minute = digits(s, 14, 16);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || hour > 24 || minute < 0 || minute > 59) {
+            return 0;
+        }
+        return daysFromCivil(year, month, day) * 24 * HOUR_MS + hour * HOUR_MS + minute * 60_000L - KST_OFFSET_MS;
+    }
+
+    private static int digits(String s, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    // 1970-01-01 부터의 일수 (그레고리력, 객체를 만들지 않는다)
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+}
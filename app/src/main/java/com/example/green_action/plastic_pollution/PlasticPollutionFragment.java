@@ -7,8 +7,11 @@ import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentTransaction;
 
 import com.example.green_action.R;
+import com.example.green_action.air_pollution.AirQuizListFragment;
+import com.example.green_action.quiz.QuizCategory;
 
 public class PlasticPollutionFragment extends Fragment {
 
@@ -16,6 +19,21 @@ public class PlasticPollutionFragment extends Fragment {
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
         // Layout을 인플레이트하고 View를 반환합니다
-        return inflater.inflate(R.layout.fragment_plastic_pollution, container, false);
+        View view = inflater.inflate(R.layout.fragment_plastic_pollution, container, false);
+        view.findViewById(R.id.buttonQuizAndLearn).setOnClickListener(v -> loadQuizFragment());
+        return view;
     }
-}
\ No newline at end of file
+
+    // 퀴즈 목록은 대기오염과 같은 화면을 분야만 바꿔 사용
+    private void loadQuizFragment() {
+        Fragment quizFragment = new AirQuizListFragment();
+        Bundle bundle = new Bundle();
+        QuizCategory.PLASTIC.putInto(bundle);
+        quizFragment.setArguments(bundle);
+
+        FragmentTransaction transaction = getParentFragmentManager().beginTransaction();
+        transaction.replace(R.id.fragment_container, quizFragment);
+        transaction.addToBackStack(null);
+        transaction.commit();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.green_action.quiz;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// 채점과 시도 횟수/점수 규칙
+// - 정답 비교는 Quiz.answerKey (미리 정규화한 키) 로 한다.
+// - 틀릴 때마다 maxScore / attemptsAllowed 점(최소 1점)씩 깎인다. 3점/3회면 3, 2, 1점
+// - attemptsAllowed 번 틀리면 OUT_OF_ATTEMPTS. 기회는 다시 채워지고 학습 화면부터 다시 시작한다.
+// - attemptsAllowed 가 0 이하면 횟수 제한 없음
+// 틀린 횟수는 프로세스 안에서만 유지한다. (진행 키 -> 횟수, 조회/갱신 O(1))
+public final class AnswerEngine {
+
+    public enum Outcome {
+        CORRECT, WRONG, OUT_OF_ATTEMPTS
+    }
+
+    public static final class Result {
+        public final Outcome outcome;
+        public final int score;         // CORRECT 일 때 얻은 점수, 아니면 0
+        public final int attemptsLeft;  // 제한이 없으면 -1
+
+        Result(Outcome outcome, int score, int attemptsLeft) {
+            this.outcome = outcome;
+            this.score = score;
+            this.attemptsLeft = attemptsLeft;
+        }
+    }
+
+    private static AnswerEngine instance;
+
+    private final Map<Integer, Integer> wrongAttempts = new HashMap<>();
+
+    AnswerEngine() {
+    }
+
+    public static synchronized AnswerEngine getInstance() {
+        if (instance == null) {
+            instance = new AnswerEngine();
+        }
+        return instance;
+    }
+
+    public synchronized Result submit(Quiz quiz, String input) {
+        int progressKey = quiz.category.progressKey(quiz.orderIndex);
+        Integer stored = wrongAttempts.get(progressKey);
+        int wrong = stored != null ? stored : 0;
+
+        if (quiz.answerKey.matches(input)) {
+            wrongAttempts.remove(progressKey);
+            return new Result(Outcome.CORRECT, scoreAfter(quiz, wrong), attemptsLeft(quiz, 0));
+        }
+
+        wrong++;
+        if (quiz.attemptsAllowed > 0 && wrong >= quiz.attemptsAllowed) {
+            wrongAttempts.remove(progressKey);
+            return new Result(Outcome.OUT_OF_ATTEMPTS, 0, 0);
+        }
+        wrongAttempts.put(progressKey, wrong);
+        return new Result(Outcome.WRONG, 0, attemptsLeft(quiz, wrong));
+    }
+
+    public synchronized int attemptsLeft(Quiz quiz) {
+        Integer stored = wrongAttempts.get(quiz.category.progressKey(quiz.orderIndex));
+        return attemptsLeft(quiz, stored != null ? stored : 0);
+    }
+
+    private static int attemptsLeft(Quiz quiz, int wrong) {
+        return quiz.attemptsAllowed > 0 ? quiz.attemptsAllowed - wrong : -1;
+    }
+
+    static int scoreAfter(Quiz quiz, int wrong) {
+        if (quiz.maxScore <= 0) {
+            return 0;
+        }
+        int penalty = quiz.attemptsAllowed > 0 ? Math.max(1, quiz.maxScore / quiz.attemptsAllowed) : 1;
+        return Math.max(1, quiz.maxScore - wrong * penalty);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.green_action.quiz;
+
+import java.text.Normalizer;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+// 한 문항의 정답 키. 내용을 읽을 때(Quiz 생성 시) 한 번 만들고, 채점은 입력 정규화 + HashSet 조회 한 번이다.
+// correct_answer 에 '|' 로 구분해 같은 뜻의 답을 여러 개 둘 수 있다. 예) "미세먼지|PM10|fine dust"
+// 정답이 비어 있는 문항(준비 중)은 어떤 입력이든 통과시킨다. (예전 동작 유지)
+public final class AnswerKey {
+
+    public static final char SYNONYM_SEPARATOR = '|';
+
+    private final Set<String> keys;
+
+    private AnswerKey(Set<String> keys) {
+        this.keys = keys;
+    }
+
+    public static AnswerKey of(String correctAnswer) {
+        Set<String> keys = new HashSet<>();
+        int start = 0;
+        while (start <= correctAnswer.length()) {
+            int end = correctAnswer.indexOf(SYNONYM_SEPARATOR, start);
+            if (end < 0) {
+                end = correctAnswer.length();
+            }
+            String key = normalize(correctAnswer.substring(start, end));
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+            start = end + 1;
+        }
+        return new AnswerKey(keys.isEmpty() ? Collections.<String>emptySet() : keys);
+    }
+
+    public boolean matches(String input) {
+        return keys.isEmpty() || keys.contains(normalize(input));
+    }
+
+    public boolean acceptsAnything() {
+        return keys.isEmpty();
+    }
+
+    // 비교용 형태로 바꾼다.
+    // - NFKC: 전각 문자(ＰＭ１０)를 반각으로, 호환 자모(ㅁ, ㅘ)를 조합형 자모로 바꾼다.
+    // - 한글은 음절을 자모로 풀고 겹모음/겹받침도 나눈다. 그래서 "미세먼지", 조합형 자모 입력,
+    //   "ㅁㅣㅅㅔㅁㅓㄴㅈㅣ" 처럼 자모를 하나씩 친 입력이 모두 같은 키가 된다.
+    // - 대소문자 무시, 공백과 문장 부호 제거 ("미세 먼지." == "미세먼지")
+    static String normalize(String text) {
+        String composed = Normalizer.isNormalized(text, Normalizer.Form.NFKC)
+                ? text : Normalizer.normalize(text, Normalizer.Form.NFKC);
+        StringBuilder builder = new StringBuilder(composed.length() * 3);
+        for (int i = 0; i < composed.length(); ) {
+            int codePoint = composed.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint) || isPunctuation(codePoint)) {
+                continue;
+            }
+            if (codePoint >= SYLLABLE_BASE && codePoint <= SYLLABLE_LAST) {
+                int index = codePoint - SYLLABLE_BASE;
+                appendInitial(builder, index / (VOWEL_COUNT * FINAL_COUNT));
+                appendVowel(builder, index % (VOWEL_COUNT * FINAL_COUNT) / FINAL_COUNT);
+                appendFinal(builder, index % FINAL_COUNT);
+            } else if (codePoint >= INITIAL_BASE && codePoint < INITIAL_BASE + INITIAL_COUNT) {
+                appendInitial(builder, codePoint - INITIAL_BASE);
+            } else if (codePoint >= VOWEL_BASE && codePoint < VOWEL_BASE + VOWEL_COUNT) {
+                appendVowel(builder, codePoint - VOWEL_BASE);
+            } else if (codePoint > FINAL_BASE && codePoint < FINAL_BASE + FINAL_COUNT) {
+                appendFinal(builder, codePoint - FINAL_BASE);
+            } else {
+                builder.appendCodePoint(Character.toLowerCase(codePoint));
+            }
+        }
+        return builder.toString();
+    }
+
+    // 한글 음절 = 초성 19 x 중성 21 x 종성 28 (종성 0 = 없음)
+    private static final int SYLLABLE_BASE = 0xAC00;
+    private static final int SYLLABLE_LAST = 0xD7A3;
+    private static final int INITIAL_BASE = 0x1100;
+    private static final int VOWEL_BASE = 0x1161;
+    private static final int FINAL_BASE = 0x11A7;
+    private static final int INITIAL_COUNT = 19;
+    private static final int VOWEL_COUNT = 21;
+    private static final int FINAL_COUNT = 28;
+
+    // 겹모음 -> 홑모음 (중성 번호). ㅘ ㅙ ㅚ ㅝ ㅞ ㅟ ㅢ
+    private static final int[][] VOWEL_PARTS = new int[VOWEL_COUNT][];
+    // 종성 -> 같은 소리의 초성 번호. 겹받침은 둘로 나눈다.
+    private static final int[][] FINAL_PARTS = {
+            {}, {0}, {1}, {0, 9}, {2}, {2, 12}, {2, 18}, {3}, {5}, {5, 0}, {5, 6}, {5, 7}, {5, 9}, {5, 16},
+            {5, 17}, {5, 18}, {6}, {7}, {7, 9}, {9}, {10}, {11}, {12}, {14}, {15}, {16}, {17}, {18}
+    };
+
+    static {
+        for (int vowel = 0; vowel < VOWEL_COUNT; vowel++) {
+            VOWEL_PARTS[vowel] = new int[]{vowel};
+        }
+        VOWEL_PARTS[9] = new int[]{8, 0};
+        VOWEL_PARTS[10] = new int[]{8, 1};
+        VOWEL_PARTS[11] = new int[]{8, 20};
+        VOWEL_PARTS[14] = new int[]{13, 4};
+        VOWEL_PARTS[15] = new int[]{13, 5};
+        VOWEL_PARTS[16] = new int[]{13, 20};
+        VOWEL_PARTS[19] = new int[]{18, 20};
+    }
+
+    private static void appendInitial(StringBuilder builder, int initial) {
+        builder.append((char) (INITIAL_BASE + initial));
+    }
+
+    private static void appendVowel(StringBuilder builder, int vowel) {
+        for (int part : VOWEL_PARTS[vowel]) {
+            builder.append((char) (VOWEL_BASE + part));
+        }
+    }
+
+    private static void appendFinal(StringBuilder builder, int fin) {
+        for (int part : FINAL_PARTS[fin]) {
+            appendInitial(builder, part);
+        }
+    }
+
+    private static boolean isPunctuation(int codePoint) {
+        switch (Character.getType(codePoint)) {
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.green_action.quiz;
+
+import androidx.annotation.Nullable;
+
+// quiz_database 내용 테이블의 한 문항 (읽기 전용)
+public final class Quiz {
+    public final QuizCategory category;
+    public final int orderIndex;          // 분야 안의 순서 (1부터, 퀴즈 번호)
+    public final String question;
+    @Nullable
+    public final String study;            // 퀴즈 전 학습 내용
+    public final String correctAnswer;
+    @Nullable
+    public final String explanation;
+    public final int maxScore;
+    public final int attemptsAllowed;
+    public final AnswerKey answerKey;     // correctAnswer 를 정규화한 채점용 키 (읽을 때 한 번 계산)
+
+    public Quiz(QuizCategory category, int orderIndex, String question, @Nullable String study, String correctAnswer,
+                @Nullable String explanation, int maxScore, int attemptsAllowed) {
+        this.category = category;
+        this.orderIndex = orderIndex;
+        this.question = question;
+        this.study = study;
+        this.correctAnswer = correctAnswer;
+        this.explanation = explanation;
+        this.maxScore = maxScore;
+        this.attemptsAllowed = attemptsAllowed;
+        this.answerKey = AnswerKey.of(correctAnswer);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.green_action.quiz;
+
+import android.os.Bundle;
+
+import androidx.annotation.ColorRes;
+import androidx.annotation.Nullable;
+
+import com.example.green_action.R;
+
+// 퀴즈 분야와 quiz_database 의 내용 테이블 대응
+// 진행 상태(quiz_progress, users/{uid}/quiz_progress)는 퀴즈 번호 하나로 저장하므로
+// 분야마다 번호 구간을 나눠 쓴다. 대기오염은 기존 기록과 같도록 1번부터 시작한다.
+public enum QuizCategory {
+    AIR("air_pollution_quiz", 0, R.color.airPollution),
+    SOIL("soil_pollution_quiz", 1000, R.color.soilPollution),
+    WATER("water_pollution_quiz", 2000, R.color.waterPollution),
+    PLASTIC("plastic_pollution_quiz", 3000, R.color.plasticPollution);
+
+    // 프래그먼트 인자 이름
+    public static final String ARG = "QUIZ_CATEGORY";
+    // 분야당 진행 상태 번호 구간 크기
+    public static final int KEY_RANGE = 1000;
+
+    public final String table;
+    public final int progressOffset;
+    @ColorRes
+    public final int colorRes;
+
+    QuizCategory(String table, int progressOffset, @ColorRes int colorRes) {
+        this.table = table;
+        this.progressOffset = progressOffset;
+        this.colorRes = colorRes;
+    }
+
+    // 분야 안의 퀴즈 순서(1부터) -> 진행 상태 번호
+    public int progressKey(int orderIndex) {
+        return progressOffset + orderIndex;
+    }
+
+    // 진행 상태 번호 -> 분야 안의 퀴즈 순서. 다른 분야의 번호면 0
+    public int orderIndexOf(int progressKey) {
+        int orderIndex = progressKey - progressOffset;
+        return orderIndex > 0 && orderIndex < KEY_RANGE ? orderIndex : 0;
+    }
+
+    public void putInto(Bundle bundle) {
+        bundle.putString(ARG, name());
+    }
+
+    // 인자가 없으면 기존 화면과 같이 대기오염
+    public static QuizCategory from(@Nullable Bundle arguments) {
+        String name = arguments != null ? arguments.getString(ARG) : null;
+        return name != null ? valueOf(name) : AIR;
+    }
+}
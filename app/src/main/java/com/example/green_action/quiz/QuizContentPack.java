@@ -0,0 +1,231 @@
+package com.example.green_action.quiz;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteDoneException;
+import android.database.sqlite.SQLiteStatement;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.example.green_action.DataBaseHelper;
+import com.example.green_action.QuizSchema;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+// 퀴즈 내용 팩 설치와 갱신 (버전은 content_meta 의 pack_version)
+// - 앱에 포함된 팩(assets/quiz_pack.db, app/quizpack/build_pack.py 로 생성)은 첫 실행 때 한 번 설치한다.
+//   파일로 복사한 뒤 읽기 전용으로 열어 테이블마다 컴파일한 문장 하나로 한 트랜잭션에 옮긴다.
+//   (quiz_database 에 ATTACH 하면 Android 가 그 연결의 WAL 을 꺼 버리므로 ATTACH 하지 않는다)
+// - 이후 변경분은 Firebase quiz_packs/{version} 에서 받아 버전 하나를 한 트랜잭션으로 적용한다.
+//   quiz_packs/{version}/{table}/{order_index} = {question, study, correctAnswer, explanation, maxScore, attemptsAllowed}
+//   또는 {deleted: true}
+// 모든 메서드는 QuizRepository 의 DB 스레드에서 호출한다.
+final class QuizContentPack {
+
+    private static final String TAG = "QuizContentPack";
+
+    // assets/quiz_pack.db 의 pack_info.version 과 같아야 한다.
+    static final int BUNDLED_VERSION = 1;
+    static final String ASSET_NAME = "quiz_pack.db";
+
+    private static final String META_PACK_VERSION = "pack_version";
+    private static final String CONTENT_COLUMNS =
+            "question, study, correct_answer, correct_answer_length, explanation, max_score, attempts_allowed, order_index";
+
+    // 첫 설치 예산. 넘으면 경고 로그를 남긴다.
+    private static final long INSTALL_BUDGET_MS = 300;
+    private static final long INSTALL_BUDGET_BYTES = 512 * 1024;
+
+    private final Context context;
+    private final DataBaseHelper helper;
+
+    QuizContentPack(Context context, DataBaseHelper helper) {
+        this.context = context;
+        this.helper = helper;
+    }
+
+    @WorkerThread
+    int installedVersion() {
+        SQLiteDatabase db = helper.getReadableDatabase();
+        try (SQLiteStatement statement = db.compileStatement("SELECT meta_value FROM " + QuizSchema.TABLE_CONTENT_META + " WHERE meta_key = ?")) {
+            statement.bindString(1, META_PACK_VERSION);
+            return (int) statement.simpleQueryForLong();
+        } catch (SQLiteDoneException e) {
+            return 0;
+        }
+    }
+
+    // 포함된 팩이 설치된 버전보다 새로우면 설치. 설치했으면 true
+    @WorkerThread
+    boolean installBundledPack() {
+        if (installedVersion() >= BUNDLED_VERSION) {
+            return false;
+        }
+        long start = SystemClock.elapsedRealtime();
+        File packFile = new File(context.getCacheDir(), ASSET_NAME);
+        long bytesCopied;
+        try {
+            bytesCopied = copyAsset(packFile);
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to copy bundled quiz pack", e);
+            return false;
+        }
+
+        int rows = 0;
+        boolean installed = false;
+        SQLiteDatabase db = helper.getWritableDatabase();
+        try (SQLiteDatabase pack = SQLiteDatabase.openDatabase(packFile.getPath(), null, SQLiteDatabase.OPEN_READONLY)) {
+            int packVersion = readPackVersion(pack);
+            if (packVersion != BUNDLED_VERSION) {
+                Log.e(TAG, "Bundled pack version " + packVersion + " != " + BUNDLED_VERSION);
+                return false;
+            }
+            db.beginTransaction();
+            try {
+                for (QuizCategory category : QuizCategory.values()) {
+                    rows += copyTable(pack, db, category.table);
+                }
+                setInstalledVersion(db, packVersion);
+                db.setTransactionSuccessful();
+                installed = true;
+            } finally {
+                db.endTransaction();
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to install bundled quiz pack", e);
+        } finally {
+            //noinspection ResultOfMethodCallIgnored
+            packFile.delete();
+        }
+
+        long elapsed = SystemClock.elapsedRealtime() - start;
+        Log.i(TAG, "Bundled quiz pack v" + BUNDLED_VERSION + ": " + rows + " rows, " + bytesCopied + " bytes copied, " + elapsed + " ms");
+        if (elapsed > INSTALL_BUDGET_MS || bytesCopied > INSTALL_BUDGET_BYTES) {
+            Log.w(TAG, "Quiz pack install over budget (" + INSTALL_BUDGET_MS + " ms / " + INSTALL_BUDGET_BYTES + " bytes)");
+        }
+        return installed;
+    }
+
+    // Firebase 에서 받은 한 버전의 변경분을 한 트랜잭션으로 적용. 이미 적용된 버전이면 false
+    @WorkerThread
+    boolean applyDelta(Delta delta) {
+        SQLiteDatabase db = helper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            if (installedVersion() >= delta.version) {
+                return false;
+            }
+            for (Row row : delta.rows) {
+                db.execSQL("DELETE FROM " + row.category.table + " WHERE order_index = ?", new Object[]{row.orderIndex});
+                if (!row.deleted) {
+                    db.execSQL("INSERT INTO " + row.category.table + " (" + CONTENT_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                            new Object[]{row.question, row.study, row.correctAnswer, row.correctAnswer.split("\\|", -1)[0].length(),
+                                    row.explanation, row.maxScore, row.attemptsAllowed, row.orderIndex});
+                }
+            }
+            setInstalledVersion(db, delta.version);
+            db.setTransactionSuccessful();
+            Log.i(TAG, "Applied quiz pack delta v" + delta.version + " (" + delta.rows.size() + " rows)");
+            return true;
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to apply quiz pack delta v" + delta.version, e);
+            return false;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private long copyAsset(File target) throws IOException {
+        long total = 0;
+        byte[] buffer = new byte[16 * 1024];
+        try (InputStream in = context.getAssets().open(ASSET_NAME);
+             OutputStream out = new FileOutputStream(target)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                total += read;
+            }
+        }
+        return total;
+    }
+
+    private static int readPackVersion(SQLiteDatabase pack) {
+        try (Cursor cursor = pack.rawQuery("SELECT version FROM pack_info", null)) {
+            return cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        }
+    }
+
+    // 팩에 있는 순서(order_index)의 문항만 교체한다.
+    private static int copyTable(SQLiteDatabase pack, SQLiteDatabase db, String table) {
+        int rows = 0;
+        try (Cursor cursor = pack.rawQuery("SELECT " + CONTENT_COLUMNS + " FROM " + table, null);
+             SQLiteStatement delete = db.compileStatement("DELETE FROM " + table + " WHERE order_index = ?");
+             SQLiteStatement insert = db.compileStatement("INSERT INTO " + table + " (" + CONTENT_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            while (cursor.moveToNext()) {
+                delete.bindLong(1, cursor.getLong(7));
+                delete.executeUpdateDelete();
+                insert.clearBindings();
+                for (int i = 0; i < 8; i++) {
+                    if (!cursor.isNull(i)) {
+                        insert.bindString(i + 1, cursor.getString(i));
+                    }
+                }
+                insert.executeInsert();
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static void setInstalledVersion(SQLiteDatabase db, int version) {
+        db.execSQL("INSERT OR REPLACE INTO " + QuizSchema.TABLE_CONTENT_META + " (meta_key, meta_value) VALUES (?, ?)",
+                new Object[]{META_PACK_VERSION, version});
+    }
+
+    // quiz_packs/{version} 한 개
+    static final class Delta {
+        final int version;
+        final List<Row> rows = new ArrayList<>();
+
+        Delta(int version) {
+            this.version = version;
+        }
+    }
+
+    static final class Row {
+        final QuizCategory category;
+        final int orderIndex;
+        final boolean deleted;
+        final String question;
+        @Nullable
+        final String study;
+        final String correctAnswer;
+        @Nullable
+        final String explanation;
+        final int maxScore;
+        final int attemptsAllowed;
+
+        Row(QuizCategory category, int orderIndex, boolean deleted, String question, @Nullable String study,
+            String correctAnswer, @Nullable String explanation, int maxScore, int attemptsAllowed) {
+            this.category = category;
+            this.orderIndex = orderIndex;
+            this.deleted = deleted;
+            this.question = question;
+            this.study = study;
+            this.correctAnswer = correctAnswer;
+            this.explanation = explanation;
+            this.maxScore = maxScore;
+            this.attemptsAllowed = attemptsAllowed;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.green_action.quiz;
+
+import androidx.annotation.Nullable;
+
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Map;
+
+// 한 분야의 퀴즈 진행 상태 (users/{uid}/quiz_bits/{분야} = {bits, last})
+// - bits: 푼 퀴즈 비트열을 base64 로. 비트 i = 퀴즈 i+1 (BitSet.toByteArray, 리틀 엔디언)
+// - last: 마지막으로 푼(가장 큰 번호) 퀴즈. 0 = 없음
+// 퀴즈 300개를 모두 풀어도 bits 는 52자다. (예전 quiz_progress 는 퀴즈마다 자식 하나)
+// 퀴즈는 순서대로 열리므로 다음에 열리는 퀴즈는 last + 1 이다.
+public final class QuizProgress {
+
+    private static final QuizProgress EMPTY = new QuizProgress(new BitSet());
+
+    private final BitSet bits;
+    private final int lastSolved;
+
+    private QuizProgress(BitSet bits) {
+        this.bits = bits;
+        this.lastSolved = bits.length(); // 가장 높은 비트 + 1 = 마지막 퀴즈 번호
+    }
+
+    public static QuizProgress empty() {
+        return EMPTY;
+    }
+
+    // 저장된 형식에서 읽기. bits 가 올바른 base64 가 아니면 IllegalArgumentException
+    public static QuizProgress decode(@Nullable String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return EMPTY;
+        }
+        return new QuizProgress(BitSet.valueOf(Base64.getDecoder().decode(encoded)));
+    }
+
+    // 예전 형식 (진행 상태 번호 -> 해결 여부) 에서 이 분야만 골라낸다.
+    public static QuizProgress fromLegacy(QuizCategory category, Map<Integer, Boolean> legacy) {
+        BitSet bits = new BitSet();
+        for (Map.Entry<Integer, Boolean> entry : legacy.entrySet()) {
+            int orderIndex = category.orderIndexOf(entry.getKey());
+            if (orderIndex > 0 && Boolean.TRUE.equals(entry.getValue())) {
+                bits.set(orderIndex - 1);
+            }
+        }
+        return new QuizProgress(bits);
+    }
+
+    // 로컬 진행 상태 (bit = 진행 상태 번호, DataBaseHandler.loadAllProgress) 에서 이 분야만 골라낸다.
+    public static QuizProgress fromProgressKeys(QuizCategory category, BitSet progressKeys) {
+        int from = category.progressKey(1);
+        return new QuizProgress(progressKeys.get(from, category.progressOffset + QuizCategory.KEY_RANGE));
+    }
+
+    public String encode() {
+        return Base64.getEncoder().encodeToString(bits.toByteArray());
+    }
+
+    public boolean isSolved(int orderIndex) {
+        return orderIndex > 0 && bits.get(orderIndex - 1);
+    }
+
+    // 마지막으로 푼 퀴즈 번호 (없으면 0)
+    public int lastSolved() {
+        return lastSolved;
+    }
+
+    // 지금 풀 수 있는 마지막 퀴즈 번호
+    public int nextUnlocked() {
+        return lastSolved + 1;
+    }
+
+    public int solvedCount() {
+        return bits.cardinality();
+    }
+
+    public QuizProgress withSolved(int orderIndex) {
+        if (isSolved(orderIndex)) {
+            return this;
+        }
+        BitSet copy = (BitSet) bits.clone();
+        copy.set(orderIndex - 1);
+        return new QuizProgress(copy);
+    }
+
+    // previous 와 비교해 화면 모양이 달라지는 퀴즈 번호 (bit = 퀴즈 번호)
+    // 푼 여부가 바뀐 퀴즈와, 열림/잠금이 바뀐 구간 (nextUnlocked 사이) 만 들어간다.
+    public BitSet changedOrders(QuizProgress previous) {
+        BitSet changed = new BitSet();
+        BitSet flipped = (BitSet) bits.clone();
+        flipped.xor(previous.bits);
+        for (int i = flipped.nextSetBit(0); i >= 0; i = flipped.nextSetBit(i + 1)) {
+            changed.set(i + 1);
+        }
+        int low = Math.min(previous.nextUnlocked(), nextUnlocked());
+        int high = Math.max(previous.nextUnlocked(), nextUnlocked());
+        if (low < high) {
+            changed.set(low + 1, high + 1);
+        }
+        return changed;
+    }
+
+    // 진행 상태 번호 비트열로 (로컬 DB 반영용)
+    public void addProgressKeysTo(QuizCategory category, BitSet progressKeys) {
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            progressKeys.set(category.progressKey(i + 1));
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.green_action.quiz;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.example.green_action.DataBaseHelper;
+import com.example.green_action.remote.FirebaseRepository;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 네 분야의 퀴즈 문항/학습 내용/정답을 quiz_database 에서 읽는다. (네트워크 없음)
+// - (order_index) 색인으로 문항 하나만 읽는다.
+// - 읽은 문항은 메모리 LRU 에 두고, 학습 화면에서 다음 문항을 미리 읽어 둔다(prefetch).
+// 문항 추가/수정은 테이블 내용만 바꾸면 되고 코드 변경이 필요 없다.
+// 내용은 QuizContentPack 이 채운다. (첫 실행 때 포함된 팩, 이후 Firebase quiz_packs 변경분)
+public final class QuizRepository {
+
+    private static final String TAG = "QuizRepository";
+    private static final int CACHE_SIZE = 16; // 문항 수 기준
+
+    private static QuizRepository instance;
+
+    private final DataBaseHelper helper;
+    // 모든 읽기를 순서대로 처리하는 단일 스레드 (prefetch 뒤의 요청은 캐시에서 바로 끝난다)
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final LruCache<String, Quiz> cache = new LruCache<>(CACHE_SIZE);
+    private final QuizContentPack contentPack;
+    private boolean firstQuizLogged = false;
+
+    private QuizRepository(Context context) {
+        helper = DataBaseHelper.getInstance(context);
+        contentPack = new QuizContentPack(context, helper);
+        // 같은 스레드라 이후의 모든 읽기는 설치가 끝난 뒤에 실행된다.
+        executor.execute(() -> {
+            if (contentPack.installBundledPack()) {
+                cache.evictAll();
+            }
+        });
+    }
+
+    public static synchronized QuizRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new QuizRepository(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    // 문항 읽기. 캐시에 있으면 바로, 없으면 DB 에서 읽어 메인 스레드로 전달 (없는 문항이면 null)
+    public void getQuiz(QuizCategory category, int orderIndex, Callback callback) {
+        Quiz cached = cache.get(key(category, orderIndex));
+        if (cached != null) {
+            callback.onQuizLoaded(cached);
+            return;
+        }
+        executor.execute(() -> {
+            Quiz quiz = loadNow(category, orderIndex);
+            mainHandler.post(() -> {
+                logFirstQuiz();
+                callback.onQuizLoaded(quiz);
+            });
+        });
+    }
+
+    // 콜드 스타트 측정: 프로세스 시작부터 첫 문항이 화면에 전달될 때까지
+    private void logFirstQuiz() {
+        if (!firstQuizLogged) {
+            firstQuizLogged = true;
+            Log.i(TAG, "First quiz ready " + (SystemClock.elapsedRealtime() - Process.getStartElapsedRealtime()) + " ms after process start");
+        }
+    }
+
+    // Firebase quiz_packs 에서 설치된 버전 이후의 변경분을 받아 버전 순서대로 적용 (앱 시작 시 한 번)
+    public void syncContentUpdates() {
+        executor.execute(() -> {
+            int installed = contentPack.installedVersion();
+            Query newer = FirebaseRepository.getInstance().getQuizPacksRef()
+                    .orderByKey()
+                    .startAfter(String.valueOf(installed));
+            FirebaseRepository.getInstance().readOnce(newer, new ValueEventListener() {
+                @Override
+                public void onDataChange(@NonNull DataSnapshot snapshot) {
+                    List<QuizContentPack.Delta> deltas = new ArrayList<>();
+                    for (DataSnapshot versionSnapshot : snapshot.getChildren()) {
+                        QuizContentPack.Delta delta = parseDelta(versionSnapshot);
+                        if (delta != null) {
+                            deltas.add(delta);
+                        }
+                    }
+                    if (deltas.isEmpty()) {
+                        return;
+                    }
+                    executor.execute(() -> {
+                        boolean changed = false;
+                        for (QuizContentPack.Delta delta : deltas) {
+                            changed |= contentPack.applyDelta(delta);
+                        }
+                        if (changed) {
+                            cache.evictAll();
+                        }
+                    });
+                }
+
+                @Override
+                public void onCancelled(@NonNull DatabaseError error) {
+                    Log.w(TAG, "Quiz pack check failed: " + error.getMessage());
+                }
+            });
+        });
+    }
+
+    // quiz_packs/{version} -> Delta. 형식이 맞지 않으면 버전 전체를 건너뛴다. (일부만 적용하지 않는다)
+    @Nullable
+    private static QuizContentPack.Delta parseDelta(DataSnapshot versionSnapshot) {
+        try {
+            QuizContentPack.Delta delta = new QuizContentPack.Delta(Integer.parseInt(versionSnapshot.getKey()));
+            for (DataSnapshot tableSnapshot : versionSnapshot.getChildren()) {
+                QuizCategory category = categoryForTable(tableSnapshot.getKey());
+                if (category == null) {
+                    throw new IllegalArgumentException("Unknown quiz table: " + tableSnapshot.getKey());
+                }
+                for (DataSnapshot quizSnapshot : tableSnapshot.getChildren()) {
+                    int orderIndex = Integer.parseInt(quizSnapshot.getKey());
+                    if (Boolean.TRUE.equals(quizSnapshot.child("deleted").getValue(Boolean.class))) {
+                        delta.rows.add(new QuizContentPack.Row(category, orderIndex, true, "", null, "", null, 0, 0));
+                        continue;
+                    }
+                    String question = quizSnapshot.child("question").getValue(String.class);
+                    String correctAnswer = quizSnapshot.child("correctAnswer").getValue(String.class);
+                    if (question == null || correctAnswer == null) {
+                        throw new IllegalArgumentException("Missing question/correctAnswer: " + quizSnapshot.getRef());
+                    }
+                    Integer maxScore = quizSnapshot.child("maxScore").getValue(Integer.class);
+                    Integer attemptsAllowed = quizSnapshot.child("attemptsAllowed").getValue(Integer.class);
+                    delta.rows.add(new QuizContentPack.Row(category, orderIndex, false, question,
+                            quizSnapshot.child("study").getValue(String.class), correctAnswer,
+                            quizSnapshot.child("explanation").getValue(String.class),
+                            maxScore != null ? maxScore : 3, attemptsAllowed != null ? attemptsAllowed : 3));
+                }
+            }
+            return delta;
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Skipping malformed quiz pack " + versionSnapshot.getKey(), e);
+            return null;
+        }
+    }
+
+    @Nullable
+    private static QuizCategory categoryForTable(@Nullable String table) {
+        for (QuizCategory category : QuizCategory.values()) {
+            if (category.table.equals(table)) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+    // 곧 열 문항을 미리 캐시에 올린다.
+    public void prefetch(QuizCategory category, int orderIndex) {
+        if (cache.get(key(category, orderIndex)) == null) {
+            executor.execute(() -> loadNow(category, orderIndex));
+        }
+    }
+
+    // 분야의 문항 수 (가장 큰 order_index). 퀴즈 목록 격자의 칸 수
+    @WorkerThread
+    int countNow(QuizCategory category) {
+        try (Cursor cursor = helper.getReadableDatabase().rawQuery(
+                "SELECT IFNULL(MAX(order_index), 0) FROM " + category.table, null)) {
+            return cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        } catch (Exception e) {
+            Log.e(TAG, "Error counting quizzes in " + category.table, e);
+            return 0;
+        }
+    }
+
+    // 내용이 바뀌었을 때 캐시 비우기
+    public void invalidate() {
+        cache.evictAll();
+    }
+
+    @WorkerThread
+    @Nullable
+    Quiz loadNow(QuizCategory category, int orderIndex) {
+        String key = key(category, orderIndex);
+        Quiz cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Quiz quiz = null;
+        try (Cursor cursor = helper.getReadableDatabase().rawQuery(
+                "SELECT question, study, correct_answer, explanation, max_score, attempts_allowed FROM " + category.table +
+                        " WHERE order_index = ? LIMIT 1", new String[]{String.valueOf(orderIndex)})) {
+            if (cursor.moveToFirst()) {
+                quiz = new Quiz(category, orderIndex,
+                        cursor.getString(0),
+                        cursor.isNull(1) ? null : cursor.getString(1),
+                        cursor.getString(2),
+                        cursor.isNull(3) ? null : cursor.getString(3),
+                        cursor.getInt(4),
+                        cursor.getInt(5));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error loading quiz " + key, e);
+        }
+        if (quiz != null) {
+            cache.put(key, quiz);
+        }
+        return quiz;
+    }
+
+    private static String key(QuizCategory category, int orderIndex) {
+        return category.name() + ":" + orderIndex;
+    }
+
+    public interface Callback {
+        void onQuizLoaded(@Nullable Quiz quiz);
+    }
+}
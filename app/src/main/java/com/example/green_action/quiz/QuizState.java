@@ -0,0 +1,14 @@
+package com.example.green_action.quiz;
+
+// 퀴즈 목록 화면이 그리는 한 분야의 상태 (불변, QuizStateStore 가 백그라운드에서 만든다)
+public final class QuizState {
+    public final QuizCategory category;
+    public final QuizProgress progress;  // 푼 퀴즈, 열린 구간 (nextUnlocked)
+    public final int quizCount;          // 분야의 문항 수
+
+    QuizState(QuizCategory category, QuizProgress progress, int quizCount) {
+        this.category = category;
+        this.progress = progress;
+        this.quizCount = quizCount;
+    }
+}
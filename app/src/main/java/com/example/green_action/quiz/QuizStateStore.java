@@ -0,0 +1,170 @@
+package com.example.green_action.quiz;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.example.green_action.DataBaseHandler;
+import com.example.green_action.remote.WriteBehindQueue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 분야별 퀴즈 상태(QuizState)의 유일한 출처
+// - 로컬 DB 읽기/쓰기와 상태 계산은 전용 스레드 하나에서 순서대로 하고, 완성된 불변 상태만 메인 스레드로 보낸다.
+// - 화면은 observe() 로 받아 그리기만 한다. (메인 스레드에서 SQLite 를 건드리지 않는다)
+// - 퀴즈를 맞히거나 클라우드 진행 상태를 받으면 새 상태를 한 번 만들어 보낸다.
+public final class QuizStateStore {
+
+    private static final String TAG = "QuizStateStore";
+
+    public interface Observer {
+        void onQuizState(QuizState state);
+    }
+
+    public interface SolveCallback {
+        // firstSolve: 이번에 처음 푼 퀴즈인지 (점수는 처음 풀 때만)
+        void onSolved(boolean firstSolve);
+    }
+
+    private static QuizStateStore instance;
+
+    private final DataBaseHandler dbHandler;
+    private final QuizRepository quizRepository;
+    private final WriteBehindQueue writeQueue;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // 메인 스레드에서만 사용
+    private final Map<QuizCategory, QuizState> published = new EnumMap<>(QuizCategory.class);
+    private final Map<QuizCategory, List<Observer>> observers = new EnumMap<>(QuizCategory.class);
+
+    private QuizStateStore(Context context) {
+        dbHandler = DataBaseHandler.getInstance(context);
+        quizRepository = QuizRepository.getInstance(context);
+        writeQueue = WriteBehindQueue.getInstance(context);
+    }
+
+    public static synchronized QuizStateStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new QuizStateStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    // owner 가 끝날 때까지 category 의 상태를 받는다. 이미 만든 상태가 있으면 바로 한 번 받고, 새로 계산도 요청한다.
+    @MainThread
+    public void observe(LifecycleOwner owner, QuizCategory category, Observer observer) {
+        if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            return;
+        }
+        List<Observer> list = observers.get(category);
+        if (list == null) {
+            list = new ArrayList<>();
+            observers.put(category, list);
+        }
+        list.add(observer);
+        owner.getLifecycle().addObserver(new LifecycleEventObserver() {
+            @Override
+            public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+                if (event == Lifecycle.Event.ON_DESTROY) {
+                    source.getLifecycle().removeObserver(this);
+                    List<Observer> current = observers.get(category);
+                    if (current != null) {
+                        current.remove(observer);
+                    }
+                }
+            }
+        });
+        QuizState state = published.get(category);
+        if (state != null) {
+            observer.onQuizState(state);
+        }
+        executor.execute(() -> publish(compute(category)));
+    }
+
+    // 퀴즈를 맞혔을 때: 로컬 DB 기록, Firebase 대기열 기록, 새 상태 발행을 한 번에
+    public void markSolved(@Nullable String userId, QuizCategory category, int orderIndex, int score,
+                           @Nullable SolveCallback callback) {
+        executor.execute(() -> {
+            int progressKey = category.progressKey(orderIndex);
+            boolean firstSolve = !dbHandler.getQuizStatus(progressKey);
+            dbHandler.updateQuizStatus(progressKey, true);
+            QuizState state = compute(category);
+            if (userId != null) {
+                writeQueue.recordQuizSolved(userId, category, state.progress, firstSolve ? score : 0);
+            }
+            publish(state);
+            if (callback != null) {
+                mainHandler.post(() -> callback.onSolved(firstSolve));
+            }
+        });
+    }
+
+    // 클라우드 진행 상태를 합친다. 푼 퀴즈만 더하므로 아직 보내지 않은 로컬 기록은 그대로다.
+    public void mergeCloud(Map<QuizCategory, QuizProgress> cloud) {
+        Map<QuizCategory, QuizProgress> copy = new EnumMap<>(QuizCategory.class);
+        copy.putAll(cloud);
+        executor.execute(() -> {
+            BitSet cloudKeys = new BitSet();
+            for (Map.Entry<QuizCategory, QuizProgress> entry : copy.entrySet()) {
+                entry.getValue().addProgressKeysTo(entry.getKey(), cloudKeys);
+            }
+            Map<Integer, Boolean> snapshot = new HashMap<>();
+            for (int key = cloudKeys.nextSetBit(0); key >= 0; key = cloudKeys.nextSetBit(key + 1)) {
+                snapshot.put(key, true);
+            }
+            dbHandler.applyProgressSnapshot(snapshot);
+            BitSet local = dbHandler.loadAllProgress();
+            for (QuizCategory category : QuizCategory.values()) {
+                publish(new QuizState(category, QuizProgress.fromProgressKeys(category, local), quizRepository.countNow(category)));
+            }
+        });
+    }
+
+    // 로그아웃: 로컬 진행 상태를 지우고 빈 상태를 발행한다. 다음 계정의 기록은 mergeCloud 로 다시 채워진다.
+    public void clearLocalProgress() {
+        executor.execute(() -> {
+            dbHandler.clearProgress();
+            for (QuizCategory category : QuizCategory.values()) {
+                publish(compute(category));
+            }
+        });
+    }
+
+    @WorkerThread
+    private QuizState compute(QuizCategory category) {
+        return new QuizState(category, QuizProgress.fromProgressKeys(category, dbHandler.loadAllProgress()),
+                quizRepository.countNow(category));
+    }
+
+    @WorkerThread
+    private void publish(QuizState state) {
+        mainHandler.post(() -> {
+            published.put(state.category, state);
+            List<Observer> list = observers.get(state.category);
+            if (list == null || list.isEmpty()) {
+                return;
+            }
+            Log.d(TAG, state.category + ": " + state.progress.solvedCount() + "/" + state.quizCount + " solved");
+            for (Observer observer : new ArrayList<>(list)) {
+                observer.onQuizState(state);
+            }
+        });
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.green_action.remote;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.green_action.Community.BoardPagingSource;
+import com.example.green_action.R;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.Query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Firebase Realtime Database 디스크 캐시 설정과 keepSynced 정책
+// - 앱 시작 시(Application.onCreate) 한 번 configure() 를 호출한다. 그 전에 FirebaseDatabase 를 사용하면 안 된다.
+// - 캐시 한도는 R.integer.firebase_cache_size_mb 로 조정한다.
+// - Policy 에 나열된 경로는 화면이 없어도 동기화 상태를 유지해, 다음 실행 때 디스크 캐시에서 바로 읽힌다.
+// 캐시 적중/실패 집계는 RepositoryMetrics 의 cacheHits/cacheMisses 로 확인한다.
+public final class FirebasePersistence {
+
+    private static final String TAG = "FirebasePersistence";
+    private static final long MB = 1024L * 1024L;
+    // Firebase 가 허용하는 캐시 크기 범위
+    private static final long MIN_CACHE_BYTES = MB;
+    private static final long MAX_CACHE_BYTES = 100 * MB;
+
+    private static boolean configured = false;
+
+    // 현재 로그인 사용자 기준으로 동기화 중인 쿼리
+    private static final List<Query> userQueries = new ArrayList<>();
+    @Nullable
+    private static String syncedUserId;
+
+    private FirebasePersistence() {
+    }
+
+    public static synchronized void configure(Context context) {
+        if (configured) {
+            return;
+        }
+        configured = true;
+
+        long cacheBytes = clampCacheSize(context.getResources().getInteger(R.integer.firebase_cache_size_mb) * MB);
+        FirebaseDatabase database = FirebaseDatabase.getInstance();
+        database.setPersistenceEnabled(true);
+        database.setPersistenceCacheSizeBytes(cacheBytes);
+        Log.d(TAG, "Persistence enabled, cache budget " + cacheBytes + " bytes");
+
+        FirebaseRepository repository = FirebaseRepository.getInstance();
+        for (Policy policy : Policy.values()) {
+            if (!policy.perUser) {
+                for (Query query : policy.queries(repository, null)) {
+                    query.keepSynced(true);
+                }
+            }
+        }
+
+        // 사용자별 경로는 로그인/로그아웃에 맞춰 바꾼다.
+        FirebaseAuth.getInstance().addAuthStateListener(auth -> {
+            FirebaseUser user = auth.getCurrentUser();
+            onUserChanged(repository, user != null ? user.getUid() : null);
+        });
+    }
+
+    private static synchronized void onUserChanged(FirebaseRepository repository, @Nullable String userId) {
+        if (userId == null ? syncedUserId == null : userId.equals(syncedUserId)) {
+            return;
+        }
+        for (Query query : userQueries) {
+            query.keepSynced(false);
+        }
+        userQueries.clear();
+        syncedUserId = userId;
+        if (userId == null) {
+            return;
+        }
+        for (Policy policy : Policy.values()) {
+            if (policy.perUser) {
+                for (Query query : policy.queries(repository, userId)) {
+                    query.keepSynced(true);
+                    userQueries.add(query);
+                }
+            }
+        }
+    }
+
+    static long clampCacheSize(long bytes) {
+        return Math.max(MIN_CACHE_BYTES, Math.min(MAX_CACHE_BYTES, bytes));
+    }
+
+    // keepSynced 정책 표
+    enum Policy {
+        // users/{me}: 프로필과 그 아래 quiz_bits 를 함께 유지
+        USER_PROFILE(true) {
+            @Override
+            List<Query> queries(FirebaseRepository repository, @Nullable String userId) {
+                return Collections.singletonList(repository.getUserRef(userId));
+            }
+        },
+        // users/{me}/quiz_bits: 상위 경로와 겹치지만 프로필 정책이 빠져도 유지되도록 따로 둔다.
+        QUIZ_PROGRESS(true) {
+            @Override
+            List<Query> queries(FirebaseRepository repository, @Nullable String userId) {
+                return Collections.singletonList(repository.getQuizBitsRef(userId));
+            }
+        },
+        // 홈 화면의 게시판 요약 (board_heads)
+        BOARD_HEAD_SUMMARY(false) {
+            @Override
+            List<Query> queries(FirebaseRepository repository, @Nullable String userId) {
+                return Collections.singletonList(repository.getBoardHeadsRef());
+            }
+        },
+        // 게시판별 최신 페이지 (BoardPagingSource 의 첫 head 쿼리와 같은 쿼리여야 캐시가 재사용된다)
+        BOARD_HEADS(false) {
+            @Override
+            List<Query> queries(FirebaseRepository repository, @Nullable String userId) {
+                List<Query> queries = new ArrayList<>();
+                for (String boardType : FirebaseRepository.BOARD_TYPES) {
+                    queries.add(repository.getBoardRef(boardType)
+                            .orderByChild("timestamp")
+                            .limitToLast(BoardPagingSource.DEFAULT_PAGE_SIZE));
+                }
+                return queries;
+            }
+        };
+
+        final boolean perUser;
+
+        Policy(boolean perUser) {
+            this.perUser = perUser;
+        }
+
+        abstract List<Query> queries(FirebaseRepository repository, @Nullable String userId);
+    }
+}
@@ -0,0 +1,757 @@
+package com.example.green_action.remote;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.green_action.Community.BoardHead;
+import com.example.green_action.Community.BoardPagingSource;
+import com.example.green_action.Community.CommunityPostItem;
+import com.example.green_action.DailyQuiz;
+import com.example.green_action.Ranking;
+import com.example.green_action.User;
+import com.example.green_action.quiz.QuizCategory;
+import com.example.green_action.quiz.QuizProgress;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.Transaction;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// 앱 전체에서 하나만 사용하는 Firebase Realtime Database 접근 계층
+// - 경로 참조(users, {board}_posts, board_heads, ranking, daily_quiz, likes ...)를 한 곳에서 소유
+// - 같은 경로에 대한 동시 단발성 읽기는 하나의 요청으로 합침
+// - 리스너 등록/해제는 Cancellable 로 돌려주어 호출한 쪽에서 정리할 수 있게 함
+// - 경로별 읽기/쓰기/전송량과 디스크 캐시 적중 여부를 RepositoryMetrics 에 기록 (디버그 빌드에서만)
+// 모든 메서드는 메인 스레드에서 호출해야 한다.
+public class FirebaseRepository {
+
+    private static final String TAG = "FirebaseRepository";
+
+    // 커뮤니티 게시판 유형 ({board}_posts)
+    public static final String[] BOARD_TYPES = {"issue", "free", "notice", "qna"};
+
+    private static FirebaseRepository instance;
+
+    private final DatabaseReference rootRef;
+    private final DatabaseReference usersRef;
+    private final DatabaseReference rankingRef;
+    private final DatabaseReference dailyQuizRef;
+    private final DatabaseReference likesRef;
+    private final DatabaseReference likeCountsRef;
+    private final DatabaseReference boardHeadsRef;
+    // 이번 프로세스에서 backfillBoardHead 를 요청한 게시판
+    private final Set<String> backfilledBoards = Collections.synchronizedSet(new HashSet<>());
+    // 이번 프로세스에서 backfillCommentCount 를 요청한 게시물
+    private final Set<String> backfilledCommentCounts = Collections.synchronizedSet(new HashSet<>());
+
+    private final RepositoryMetrics metrics = new RepositoryMetrics();
+    // 경로별로 진행 중인 단발성 읽기와 그 결과를 기다리는 요청들
+    private final Map<String, List<PendingRead<?>>> inFlight = new HashMap<>();
+    // 서버 연결 여부 (.info/connected). 연결 전에 전달된 이벤트는 디스크 캐시에서 온 것이다.
+    private volatile boolean connected = false;
+
+    private FirebaseRepository() {
+        rootRef = FirebaseDatabase.getInstance().getReference();
+        usersRef = rootRef.child("users");
+        rankingRef = rootRef.child("ranking");
+        dailyQuizRef = rootRef.child("daily_quiz");
+        likesRef = rootRef.child("likes");
+        likeCountsRef = rootRef.child("like_counts");
+        boardHeadsRef = rootRef.child("board_heads");
+
+        rootRef.getDatabase().getReference(".info/connected").addValueEventListener(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                connected = Boolean.TRUE.equals(snapshot.getValue(Boolean.class));
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.w(TAG, "Connection state unavailable: " + error.getMessage());
+            }
+        });
+    }
+
+    public static synchronized FirebaseRepository getInstance() {
+        if (instance == null) {
+            instance = new FirebaseRepository();
+        }
+        return instance;
+    }
+
+    public RepositoryMetrics getMetrics() {
+        return metrics;
+    }
+
+    // 서버에 연결되어 있는지 (.info/connected)
+    public boolean isConnected() {
+        return connected;
+    }
+
+    // ----- 경로 참조 -----
+
+    public DatabaseReference getRootRef() {
+        return rootRef;
+    }
+
+    public DatabaseReference getUserRef(String userId) {
+        return usersRef.child(userId);
+    }
+
+    // 예전 진행 상태 형식 (퀴즈마다 자식 하나). loadQuizProgress 가 quiz_bits 로 옮긴다.
+    public DatabaseReference getQuizProgressRef(String userId) {
+        return usersRef.child(userId).child("quiz_progress");
+    }
+
+    // 분야별 진행 상태 비트열 (quiz_bits/{분야} = {bits, last}, QuizProgress)
+    public DatabaseReference getQuizBitsRef(String userId) {
+        return usersRef.child(userId).child("quiz_bits");
+    }
+
+    // boardType에 따른 게시글 참조 가져오기
+    public DatabaseReference getBoardRef(String boardType) {
+        for (String type : BOARD_TYPES) {
+            if (type.equals(boardType)) {
+                return rootRef.child(boardType + "_posts");
+            }
+        }
+        throw new IllegalArgumentException("Invalid board type: " + boardType);
+    }
+
+    // 퀴즈 내용 변경분 (quiz_packs/{version})
+    public DatabaseReference getQuizPacksRef() {
+        return rootRef.child("quiz_packs");
+    }
+
+    // 게시판별 최신 글/글 수 요약 (board_heads/{boardType})
+    public DatabaseReference getBoardHeadsRef() {
+        return boardHeadsRef;
+    }
+
+    public DatabaseReference getLikesRef(String postId) {
+        return likesRef.child(postId);
+    }
+
+    public DatabaseReference getLikeCountsRef(String postId) {
+        return likeCountsRef.child(postId);
+    }
+
+    // ----- 읽기 -----
+
+    // 단발성 읽기. 같은 경로에 진행 중인 읽기가 있으면 그 결과를 함께 받는다.
+    public <T> Cancellable read(DatabaseReference ref, Parser<T> parser, Callback<T> callback) {
+        String key = ref.toString();
+        PendingRead<T> pending = new PendingRead<>(parser, callback);
+
+        List<PendingRead<?>> waiters = inFlight.get(key);
+        if (waiters != null) {
+            waiters.add(pending);
+            return pending;
+        }
+        waiters = new ArrayList<>();
+        waiters.add(pending);
+        inFlight.put(key, waiters);
+
+        String path = pathOf(ref);
+        ref.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                metrics.recordRead(path, snapshot);
+                metrics.recordCacheResult(path, !connected);
+                List<PendingRead<?>> list = inFlight.remove(key);
+                if (list != null) {
+                    for (PendingRead<?> read : list) {
+                        read.deliver(snapshot);
+                    }
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                List<PendingRead<?>> list = inFlight.remove(key);
+                if (list != null) {
+                    for (PendingRead<?> read : list) {
+                        read.fail(error);
+                    }
+                }
+            }
+        });
+        return pending;
+    }
+
+    // 쿼리 단발성 읽기 (쿼리 조건이 다양하므로 합치지 않는다)
+    public Cancellable readOnce(Query query, ValueEventListener listener) {
+        String path = pathOf(query);
+        CancellableListener handle = new CancellableListener(null);
+        query.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                metrics.recordRead(path, snapshot);
+                metrics.recordCacheResult(path, !connected);
+                if (!handle.isCancelled()) {
+                    listener.onDataChange(snapshot);
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                if (!handle.isCancelled()) {
+                    listener.onCancelled(error);
+                }
+            }
+        });
+        return handle;
+    }
+
+    // 값 리스너 등록. 반환된 Cancellable 로 해제한다.
+    public Cancellable listen(Query query, ValueEventListener listener) {
+        String path = pathOf(query);
+        ValueEventListener wrapped = new ValueEventListener() {
+            private boolean first = true;
+
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                metrics.recordRead(path, snapshot);
+                if (first) {
+                    first = false;
+                    metrics.recordCacheResult(path, !connected);
+                }
+                listener.onDataChange(snapshot);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                listener.onCancelled(error);
+            }
+        };
+        query.addValueEventListener(wrapped);
+        metrics.recordListenerAttached(path);
+        return new CancellableListener(() -> {
+            query.removeEventListener(wrapped);
+            metrics.recordListenerDetached(path);
+        });
+    }
+
+    // 자식 리스너 등록. 반환된 Cancellable 로 해제한다.
+    public Cancellable listenChildren(Query query, ChildEventListener listener) {
+        String path = pathOf(query);
+        ChildEventListener wrapped = new ChildEventListener() {
+            @Override
+            public void onChildAdded(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                metrics.recordRead(path, snapshot);
+                listener.onChildAdded(snapshot, previousChildName);
+            }
+
+            @Override
+            public void onChildChanged(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                metrics.recordRead(path, snapshot);
+                listener.onChildChanged(snapshot, previousChildName);
+            }
+
+            @Override
+            public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+                listener.onChildRemoved(snapshot);
+            }
+
+            @Override
+            public void onChildMoved(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                listener.onChildMoved(snapshot, previousChildName);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                listener.onCancelled(error);
+            }
+        };
+        query.addChildEventListener(wrapped);
+        metrics.recordListenerAttached(path);
+        return new CancellableListener(() -> {
+            query.removeEventListener(wrapped);
+            metrics.recordListenerDetached(path);
+        });
+    }
+
+    // 사용자 정보 불러오기
+    public Cancellable loadUser(String userId, Callback<User> callback) {
+        return read(getUserRef(userId), snapshot -> snapshot.getValue(User.class), callback);
+    }
+
+    // 사용자 이름만 불러오기 (사용자 노드 전체보다 전송량이 작음)
+    public Cancellable loadUserName(String userId, Callback<String> callback) {
+        return read(getUserRef(userId).child("name"), snapshot -> snapshot.getValue(String.class), callback);
+    }
+
+    // 아이디 중복 확인
+    public Cancellable checkIdExists(String id, Callback<Boolean> callback) {
+        return read(getUserRef(id), DataSnapshot::exists, callback);
+    }
+
+    // 퀴즈 진행 상태 전체 불러오기 (분야 -> 진행 상태, 기록이 없는 분야는 빠진다)
+    // 예전 형식(quiz_progress/{번호} = 1/0)만 있으면 한 번 변환해 quiz_bits 로 옮기고 예전 기록은 지운다.
+    public Cancellable loadQuizProgress(String userId, Callback<Map<QuizCategory, QuizProgress>> callback) {
+        Cancellable[] legacyRequest = new Cancellable[1];
+        boolean[] cancelled = new boolean[1];
+        Cancellable request = read(getQuizBitsRef(userId), snapshot -> snapshot.exists() ? parseQuizBits(snapshot) : null,
+                new Callback<Map<QuizCategory, QuizProgress>>() {
+                    @Override
+                    public void onSuccess(@Nullable Map<QuizCategory, QuizProgress> progress) {
+                        if (progress != null) {
+                            callback.onSuccess(progress);
+                        } else if (!cancelled[0]) {
+                            legacyRequest[0] = migrateLegacyQuizProgress(userId, callback);
+                        }
+                    }
+
+                    @Override
+                    public void onError(@NonNull DatabaseError error) {
+                        callback.onError(error);
+                    }
+                });
+        return () -> {
+            cancelled[0] = true;
+            request.cancel();
+            if (legacyRequest[0] != null) {
+                legacyRequest[0].cancel();
+            }
+        };
+    }
+
+    private Cancellable migrateLegacyQuizProgress(String userId, Callback<Map<QuizCategory, QuizProgress>> callback) {
+        return read(getQuizProgressRef(userId), snapshot -> {
+            Map<Integer, Boolean> legacy = new TreeMap<>();
+            for (DataSnapshot child : snapshot.getChildren()) {
+                try {
+                    Integer value = child.getValue(Integer.class);
+                    legacy.put(Integer.parseInt(child.getKey()), value != null && value == 1);
+                } catch (NumberFormatException e) {
+                    Log.w(TAG, "Ignoring invalid quiz id: " + child.getKey());
+                }
+            }
+            Map<QuizCategory, QuizProgress> progress = new EnumMap<>(QuizCategory.class);
+            for (QuizCategory category : QuizCategory.values()) {
+                QuizProgress categoryProgress = QuizProgress.fromLegacy(category, legacy);
+                if (categoryProgress.solvedCount() > 0) {
+                    progress.put(category, categoryProgress);
+                }
+            }
+            return progress;
+        }, new Callback<Map<QuizCategory, QuizProgress>>() {
+            @Override
+            public void onSuccess(@Nullable Map<QuizCategory, QuizProgress> progress) {
+                if (progress != null && !progress.isEmpty()) {
+                    Map<String, Object> updates = new HashMap<>();
+                    for (Map.Entry<QuizCategory, QuizProgress> entry : progress.entrySet()) {
+                        updates.putAll(quizBitsUpdate(entry.getKey(), entry.getValue()));
+                    }
+                    updates.put("quiz_progress", null);
+                    logResult(updateChildren(getUserRef(userId), updates), "quiz progress migration");
+                }
+                callback.onSuccess(progress);
+            }
+
+            @Override
+            public void onError(@NonNull DatabaseError error) {
+                callback.onError(error);
+            }
+        });
+    }
+
+    private static Map<QuizCategory, QuizProgress> parseQuizBits(DataSnapshot snapshot) {
+        Map<QuizCategory, QuizProgress> progress = new EnumMap<>(QuizCategory.class);
+        for (QuizCategory category : QuizCategory.values()) {
+            DataSnapshot child = snapshot.child(quizBitsKey(category));
+            if (!child.exists()) {
+                continue;
+            }
+            try {
+                progress.put(category, QuizProgress.decode(child.child("bits").getValue(String.class)));
+            } catch (IllegalArgumentException e) {
+                Log.w(TAG, "Ignoring invalid quiz bits for " + category, e);
+            }
+        }
+        return progress;
+    }
+
+    // users/{uid} 기준 한 분야의 진행 상태 쓰기 (updateChildren 용)
+    public static Map<String, Object> quizBitsUpdate(QuizCategory category, QuizProgress progress) {
+        Map<String, Object> updates = new HashMap<>();
+        String base = "quiz_bits/" + quizBitsKey(category) + "/";
+        updates.put(base + "bits", progress.encode());
+        updates.put(base + "last", progress.lastSolved());
+        return updates;
+    }
+
+    public static String quizBitsKey(QuizCategory category) {
+        return category.name().toLowerCase(Locale.ROOT);
+    }
+
+    // ----- 쓰기 -----
+
+    public Task<Void> setValue(DatabaseReference ref, @Nullable Object value) {
+        metrics.recordWrite(pathOf(ref), value);
+        return ref.setValue(value);
+    }
+
+    public Task<Void> removeValue(DatabaseReference ref) {
+        metrics.recordWrite(pathOf(ref), null);
+        return ref.removeValue();
+    }
+
+    // 여러 경로를 한 번에 원자적으로 갱신
+    public Task<Void> updateChildren(DatabaseReference ref, Map<String, Object> updates) {
+        recordUpdates(ref, updates);
+        return ref.updateChildren(updates);
+    }
+
+    // 실패 원인(DatabaseError 코드)이 필요한 경우. Task 의 예외에는 코드가 남지 않는다.
+    public void updateChildren(DatabaseReference ref, Map<String, Object> updates,
+                               DatabaseReference.CompletionListener listener) {
+        recordUpdates(ref, updates);
+        ref.updateChildren(updates, listener);
+    }
+
+    private void recordUpdates(DatabaseReference ref, Map<String, Object> updates) {
+        if (RepositoryMetrics.isEnabled()) {
+            String basePath = pathOf(ref);
+            for (Map.Entry<String, Object> entry : updates.entrySet()) {
+                metrics.recordWrite(basePath + "/" + entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    // 트랜잭션. 커밋된 값은 쓰기로 기록한다.
+    public void runTransaction(DatabaseReference ref, Transaction.Handler handler) {
+        String path = pathOf(ref);
+        ref.runTransaction(new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                return handler.doTransaction(currentData);
+            }
+
+            @Override
+            public void onComplete(@Nullable DatabaseError error, boolean committed, @Nullable DataSnapshot currentData) {
+                if (committed && currentData != null) {
+                    metrics.recordTransaction(path, currentData);
+                }
+                handler.onComplete(error, committed, currentData);
+            }
+        });
+    }
+
+    // 사용자 데이터를 저장하는 메서드
+    public Task<Void> saveUser(String userId, User user) {
+        return logResult(setValue(getUserRef(userId), user), "user data");
+    }
+
+    // 랭킹 데이터를 저장하는 메서드
+    public Task<Void> saveRanking(String userId, Ranking ranking) {
+        return logResult(setValue(rankingRef.child(userId), ranking), "ranking data");
+    }
+
+    // 일일 퀴즈를 저장하는 메서드
+    public Task<Void> saveDailyQuiz(String quizId, DailyQuiz dailyQuiz) {
+        return logResult(setValue(dailyQuizRef.child(quizId), dailyQuiz), "daily quiz data");
+    }
+
+    // 새 게시물의 postId 발급
+    public String newPostId(String boardType) {
+        return getBoardRef(boardType).push().getKey();
+    }
+
+    // 게시물 작성. 게시판 요약(board_heads)의 최신 글과 글 수를 같은 업데이트에서 함께 갱신한다.
+    public Task<Void> createPost(String boardType, CommunityPostItem post) {
+        String headPath = "board_heads/" + boardType + "/";
+        Map<String, Object> updates = new HashMap<>();
+        updates.put(boardType + "_posts/" + post.getPostId(), post);
+        updates.put(headPath + "latestId", post.getPostId());
+        updates.put(headPath + "latestTitle", post.getTitle());
+        updates.put(headPath + "latestTimestamp", post.getTimestamp());
+        updates.put(headPath + "count", ServerValue.increment(1));
+        return updateChildren(rootRef, updates);
+    }
+
+    // 게시물 제목/내용 수정 (한 번의 업데이트). 최신 글이면 요약의 제목도 바꾼다.
+    public Task<Void> updatePost(String boardType, String postId, String title, String content) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("title", title);
+        updates.put("content", content);
+        return updateChildren(getBoardRef(boardType).child(postId), updates)
+                .addOnSuccessListener(aVoid -> updateBoardHead(boardType, head -> {
+                    if (postId.equals(head.latestId)) {
+                        head.latestTitle = title;
+                        return true;
+                    }
+                    return false;
+                }));
+    }
+
+    // 게시물 삭제. 글 수는 같은 업데이트에서 줄이고, 최신 글이 지워졌으면 다음 최신 글로 요약을 옮긴다.
+    public Task<Void> deletePost(String boardType, String postId) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put(boardType + "_posts/" + postId, null);
+        updates.put("board_heads/" + boardType + "/count", ServerValue.increment(-1));
+        return updateChildren(rootRef, updates)
+                .addOnSuccessListener(aVoid -> refreshLatestAfterDelete(boardType, postId));
+    }
+
+    // 댓글 수(commentCount) 도입 이전에 작성된 글은 목록에서 받은 댓글 수로 한 번 채운다.
+    // 그 사이 댓글이 달려 값이 생겼으면 그대로 두고, 지워진 글에는 보안 규칙이 쓰기를 거절한다.
+    public void backfillCommentCount(String boardType, String postId, long commentCount) {
+        if (!backfilledCommentCounts.add(postId)) {
+            return; // 프로세스당 한 번
+        }
+        runTransaction(getBoardRef(boardType).child(postId).child("commentCount"), new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                if (currentData.getValue() != null) {
+                    return Transaction.abort();
+                }
+                currentData.setValue(commentCount);
+                return Transaction.success(currentData);
+            }
+
+            @Override
+            public void onComplete(@Nullable DatabaseError error, boolean committed, @Nullable DataSnapshot currentData) {
+                if (error != null) {
+                    Log.w(TAG, "Failed to backfill comment count: " + postId, error.toException());
+                }
+            }
+        });
+    }
+
+    private void refreshLatestAfterDelete(String boardType, String deletedPostId) {
+        readOnce(getBoardRef(boardType).orderByChild("timestamp").limitToLast(1), new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                CommunityPostItem latest = null;
+                for (DataSnapshot postSnapshot : snapshot.getChildren()) {
+                    latest = postSnapshot.getValue(CommunityPostItem.class);
+                    if (latest != null && latest.getPostId() == null) {
+                        latest.setPostId(postSnapshot.getKey());
+                    }
+                }
+                CommunityPostItem next = latest;
+                updateBoardHead(boardType, head -> {
+                    if (!deletedPostId.equals(head.latestId)) {
+                        return false;
+                    }
+                    head.latestId = next != null ? next.getPostId() : null;
+                    head.latestTitle = next != null ? next.getTitle() : null;
+                    head.latestTimestamp = next != null ? next.getTimestamp() : null;
+                    return true;
+                });
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.e(TAG, "Failed to refresh board head: " + boardType, error.toException());
+            }
+        });
+    }
+
+    // 요약 노드 도입 이전에 작성된 글을 한 번 세어 board_heads/{boardType} 을 채운다.
+    // 게시판 전체를 한 번 읽으므로 counted 가 없는 게시판에 대해서만 호출한다.
+    // 읽는 동안 요약의 글 수를 함께 듣는다. 한 연결의 이벤트는 서버 순서대로 오므로 게시판 스냅샷이 도착했을 때
+    // 마지막으로 본 글 수가 스냅샷과 같은 시점의 값이고, 트랜잭션 때까지 늘거나 준 만큼이 읽은 뒤의 글쓰기/삭제다.
+    public void backfillBoardHead(String boardType) {
+        if (!backfilledBoards.add(boardType)) {
+            return; // 프로세스당 한 번 (읽기에 실패하면 다시 시도)
+        }
+        long[] countAtRead = new long[1];
+        Cancellable countListener = listen(boardHeadsRef.child(boardType).child("count"), new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                Long count = snapshot.getValue(Long.class);
+                countAtRead[0] = count != null ? count : 0;
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                // 게시판 읽기의 결과로 처리한다.
+            }
+        });
+        readOnce(getBoardRef(boardType), new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                long baseline = countAtRead[0];
+                countListener.cancel();
+                CommunityPostItem latest = null;
+                for (DataSnapshot postSnapshot : snapshot.getChildren()) {
+                    CommunityPostItem item = postSnapshot.getValue(CommunityPostItem.class);
+                    if (item == null) {
+                        continue;
+                    }
+                    if (item.getPostId() == null) {
+                        item.setPostId(postSnapshot.getKey());
+                    }
+                    if (latest == null || BoardPagingSource.NEWEST_FIRST.compare(item, latest) < 0) {
+                        latest = item;
+                    }
+                }
+                long count = snapshot.getChildrenCount();
+                CommunityPostItem newest = latest;
+                updateBoardHead(boardType, head -> {
+                    if (head.counted) {
+                        return false; // 다른 기기에서 이미 채움
+                    }
+                    head.count = count + (head.count - baseline);
+                    head.counted = true;
+                    // 읽은 뒤에 쓴 글이 요약에 있으면 그대로 둔다.
+                    CommunityPostItem current = new CommunityPostItem(head.latestId, null, head.latestTitle, null,
+                            head.latestTimestamp, null);
+                    if (newest != null && (head.latestId == null || BoardPagingSource.NEWEST_FIRST.compare(newest, current) < 0)) {
+                        head.latestId = newest.getPostId();
+                        head.latestTitle = newest.getTitle();
+                        head.latestTimestamp = newest.getTimestamp();
+                    }
+                    return true;
+                });
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                countListener.cancel();
+                backfilledBoards.remove(boardType);
+                Log.e(TAG, "Failed to backfill board head: " + boardType, error.toException());
+            }
+        });
+    }
+
+    // board_heads/{boardType} 를 트랜잭션으로 조건부 갱신 (작은 노드라 경합 비용이 작다)
+    private void updateBoardHead(String boardType, HeadUpdate update) {
+        runTransaction(boardHeadsRef.child(boardType), new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                BoardHead head = currentData.getValue(BoardHead.class);
+                if (head == null) {
+                    head = new BoardHead();
+                }
+                if (!update.apply(head)) {
+                    return Transaction.abort();
+                }
+                currentData.setValue(head);
+                return Transaction.success(currentData);
+            }
+
+            @Override
+            public void onComplete(@Nullable DatabaseError error, boolean committed, @Nullable DataSnapshot currentData) {
+                if (error != null) {
+                    Log.e(TAG, "Failed to update board head: " + boardType, error.toException());
+                }
+            }
+        });
+    }
+
+    // 트랜잭션 안에서 요약 노드를 바꾸고, 바꿀 필요가 없으면 false 를 반환
+    private interface HeadUpdate {
+        boolean apply(BoardHead head);
+    }
+
+    private static Task<Void> logResult(Task<Void> task, String what) {
+        return task.addOnCompleteListener(result -> {
+            if (result.isSuccessful()) {
+                Log.d(TAG, "Saved " + what + " successfully.");
+            } else {
+                Log.e(TAG, "Failed to save " + what, result.getException());
+            }
+        });
+    }
+
+    // 루트 기준 경로 ("/users/abc")
+    private static String pathOf(Query query) {
+        DatabaseReference ref = query.getRef();
+        return ref.toString().substring(ref.getRoot().toString().length());
+    }
+
+    private static class PendingRead<T> implements Cancellable {
+        private final Parser<T> parser;
+        private final Callback<T> callback;
+        private boolean cancelled = false;
+
+        PendingRead(Parser<T> parser, Callback<T> callback) {
+            this.parser = parser;
+            this.callback = callback;
+        }
+
+        void deliver(DataSnapshot snapshot) {
+            if (!cancelled) {
+                callback.onSuccess(parser.parse(snapshot));
+            }
+        }
+
+        void fail(DatabaseError error) {
+            if (!cancelled) {
+                callback.onError(error);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private static class CancellableListener implements Cancellable {
+        @Nullable
+        private final Runnable onCancel;
+        private boolean cancelled = false;
+
+        CancellableListener(@Nullable Runnable onCancel) {
+            this.onCancel = onCancel;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            if (onCancel != null) {
+                onCancel.run();
+            }
+        }
+    }
+
+    // 인터페이스: 비동기 결과를 위한 콜백
+    public interface Callback<T> {
+        void onSuccess(@Nullable T result);
+
+        void onError(@NonNull DatabaseError error);
+    }
+
+    // 인터페이스: 스냅샷을 결과 타입으로 변환
+    public interface Parser<T> {
+        T parse(DataSnapshot snapshot);
+    }
+
+    // 인터페이스: 요청 취소 또는 리스너 해제
+    public interface Cancellable {
+        void cancel();
+    }
+}
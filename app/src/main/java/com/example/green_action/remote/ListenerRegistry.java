@@ -0,0 +1,229 @@
+package com.example.green_action.remote;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 화면(LifecycleOwner)에 묶인 Firebase 리스너 등록부
+// - ON_START 에서 등록된 리스너를 모두 연결하고, ON_STOP 에서 모두 해제한다.
+// - ON_DESTROY 에서는 등록 자체를 비우고 lifecycle 관찰도 끝낸다.
+// - 화면이 STARTED 인 동안 add() 하면 바로 연결된다.
+// 화면 코드는 Cancellable 을 직접 보관하지 않고 키로 등록만 한다.
+// 디버그 빌드(setDebugChecks(true))에서는 화면별로 중복 등록과, 등록부 밖에서 연결된 뒤
+// ON_STOP 이후에도 남아 있는 리스너(누수)를 로그로 알린다.
+public final class ListenerRegistry implements LifecycleEventObserver {
+
+    private static final String TAG = "ListenerRegistry";
+
+    // 모든 화면의 등록부에서 연결된 등록 수 (테스트용)
+    private static final AtomicInteger totalActive = new AtomicInteger();
+    // 디버그 검사용: 등록부를 통해 연결된 Firebase 리스너 수 (연결 직후 RepositoryMetrics 증가분)
+    private static final AtomicLong ownedListeners = new AtomicLong();
+    private static volatile boolean debugChecks = false;
+
+    private final Lifecycle lifecycle;
+    private final String screen;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private boolean started = false;
+    private boolean destroyed = false;
+    // ON_START 시점에 등록부 밖에서 연결되어 있던 리스너 수
+    private long unownedAtStart;
+
+    private ListenerRegistry(Lifecycle lifecycle, String screen) {
+        this.lifecycle = lifecycle;
+        this.screen = screen;
+    }
+
+    // owner 의 lifecycle 에 묶인 등록부 생성. 메인 스레드에서 호출한다.
+    public static ListenerRegistry bind(@NonNull LifecycleOwner owner) {
+        ListenerRegistry registry = new ListenerRegistry(owner.getLifecycle(), owner.getClass().getSimpleName());
+        owner.getLifecycle().addObserver(registry);
+        return registry;
+    }
+
+    // 디버그 빌드에서만 켠다 (GreenActionApplication)
+    public static void setDebugChecks(boolean enabled) {
+        debugChecks = enabled;
+    }
+
+    // 모든 등록부에서 현재 연결된 등록 수
+    public static int totalActiveCount() {
+        return totalActive.get();
+    }
+
+    // 값 리스너 등록
+    public void listen(String key, Query query, ValueEventListener listener) {
+        add(key, listener, () -> FirebaseRepository.getInstance().listen(query, listener));
+    }
+
+    // 자식 리스너 등록
+    public void listenChildren(String key, Query query, ChildEventListener listener) {
+        add(key, listener, () -> FirebaseRepository.getInstance().listenChildren(query, listener));
+    }
+
+    // 임의의 연결 작업 등록 (여러 리스너를 묶거나, start/stop 을 가진 객체)
+    // 다시 연결될 때마다 attach() 가 호출되므로 콜백은 같은 데이터를 여러 번 받아도 안전해야 한다.
+    public void add(String key, Attachment attachment) {
+        add(key, attachment, attachment);
+    }
+
+    private void add(String key, Object listener, Attachment attachment) {
+        if (destroyed) {
+            warn("add(\"" + key + "\") after ON_DESTROY ignored");
+            return;
+        }
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            warn("duplicate listener key \"" + key + "\", replacing the previous one");
+            previous.detach();
+        }
+        for (Map.Entry<String, Entry> other : entries.entrySet()) {
+            if (other.getValue().listener == listener) {
+                warn("same listener registered as \"" + other.getKey() + "\" and \"" + key + "\"");
+            }
+        }
+        Entry entry = new Entry(listener, attachment);
+        entries.put(key, entry);
+        if (started) {
+            entry.attach();
+        }
+    }
+
+    // 등록 해제 (연결되어 있으면 해제)
+    public void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            entry.detach();
+        }
+    }
+
+    // 이 등록부에서 현재 연결된 등록 수
+    public int activeCount() {
+        int count = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.handle != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+        switch (event) {
+            case ON_START:
+                started = true;
+                if (debugChecks) {
+                    unownedAtStart = unownedListeners();
+                }
+                for (Entry entry : entries.values()) {
+                    entry.attach();
+                }
+                break;
+            case ON_STOP:
+                started = false;
+                detachAll();
+                checkLeaksAfterStop();
+                break;
+            case ON_DESTROY:
+                destroyed = true;
+                detachAll();
+                entries.clear();
+                lifecycle.removeObserver(this);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void detachAll() {
+        for (Entry entry : entries.values()) {
+            entry.detach();
+        }
+    }
+
+    // 화면의 onStop() 본문이 끝난 뒤에 센다. (ON_STOP 은 onStop() 보다 먼저 전달될 수 있다)
+    private void checkLeaksAfterStop() {
+        if (!debugChecks) {
+            return;
+        }
+        long baseline = unownedAtStart;
+        new Handler(Looper.getMainLooper()).post(() -> {
+            long leaked = unownedListeners() - baseline;
+            if (leaked > 0) {
+                // 비동기로 늦게 연결되는 등록은 연결 시점에 세지 못하므로 '가능성'으로 알린다.
+                Log.w(TAG, screen + ": " + leaked + " listener(s) attached outside ListenerRegistry may have leaked, still active after ON_STOP "
+                        + FirebaseRepository.getInstance().getMetrics().snapshot());
+            }
+        });
+    }
+
+    private static long unownedListeners() {
+        return activeFirebaseListeners() - ownedListeners.get();
+    }
+
+    private static long activeFirebaseListeners() {
+        return FirebaseRepository.getInstance().getMetrics().totalActiveListeners();
+    }
+
+    private void warn(String message) {
+        if (debugChecks) {
+            Log.w(TAG, screen + ": " + message);
+        }
+    }
+
+    // 연결 작업. 반환한 Cancellable 로 해제한다.
+    public interface Attachment {
+        FirebaseRepository.Cancellable attach();
+    }
+
+    private static final class Entry {
+        final Object listener;
+        final Attachment attachment;
+        @Nullable
+        FirebaseRepository.Cancellable handle;
+        long firebaseListeners; // 디버그 검사에서만 측정
+
+        Entry(Object listener, Attachment attachment) {
+            this.listener = listener;
+            this.attachment = attachment;
+        }
+
+        void attach() {
+            if (handle == null) {
+                long before = debugChecks ? activeFirebaseListeners() : 0;
+                handle = attachment.attach();
+                totalActive.incrementAndGet();
+                if (debugChecks) {
+                    firebaseListeners = Math.max(activeFirebaseListeners() - before, 0);
+                    ownedListeners.addAndGet(firebaseListeners);
+                }
+            }
+        }
+
+        void detach() {
+            if (handle != null) {
+                handle.cancel();
+                handle = null;
+                totalActive.decrementAndGet();
+                ownedListeners.addAndGet(-firebaseListeners);
+                firebaseListeners = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.green_action.remote;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.Exclude;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 최상위 경로(users, free_posts, likes ...) 별 읽기/쓰기 횟수와 전송량(추정치) 집계
+// 화면별 네트워크 비용을 측정할 때 reset() 후 화면을 조작하고 snapshot() 으로 확인한다.
+// 읽기/쓰기/캐시 집계는 값을 한 번 더 변환하므로 setEnabled(true) 일 때(디버그 빌드)만 한다.
+// 활성 리스너 수는 값을 보지 않으므로 항상 센다. (ListenerRegistry 의 누수 검사)
+public class RepositoryMetrics {
+
+    // 모델 객체를 따라 들어가는 최대 깊이 (순환 참조 방지)
+    private static final int MAX_DEPTH = 16;
+
+    private static volatile boolean enabled = false;
+
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    // 디버그 빌드에서만 켠다 (GreenActionApplication)
+    public static void setEnabled(boolean enable) {
+        enabled = enable;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    void recordRead(String path, DataSnapshot snapshot) {
+        if (!enabled) {
+            return;
+        }
+        Counter counter = counterFor(path);
+        counter.reads.incrementAndGet();
+        counter.bytesRead.addAndGet(estimateSize(snapshot.getValue()));
+    }
+
+    void recordWrite(String path, @Nullable Object value) {
+        if (!enabled) {
+            return;
+        }
+        Counter counter = counterFor(path);
+        counter.writes.incrementAndGet();
+        counter.bytesWritten.addAndGet(estimateSize(value));
+    }
+
+    // 커밋된 트랜잭션 결과를 쓰기로 기록
+    void recordTransaction(String path, DataSnapshot committed) {
+        if (enabled) {
+            recordWrite(path, committed.getValue());
+        }
+    }
+
+    // 첫 이벤트가 서버 연결 전에 전달되었으면 디스크 캐시 적중으로 본다.
+    void recordCacheResult(String path, boolean hit) {
+        if (!enabled) {
+            return;
+        }
+        Counter counter = counterFor(path);
+        if (hit) {
+            counter.cacheHits.incrementAndGet();
+        } else {
+            counter.cacheMisses.incrementAndGet();
+        }
+    }
+
+    void recordListenerAttached(String path) {
+        counterFor(path).activeListeners.incrementAndGet();
+    }
+
+    void recordListenerDetached(String path) {
+        counterFor(path).activeListeners.decrementAndGet();
+    }
+
+    // 경로별 현재 집계 (경로 이름순)
+    public Map<String, PathStats> snapshot() {
+        Map<String, PathStats> result = new TreeMap<>();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            Counter c = entry.getValue();
+            result.put(entry.getKey(), new PathStats(c.reads.get(), c.writes.get(),
+                    c.bytesRead.get(), c.bytesWritten.get(), c.activeListeners.get(),
+                    c.cacheHits.get(), c.cacheMisses.get()));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    // 모든 경로의 활성 리스너 수 합계
+    public long totalActiveListeners() {
+        long total = 0;
+        for (Counter c : counters.values()) {
+            total += c.activeListeners.get();
+        }
+        return total;
+    }
+
+    // 활성 리스너 수는 실제 연결 상태이므로 유지하고 나머지만 초기화
+    public void reset() {
+        for (Counter c : counters.values()) {
+            c.reads.set(0);
+            c.writes.set(0);
+            c.bytesRead.set(0);
+            c.bytesWritten.set(0);
+            c.cacheHits.set(0);
+            c.cacheMisses.set(0);
+        }
+    }
+
+    private Counter counterFor(String path) {
+        return counters.computeIfAbsent(topLevel(path), key -> new Counter());
+    }
+
+    // "/users/abc/name" -> "users"
+    static String topLevel(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+
+    // JSON 직렬화 크기를 대략적으로 추정 (DataSnapshot.getValue() 결과 또는 업데이트 값)
+    static long estimateSize(@Nullable Object value) {
+        return estimateSize(value, 0);
+    }
+
+    private static long estimateSize(@Nullable Object value, int depth) {
+        if (value == null || depth > MAX_DEPTH) {
+            return 4;
+        }
+        if (value instanceof String) {
+            return ((String) value).length() + 2;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return String.valueOf(value).length();
+        }
+        if (value instanceof Map) {
+            long size = 2;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += String.valueOf(entry.getKey()).length() + 4 + estimateSize(entry.getValue(), depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof List) {
+            long size = 2;
+            for (Object item : (List<?>) value) {
+                size += 1 + estimateSize(item, depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name().length() + 2;
+        }
+        return estimatePojoSize(value, depth);
+    }
+
+    // 모델 객체(User, CommunityPostItem 등)는 Firebase 의 기본 매핑처럼 공개 getter 와 공개 필드를 속성으로 본다.
+    // (@Exclude 는 빼고, 같은 이름은 한 번만)
+    private static long estimatePojoSize(Object value, int depth) {
+        Map<String, Object> properties = new TreeMap<>();
+        for (Method method : value.getClass().getMethods()) {
+            String name = propertyName(method);
+            if (name == null || method.isAnnotationPresent(Exclude.class)) {
+                continue;
+            }
+            try {
+                properties.put(name, method.invoke(value));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // 읽을 수 없는 속성은 세지 않는다.
+            }
+        }
+        for (Field field : value.getClass().getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isAnnotationPresent(Exclude.class)
+                    || properties.containsKey(field.getName())) {
+                continue;
+            }
+            try {
+                properties.put(field.getName(), field.get(value));
+            } catch (IllegalAccessException e) {
+                // 읽을 수 없는 속성은 세지 않는다.
+            }
+        }
+        return estimateSize(properties, depth + 1);
+    }
+
+    // getX()/isX() 이면 속성 이름 x, 아니면 null
+    @Nullable
+    private static String propertyName(Method method) {
+        if (Modifier.isStatic(method.getModifiers()) || method.getParameterTypes().length != 0
+                || method.getDeclaringClass() == Object.class) {
+            return null;
+        }
+        String name = method.getName();
+        int prefix;
+        if (name.startsWith("get") && name.length() > 3) {
+            prefix = 3;
+        } else if (name.startsWith("is") && name.length() > 2
+                && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class)) {
+            prefix = 2;
+        } else {
+            return null;
+        }
+        return Character.toLowerCase(name.charAt(prefix)) + name.substring(prefix + 1);
+    }
+
+    private static class Counter {
+        final AtomicLong reads = new AtomicLong();
+        final AtomicLong writes = new AtomicLong();
+        final AtomicLong bytesRead = new AtomicLong();
+        final AtomicLong bytesWritten = new AtomicLong();
+        final AtomicLong activeListeners = new AtomicLong();
+        final AtomicLong cacheHits = new AtomicLong();
+        final AtomicLong cacheMisses = new AtomicLong();
+    }
+
+    public static class PathStats {
+        public final long reads;
+        public final long writes;
+        public final long bytesRead;
+        public final long bytesWritten;
+        public final long activeListeners;
+        public final long cacheHits;
+        public final long cacheMisses;
+
+        PathStats(long reads, long writes, long bytesRead, long bytesWritten, long activeListeners,
+                  long cacheHits, long cacheMisses) {
+            this.reads = reads;
+            this.writes = writes;
+            this.bytesRead = bytesRead;
+            this.bytesWritten = bytesWritten;
+            this.activeListeners = activeListeners;
+            this.cacheHits = cacheHits;
+            this.cacheMisses = cacheMisses;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "reads=" + reads + ", writes=" + writes + ", bytesRead=" + bytesRead
+                    + ", bytesWritten=" + bytesWritten + ", listeners=" + activeListeners
+                    + ", cacheHits=" + cacheHits + ", cacheMisses=" + cacheMisses;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.green_action.remote;
+
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.database.DatabaseError;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 게시글/댓글 작성자 이름을 프로세스 전역에서 공유하는 캐시 (LRU + TTL)
+// 같은 uid에 대한 동시 요청은 하나의 읽기로 합치고, 한 프레임 동안 모인 uid를 한 번에 요청한다.
+// 모든 메서드는 메인 스레드에서 호출해야 한다.
+public class UserProfileCache {
+
+    private static final int MAX_ENTRIES = 256;
+    private static final long TTL_MS = 5 * 60 * 1000L; // 5분
+    private static final int DISPLAY_ID_LENGTH = 7;
+
+    private static UserProfileCache instance;
+
+    private final FirebaseRepository repository;
+
+    // accessOrder = true 로 LRU 순서를 유지
+    private final LinkedHashMap<String, Entry> cache = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    // 요청 중(또는 다음 프레임에 요청될) uid 별 대기 콜백
+    private final Map<String, List<OnProfileLoadedListener>> waiters = new HashMap<>();
+    // 이번 프레임에 새로 요청된 uid
+    private final Set<String> queued = new LinkedHashSet<>();
+    private boolean frameScheduled = false;
+
+    private final Choreographer.FrameCallback flushCallback = frameTimeNanos -> flush();
+
+    private UserProfileCache() {
+        repository = FirebaseRepository.getInstance();
+    }
+
+    public static synchronized UserProfileCache getInstance() {
+        if (instance == null) {
+            instance = new UserProfileCache();
+        }
+        return instance;
+    }
+
+    // 사용자 이름 요청: 캐시가 유효하면 즉시 콜백, 아니면 다음 프레임에 묶어서 읽는다.
+    public void getUserName(@NonNull String userId, @NonNull OnProfileLoadedListener listener) {
+        Entry entry = cache.get(userId);
+        if (entry != null && !entry.isExpired()) {
+            listener.onLoaded(userId, entry.userName);
+            return;
+        }
+
+        List<OnProfileLoadedListener> list = waiters.get(userId);
+        if (list == null) {
+            list = new ArrayList<>();
+            waiters.put(userId, list);
+            queued.add(userId);
+            scheduleFlush();
+        }
+        list.add(listener);
+    }
+
+    // 로그아웃이나 프로필 수정 후 특정 사용자의 캐시를 무효화
+    public void invalidate(String userId) {
+        cache.remove(userId);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    private void scheduleFlush() {
+        if (!frameScheduled) {
+            frameScheduled = true;
+            Choreographer.getInstance().postFrameCallback(flushCallback);
+        }
+    }
+
+    private void flush() {
+        frameScheduled = false;
+        List<String> batch = new ArrayList<>(queued);
+        queued.clear();
+        for (String userId : batch) {
+            fetch(userId);
+        }
+    }
+
+    // 사용자 노드 전체가 아닌 name 필드만 읽어 전송량을 줄인다.
+    private void fetch(String userId) {
+        repository.loadUserName(userId, new FirebaseRepository.Callback<String>() {
+            @Override
+            public void onSuccess(@Nullable String userName) {
+                cache.put(userId, new Entry(userName));
+                dispatch(userId, userName);
+            }
+
+            @Override
+            public void onError(@NonNull DatabaseError error) {
+                // 실패한 결과는 캐시하지 않아 다음 바인딩 때 다시 시도한다.
+                dispatch(userId, null);
+            }
+        });
+    }
+
+    private void dispatch(String userId, @Nullable String userName) {
+        List<OnProfileLoadedListener> list = waiters.remove(userId);
+        if (list == null) {
+            return;
+        }
+        for (OnProfileLoadedListener listener : list) {
+            listener.onLoaded(userId, userName);
+        }
+    }
+
+    // "이름 (UID 앞 7자리)" 형식의 표시 문자열 생성
+    public static String formatUserInfo(@Nullable String userName, @NonNull String userId) {
+        String displayId = userId.substring(0, Math.min(userId.length(), DISPLAY_ID_LENGTH));
+        if (userName == null || userName.isEmpty()) {
+            userName = "Unknown User";
+        }
+        return userName + " (" + displayId + ")";
+    }
+
+    private static class Entry {
+        final String userName;
+        final long loadedAt;
+
+        Entry(String userName) {
+            this.userName = userName;
+            this.loadedAt = System.currentTimeMillis();
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() - loadedAt > TTL_MS;
+        }
+    }
+
+    // 인터페이스: 사용자 이름 조회 결과를 위한 콜백
+    public interface OnProfileLoadedListener {
+        void onLoaded(String userId, @Nullable String userName);
+    }
+}
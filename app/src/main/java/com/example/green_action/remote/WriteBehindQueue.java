@@ -0,0 +1,408 @@
+package com.example.green_action.remote;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.WorkerThread;
+
+import com.example.green_action.DataBaseHelper;
+import com.example.green_action.QuizSchema;
+import com.example.green_action.quiz.QuizCategory;
+import com.example.green_action.quiz.QuizProgress;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.ServerValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 퀴즈 진행/점수/랭킹 쓰기를 SQLite(pending_writes)에 먼저 기록하고, 모아서 Firebase 로 보내는 대기열
+// - 같은 경로의 쓰기는 합친다. 값은 마지막 값, 증가는 합계. 그래서 연속으로 풀어도 묶음당 updateChildren 한 번이다.
+// - FLUSH_WINDOW_MS 동안 모은 뒤 보내고, 오프라인이거나 실패하면 지수 백오프로 다시 시도한다.
+// - 보낸 묶음은 응답이 오면 지운다. 실패하면 아직 보내지 않은 쓰기와 다시 합친다.
+//   다시 보내도 소용없는 오류(권한 거부, 잘못된 토큰, 취소된 쓰기)면 그 묶음을 버리고,
+//   일시적인 오류도 한 행이 MAX_ATTEMPTS 번 실패하면 버린다. (버린 경로는 로그에 남긴다)
+// - 묶음은 updateChildren 을 부른 뒤에야 '넘김'으로 표시한다. 프로세스가 응답 전에 끝나면 넘긴 묶음은 지운다.
+//   Firebase 디스크 캐시(FirebasePersistence)가 이미 받은 쓰기를 다음 실행 때 다시 보내므로, 여기서 또 보내면 점수 증가가 두 번 반영된다.
+//   넘기기 전에 끝난 묶음은 보내지 않은 쓰기로 되돌린다.
+// - 응답이 STALL_TIMEOUT_MS 동안 없으면 기다리기를 그만두고 다음 묶음을 보낸다. 늦게 온 응답도 그대로 처리한다.
+// DB 작업은 전용 스레드에서, Firebase 호출은 메인 스레드에서 한다.
+public final class WriteBehindQueue {
+
+    private static final String TAG = "WriteBehindQueue";
+    private static final String TABLE = QuizSchema.TABLE_PENDING_WRITES;
+
+    static final int OP_SET_NUMBER = 0;
+    static final int OP_INCREMENT = 1;
+    static final int OP_SET_TEXT = 2;
+
+    private static final long FLUSH_WINDOW_MS = 2000;
+    private static final long MAX_BACKOFF_MS = 5 * 60 * 1000;
+    private static final long STALL_TIMEOUT_MS = 60 * 1000;
+    static final int MAX_ATTEMPTS = 10;
+
+    // 묶음 번호: 0 = 보내지 않음, -n = 묶음 n 으로 고름, n = Firebase 에 넘김
+    static final String CLAIM_BATCH = "UPDATE " + TABLE + " SET batch = ? WHERE batch = 0";
+    static final String SELECT_BATCH = "SELECT path, op, num, text FROM " + TABLE + " WHERE batch = ?";
+    static final String SELECT_PATHS = "SELECT path FROM " + TABLE + " WHERE batch = ?";
+    static final String MARK_SENT = "UPDATE " + TABLE + " SET batch = ? WHERE batch = ?";
+    // 실패한 묶음 되돌리기 (모두 묶음 번호를 인자로 받는다)
+    // 0. 일시적인 오류로 실패했으면 횟수를 올리고, 한도에 닿은 행은 버린다. (넘기기 전에 끝난 묶음은 세지 않는다)
+    static final String COUNT_ATTEMPT = "UPDATE " + TABLE + " SET attempts = attempts + 1 WHERE batch = ?";
+    static final String SELECT_EXHAUSTED = "SELECT path FROM " + TABLE + " WHERE batch = ? AND attempts >= " + MAX_ATTEMPTS;
+    static final String DROP_EXHAUSTED = "DELETE FROM " + TABLE + " WHERE batch = ? AND attempts >= " + MAX_ATTEMPTS;
+    // 1. 더 나중 묶음이 같은 경로에 값을 보냈으면 실패한 값은 버린다. (증가는 더해야 하므로 남긴다)
+    static final String DROP_SUPERSEDED = "DELETE FROM " + TABLE + " WHERE batch = ? AND op != " + OP_INCREMENT +
+            " AND EXISTS (SELECT 1 FROM " + TABLE + " newer WHERE newer.path = " + TABLE + ".path" +
+            " AND newer.batch != 0 AND ABS(newer.batch) > ABS(" + TABLE + ".batch))";
+    // 2. 그 사이 같은 경로에 새로 들어온 것이 증가면 보내지 못한 값/증가 위에 더한다. 실패 횟수도 이어받는다. (인자 네 번)
+    private static final String SENT = "(SELECT %s FROM " + TABLE + " sent WHERE sent.path = " + TABLE + ".path AND sent.batch = ? " +
+            "AND sent.op IN (" + OP_SET_NUMBER + ", " + OP_INCREMENT + "))";
+    static final String MERGE_INCREMENTS = "UPDATE " + TABLE + " SET num = num + " + String.format(SENT, "sent.num") +
+            ", op = " + String.format(SENT, "sent.op") +
+            ", attempts = MAX(attempts, " + String.format(SENT, "sent.attempts") + ")" +
+            " WHERE batch = 0 AND op = " + OP_INCREMENT + " AND " + String.format(SENT, "COUNT(*)") + " > 0";
+    // 3. 나머지는 대기 상태로 돌린다. 같은 경로에 새 값이 있으면 새 값이 이긴다.
+    static final String REQUEUE_BATCH = "UPDATE OR IGNORE " + TABLE + " SET batch = 0 WHERE batch = ?";
+    static final String DELETE_BATCH = "DELETE FROM " + TABLE + " WHERE batch = ?";
+
+    private static WriteBehindQueue instance;
+
+    private final DataBaseHelper helper;
+    private final FirebaseRepository repository = FirebaseRepository.getInstance();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable flushRunnable = this::flush;
+    private final Runnable stallRunnable = this::onStalled;
+
+    // 메인 스레드에서만 사용
+    private boolean flushScheduled = false;
+    private boolean flushing = false;
+    private long awaitingBatch = 0; // 응답을 기다리는 묶음 (0 = 없음)
+    private long backoffMs = FLUSH_WINDOW_MS;
+    // DB 스레드에서만 사용. 이번 프로세스에서 보낸 묶음 번호
+    private long lastBatch = 0;
+
+    private WriteBehindQueue(Context context) {
+        helper = DataBaseHelper.getInstance(context);
+        executor.execute(() -> {
+            recoverBatches();
+            if (hasPending()) {
+                mainHandler.post(() -> scheduleFlush(FLUSH_WINDOW_MS));
+            }
+        });
+    }
+
+    public static synchronized WriteBehindQueue getInstance(Context context) {
+        if (instance == null) {
+            instance = new WriteBehindQueue(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    // 퀴즈를 맞혔을 때: 진행 상태, 점수(처음 푼 경우만 points > 0), 랭킹 활동 시각을 한 트랜잭션으로 기록
+    // progress 는 호출한 쪽(QuizStateStore)이 방금 푼 퀴즈까지 반영해 만든 분야 비트열 전체다. 같은 분야를 연속으로 풀면 마지막 값 하나만 남는다.
+    // 로컬 진행 상태는 로그아웃할 때 비우므로(QuizStateStore.clearLocalProgress) 이전 계정의 기록이 섞이지 않는다.
+    public void recordQuizSolved(String userId, QuizCategory category, QuizProgress progress, int points) {
+        long now = System.currentTimeMillis();
+        executor.execute(() -> {
+            SQLiteDatabase db = helper.getWritableDatabase();
+            db.beginTransaction();
+            try {
+                for (Map.Entry<String, Object> entry : FirebaseRepository.quizBitsUpdate(category, progress).entrySet()) {
+                    String path = "users/" + userId + "/" + entry.getKey();
+                    if (entry.getValue() instanceof String) {
+                        setText(db, path, (String) entry.getValue());
+                    } else {
+                        setNumber(db, path, ((Number) entry.getValue()).longValue());
+                    }
+                }
+                if (points > 0) {
+                    increment(db, "users/" + userId + "/score", points);
+                }
+                setText(db, "ranking/" + userId + "/userId", userId);
+                setNumber(db, "ranking/" + userId + "/timestamp", now);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        });
+        scheduleFlush(FLUSH_WINDOW_MS);
+    }
+
+    // ----- 기록 (DB 스레드, 트랜잭션 안) -----
+
+    private static void setNumber(SQLiteDatabase db, String path, long value) {
+        ContentValues values = pendingRow(path, OP_SET_NUMBER);
+        values.put("num", value);
+        db.insertWithOnConflict(TABLE, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    private static void setText(SQLiteDatabase db, String path, String value) {
+        ContentValues values = pendingRow(path, OP_SET_TEXT);
+        values.put("text", value);
+        db.insertWithOnConflict(TABLE, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    // 대기 중인 증가가 있으면 더하고, 값이 있으면 그 값에 더한다.
+    private static void increment(SQLiteDatabase db, String path, long delta) {
+        try (Cursor cursor = db.rawQuery("SELECT op, num FROM " + TABLE + " WHERE path = ? AND batch = 0",
+                new String[]{path})) {
+            if (cursor.moveToFirst()) {
+                int op = cursor.getInt(0);
+                if (op == OP_INCREMENT || op == OP_SET_NUMBER) {
+                    db.execSQL("UPDATE " + TABLE + " SET num = num + ? WHERE path = ? AND batch = 0",
+                            new Object[]{delta, path});
+                    return;
+                }
+            }
+        }
+        ContentValues values = pendingRow(path, OP_INCREMENT);
+        values.put("num", delta);
+        db.insertWithOnConflict(TABLE, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    private static ContentValues pendingRow(String path, int op) {
+        ContentValues values = new ContentValues();
+        values.put("path", path);
+        values.put("batch", 0);
+        values.put("op", op);
+        return values;
+    }
+
+    // ----- 보내기 -----
+
+    private void scheduleFlush(long delayMs) {
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            mainHandler.post(() -> scheduleFlush(delayMs));
+            return;
+        }
+        if (flushScheduled || flushing) {
+            return;
+        }
+        flushScheduled = true;
+        mainHandler.postDelayed(flushRunnable, delayMs);
+    }
+
+    private void flush() {
+        flushScheduled = false;
+        if (!repository.isConnected()) {
+            retryLater("offline");
+            return;
+        }
+        flushing = true;
+        executor.execute(() -> {
+            long batch = ++lastBatch;
+            Map<String, Object> updates = claimBatch(batch);
+            mainHandler.post(() -> send(batch, updates));
+        });
+    }
+
+    // updateChildren 을 부른 뒤에 묶음을 '넘김'으로 표시한다. (같은 DB 스레드라 응답 처리보다 먼저 실행된다)
+    private void send(long batch, Map<String, Object> updates) {
+        if (updates.isEmpty()) {
+            flushing = false;
+            return;
+        }
+        // 실패 원인을 나누려면 DatabaseError 코드가 필요하므로 CompletionListener 로 받는다.
+        repository.updateChildren(repository.getRootRef(), updates, (error, ref) -> {
+            boolean success = error == null;
+            boolean permanent = !success && isPermanent(error);
+            if (!success) {
+                Log.w(TAG, "Batch " + batch + " failed (" + error.getCode() + ")", error.toException());
+            }
+            executor.execute(() -> {
+                if (success) {
+                    finishBatch(batch, true);
+                } else if (permanent) {
+                    dropBatch(batch, error);
+                } else {
+                    failBatch(batch);
+                }
+                boolean more = hasPending();
+                mainHandler.post(() -> onBatchFinished(batch, success, more));
+            });
+        });
+        executor.execute(() -> markSent(batch));
+        awaitingBatch = batch;
+        mainHandler.postDelayed(stallRunnable, STALL_TIMEOUT_MS);
+    }
+
+    // 같은 쓰기를 다시 보내도 거절될 오류
+    static boolean isPermanent(DatabaseError error) {
+        switch (error.getCode()) {
+            case DatabaseError.PERMISSION_DENIED:
+            case DatabaseError.INVALID_TOKEN:
+            case DatabaseError.WRITE_CANCELED:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void onBatchFinished(long batch, boolean success, boolean more) {
+        if (batch == awaitingBatch) {
+            mainHandler.removeCallbacks(stallRunnable);
+            awaitingBatch = 0;
+            flushing = false;
+        }
+        if (!success) {
+            retryLater("write failed");
+        } else {
+            backoffMs = FLUSH_WINDOW_MS;
+            if (more) {
+                scheduleFlush(FLUSH_WINDOW_MS);
+            }
+        }
+    }
+
+    // 응답이 오지 않는 묶음 때문에 대기열이 멈추지 않도록 기다리기를 그만둔다. 그 묶음은 넘김 상태로 남는다.
+    private void onStalled() {
+        Log.w(TAG, "Batch " + awaitingBatch + " not acknowledged in " + STALL_TIMEOUT_MS + " ms");
+        awaitingBatch = 0;
+        flushing = false;
+        scheduleFlush(FLUSH_WINDOW_MS);
+    }
+
+    private void retryLater(String reason) {
+        Log.d(TAG, "Retrying in " + backoffMs + " ms (" + reason + ")");
+        long delay = backoffMs;
+        backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+        scheduleFlush(delay);
+    }
+
+    // 보내지 않은 쓰기를 묶음 번호(-batch)로 골라 updateChildren 용 맵으로 만든다.
+    @WorkerThread
+    private Map<String, Object> claimBatch(long batch) {
+        Map<String, Object> updates = new HashMap<>();
+        SQLiteDatabase db = helper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.execSQL(CLAIM_BATCH, new Object[]{-batch});
+            try (Cursor cursor = db.rawQuery(SELECT_BATCH, new String[]{String.valueOf(-batch)})) {
+                while (cursor.moveToNext()) {
+                    String path = cursor.getString(0);
+                    switch (cursor.getInt(1)) {
+                        case OP_INCREMENT:
+                            updates.put(path, ServerValue.increment(cursor.getLong(2)));
+                            break;
+                        case OP_SET_TEXT:
+                            updates.put(path, cursor.getString(3));
+                            break;
+                        default:
+                            updates.put(path, cursor.getLong(2));
+                            break;
+                    }
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        if (!updates.isEmpty()) {
+            Log.d(TAG, "Batch " + batch + ": " + updates.size() + " paths in one update");
+        }
+        return updates;
+    }
+
+    @WorkerThread
+    private void markSent(long batch) {
+        helper.getWritableDatabase().execSQL(MARK_SENT, new Object[]{batch, -batch});
+    }
+
+    // 일시적인 오류: 횟수를 올려 한도에 닿은 행은 버리고, 나머지는 다시 대기 상태로 돌린다.
+    @WorkerThread
+    private void failBatch(long batch) {
+        SQLiteDatabase db = helper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.execSQL(COUNT_ATTEMPT, new Object[]{batch});
+            List<String> exhausted = paths(db, SELECT_EXHAUSTED, batch);
+            if (!exhausted.isEmpty()) {
+                Log.e(TAG, "Dropping writes after " + MAX_ATTEMPTS + " failed attempts: " + exhausted);
+                db.execSQL(DROP_EXHAUSTED, new Object[]{batch});
+            }
+            finishBatch(batch, false);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    // 다시 보내도 거절될 묶음은 되돌리지 않고 버린다.
+    @WorkerThread
+    private void dropBatch(long batch, DatabaseError error) {
+        SQLiteDatabase db = helper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            Log.e(TAG, "Dropping batch " + batch + " (" + error.getMessage() + "): " + paths(db, SELECT_PATHS, batch));
+            db.execSQL(DELETE_BATCH, new Object[]{batch});
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private static List<String> paths(SQLiteDatabase db, String sql, long batch) {
+        List<String> paths = new ArrayList<>();
+        try (Cursor cursor = db.rawQuery(sql, new String[]{String.valueOf(batch)})) {
+            while (cursor.moveToNext()) {
+                paths.add(cursor.getString(0));
+            }
+        }
+        return paths;
+    }
+
+    // 성공하면 지우고, 실패하면 그 사이 새로 들어온 쓰기와 합쳐 다시 대기 상태로 돌린다.
+    @WorkerThread
+    private void finishBatch(long batch, boolean success) {
+        SQLiteDatabase db = helper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            if (!success) {
+                db.execSQL(DROP_SUPERSEDED, new Object[]{batch});
+                db.execSQL(MERGE_INCREMENTS, new Object[]{batch, batch, batch, batch});
+                db.execSQL(REQUEUE_BATCH, new Object[]{batch});
+            }
+            db.execSQL(DELETE_BATCH, new Object[]{batch});
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    // 시작할 때: 지난 실행에서 넘긴 묶음은 지우고, 넘기기 전에 끝난 묶음은 보내지 않은 쓰기로 되돌린다.
+    @WorkerThread
+    private void recoverBatches() {
+        SQLiteDatabase db = helper.getWritableDatabase();
+        int dropped = db.delete(TABLE, "batch > 0", null);
+        if (dropped > 0) {
+            Log.d(TAG, "Dropped " + dropped + " writes already handed to Firebase");
+        }
+        List<Long> claimed = new ArrayList<>();
+        try (Cursor cursor = db.rawQuery("SELECT DISTINCT batch FROM " + TABLE + " WHERE batch < 0", null)) {
+            while (cursor.moveToNext()) {
+                claimed.add(cursor.getLong(0));
+            }
+        }
+        for (long batch : claimed) {
+            finishBatch(batch, false);
+        }
+    }
+
+    @WorkerThread
+    private boolean hasPending() {
+        try (Cursor cursor = helper.getReadableDatabase().rawQuery(
+                "SELECT 1 FROM " + TABLE + " WHERE batch = 0 LIMIT 1", null)) {
+            return cursor.moveToFirst();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.green_action;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// 스키마 테스트용 JDBC SQLite 연결 (SchemaSql.of 의 테스트 쪽 짝)
+public final class JdbcSchemaSql implements SchemaSql {
+
+    private final Connection connection;
+
+    public JdbcSchemaSql(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public void execSQL(String sql) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException(sql, e);
+        }
+    }
+
+    @Override
+    public boolean hasColumn(String table, String column) {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equals(rs.getString("name"))) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
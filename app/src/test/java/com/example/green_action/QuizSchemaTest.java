@@ -0,0 +1,123 @@
+package com.example.green_action;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+// quiz_database 마이그레이션을 JDBC SQLite(메모리 DB)로 검증
+public class QuizSchemaTest {
+
+    private Connection connection;
+    private SchemaSql db;
+
+    @Before
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        db = new JdbcSchemaSql(connection);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void createBuildsLatestSchema() throws SQLException {
+        QuizSchema.create(db);
+        assertLatestSchema();
+    }
+
+    @Test
+    public void migrateFromHandlerV1KeepsProgress() throws SQLException {
+        // 구 DataBaseHandler v1
+        db.execSQL("CREATE TABLE quiz_progress (quiz_id INTEGER PRIMARY KEY,is_solved INTEGER DEFAULT 0)");
+        db.execSQL("INSERT INTO quiz_progress VALUES (1, 1), (2, 1), (3, 0)");
+
+        QuizSchema.migrate(db, 1, QuizSchema.VERSION);
+
+        assertLatestSchema();
+        assertEquals(3, count("SELECT COUNT(*) FROM quiz_progress"));
+        assertEquals(2, count("SELECT COUNT(*) FROM quiz_progress WHERE is_solved = 1"));
+    }
+
+    @Test
+    public void migrateFromHelperV3MergesPerUserProgress() throws SQLException {
+        // 구 DataBaseHelper v3 (진행 상태가 user_id 별)
+        db.execSQL("CREATE TABLE quiz_progress (user_id TEXT NOT NULL, quiz_id INTEGER NOT NULL, " +
+                "is_solved INTEGER DEFAULT 0, PRIMARY KEY (user_id, quiz_id))");
+        db.execSQL("INSERT INTO quiz_progress VALUES ('a', 1, 1), ('b', 1, 0), ('b', 2, 0), ('a', 3, 1)");
+        db.execSQL("CREATE TABLE air_pollution_quiz (quiz_id INTEGER PRIMARY KEY AUTOINCREMENT, question TEXT NOT NULL, " +
+                "study TEXT, correct_answer TEXT NOT NULL, correct_answer_length INTEGER, explanation TEXT, " +
+                "max_score INTEGER DEFAULT 3, attempts_allowed INTEGER DEFAULT 3, is_locked INTEGER DEFAULT 1, " +
+                "is_solved INTEGER DEFAULT 0, order_index INTEGER NOT NULL)");
+        db.execSQL("INSERT INTO air_pollution_quiz (question, correct_answer, order_index) VALUES ('q', 'a', 1)");
+
+        QuizSchema.migrate(db, 3, QuizSchema.VERSION);
+
+        assertLatestSchema();
+        assertEquals(3, count("SELECT COUNT(*) FROM quiz_progress"));
+        assertEquals(1, count("SELECT is_solved FROM quiz_progress WHERE quiz_id = 1"));
+        assertEquals(0, count("SELECT is_solved FROM quiz_progress WHERE quiz_id = 2"));
+        assertEquals(1, count("SELECT is_solved FROM quiz_progress WHERE quiz_id = 3"));
+        // 내용 테이블의 기존 문항은 그대로 (같은 순서의 기본 문항으로 덮지 않는다)
+        assertEquals(1, count("SELECT COUNT(*) FROM air_pollution_quiz WHERE order_index = 1 AND question = 'q'"));
+    }
+
+    @Test
+    public void eachStepCanRunIndividually() throws SQLException {
+        db.execSQL("CREATE TABLE quiz_progress (quiz_id INTEGER PRIMARY KEY,is_solved INTEGER DEFAULT 0)");
+        db.execSQL("INSERT INTO quiz_progress VALUES (5, 1)");
+        for (int version = 1; version < QuizSchema.VERSION; version++) {
+            QuizSchema.migrate(db, version, version + 1);
+        }
+        assertLatestSchema();
+        assertEquals(1, count("SELECT is_solved FROM quiz_progress WHERE quiz_id = 5"));
+    }
+
+    @Test
+    public void version7PendingWritesKeepRowsAndGainAttempts() throws SQLException {
+        db.execSQL("CREATE TABLE pending_writes (path TEXT NOT NULL, batch INTEGER NOT NULL DEFAULT 0, " +
+                "op INTEGER NOT NULL, num INTEGER, text TEXT, PRIMARY KEY (path, batch))");
+        db.execSQL("INSERT INTO pending_writes (path, op, num) VALUES ('users/a/score', 1, 10)");
+
+        QuizSchema.migrate(db, 7, QuizSchema.VERSION);
+
+        assertEquals(10, count("SELECT num FROM pending_writes WHERE path = 'users/a/score'"));
+        assertEquals(0, count("SELECT attempts FROM pending_writes WHERE path = 'users/a/score'"));
+    }
+
+    private void assertLatestSchema() throws SQLException {
+        assertTrue(db.hasColumn("quiz_progress", "quiz_id"));
+        assertFalse(db.hasColumn("quiz_progress", "user_id"));
+        for (String table : QuizSchema.QUIZ_TABLES) {
+            assertTrue(table, db.hasColumn(table, "order_index"));
+        }
+        assertTrue(db.hasColumn("user_table", "user_id"));
+        assertTrue(db.hasColumn(QuizSchema.TABLE_CONTENT_META, "meta_value"));
+        assertTrue(db.hasColumn(QuizSchema.TABLE_PENDING_WRITES, "batch"));
+        assertTrue(db.hasColumn(QuizSchema.TABLE_PENDING_WRITES, "attempts"));
+        for (String table : QuizSchema.QUIZ_TABLES) {
+            assertEquals(table, 1, count("SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = 'idx_" + table + "_order'"));
+        }
+        assertEquals(QuizSchema.LEGACY_AIR_QUIZ_COUNT,
+                count("SELECT COUNT(DISTINCT order_index) FROM air_pollution_quiz WHERE order_index <= " + QuizSchema.LEGACY_AIR_QUIZ_COUNT));
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
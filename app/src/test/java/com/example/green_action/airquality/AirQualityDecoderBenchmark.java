@@ -0,0 +1,134 @@
+package com.example.green_action.airquality;
+
+import org.junit.Test;
+import org.kxml2.io.KXmlParser;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import static org.junit.Assert.assertEquals;
+
+// 큰 numOfRows 응답에서 예전 DOM 파싱(문자열 -> DOM -> 항목마다 HashMap)과 AirQualityXmlDecoder 를 비교한다.
+// 결과는 표준 출력, 통과 조건은 두 방식의 항목 수가 같은 것뿐이다.
+// ./gradlew :app:testDebugUnitTest --tests "*AirQualityDecoderBenchmark" -i
+public class AirQualityDecoderBenchmark {
+
+    private static final int[] ROWS = {100, 700, 5000};  // 전국 측정소는 약 650곳
+    private static final int WARMUP = 5;
+    private static final int ROUNDS = 20;
+
+    private static final String[] TAGS = {"stationName", "mangName", "sidoName", "dataTime", "so2Value", "coValue", "o3Value", "no2Value",
+            "pm10Value", "pm10Value24", "pm25Value", "pm25Value24", "khaiValue", "khaiGrade", "so2Grade",
+            "coGrade", "o3Grade", "no2Grade", "pm10Grade", "pm25Grade", "pm10Grade1h", "pm25Grade1h",
+            "so2Flag", "coFlag", "o3Flag", "no2Flag", "pm10Flag", "pm25Flag"};
+
+    @Test
+    public void domVersusPull() throws Exception {
+        for (int rows : ROWS) {
+            byte[] body = payload(rows);
+            for (int i = 0; i < WARMUP; i++) {
+                assertEquals(rows, parseDom(body).size());
+                assertEquals(rows, parsePull(body).readings.size());
+            }
+            Measurement dom = measure(() -> parseDom(body).size());
+            Measurement pull = measure(() -> parsePull(body).readings.size());
+            System.out.println("AirQualityDecoderBenchmark: " + rows + " rows (" + body.length / 1024 + " KB) "
+                    + "DOM " + dom + " / pull " + pull);
+        }
+    }
+
+    private interface Parse {
+        int run() throws Exception;
+    }
+
+    private static final class Measurement {
+        final double millis;
+        final long bytes;
+
+        Measurement(double millis, long bytes) {
+            this.millis = millis;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(java.util.Locale.ROOT, "%.2f ms, %s", millis, bytes < 0 ? "alloc n/a" : bytes / 1024 + " KB alloc");
+        }
+    }
+
+    private static Measurement measure(Parse parse) throws Exception {
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = allocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            parse.run();
+        }
+        long nanos = System.nanoTime() - start;
+        long bytesAfter = allocatedBytes(threadId);
+        return new Measurement(nanos / 1e6 / ROUNDS, bytesBefore < 0 ? -1 : (bytesAfter - bytesBefore) / ROUNDS);
+    }
+
+    // HotSpot 에서만 스레드별 할당량을 알 수 있다.
+    private static long allocatedBytes(long threadId) {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(threadId);
+        }
+        return -1;
+    }
+
+    private static AirQualityPage parsePull(byte[] body) throws Exception {
+        return AirQualityXmlDecoder.decode(new KXmlParser(), new ByteArrayInputStream(body));
+    }
+
+    // 예전 AirPollutionFragment.FetchAirPollutionTask 의 방식 그대로
+    private static List<Map<String, String>> parseDom(byte[] body) throws Exception {
+        String xmlData = new String(body, StandardCharsets.UTF_8);
+        List<Map<String, String>> dataList = new ArrayList<>();
+        DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        Document document = builder.parse(new ByteArrayInputStream(xmlData.getBytes("UTF-8")));
+        document.getDocumentElement().normalize();
+        NodeList nodeList = document.getElementsByTagName("item");
+        for (int i = 0; i < nodeList.getLength(); i++) {
+            Element element = (Element) nodeList.item(i);
+            Map<String, String> dataMap = new HashMap<>();
+            for (String tag : TAGS) {
+                NodeList values = element.getElementsByTagName(tag);
+                dataMap.put(tag, values.getLength() > 0 ? values.item(0).getTextContent() : "N/A");
+            }
+            dataList.add(dataMap);
+        }
+        return dataList;
+    }
+
+    private static byte[] payload(int rows) {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><response><header>"
+                + "<resultCode>00</resultCode><resultMsg>NORMAL_CODE</resultMsg></header><body><items>");
+        for (int i = 0; i < rows; i++) {
+            xml.append("<item><so2Grade>1</so2Grade><coFlag/><khaiValue>").append(40 + i % 60).append("</khaiValue>")
+                    .append("<so2Value>0.003</so2Value><coValue>0.4</coValue><pm25Flag/><pm10Flag/><o3Grade>2</o3Grade>")
+                    .append("<pm10Value>").append(i % 7 == 0 ? "-" : String.valueOf(20 + i % 50)).append("</pm10Value>")
+                    .append("<khaiGrade>2</khaiGrade><pm25Value>").append(5 + i % 30).append("</pm25Value>")
+                    .append("<sidoName>경기</sidoName><no2Flag/><no2Grade>1</no2Grade><o3Flag/><pm25Grade>1</pm25Grade><so2Flag/>")
+                    .append("<dataTime>2026-10-18 09:00</dataTime><coGrade>1</coGrade><no2Value>0.012</no2Value>")
+                    .append("<stationName>측정소").append(i).append("</stationName><pm10Grade>1</pm10Grade>")
+                    .append("<o3Value>0.061</o3Value><mangName>도시대기</mangName><pm10Value24>28</pm10Value24>")
+                    .append("<pm25Value24>13</pm25Value24><pm10Grade1h>1</pm10Grade1h><pm25Grade1h>1</pm25Grade1h></item>");
+        }
+        xml.append("</items><numOfRows>").append(rows).append("</numOfRows><pageNo>1</pageNo><totalCount>")
+                .append(rows).append("</totalCount></body></response>");
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
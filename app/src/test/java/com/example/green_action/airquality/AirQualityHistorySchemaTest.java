@@ -0,0 +1,219 @@
+package com.example.green_action.airquality;
+
+import com.example.green_action.JdbcSchemaSql;
+import com.example.green_action.SchemaSql;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+// air_quality_history 스키마와 집계/조회 SQL 을 JDBC SQLite(메모리 DB)로 검증
+public class AirQualityHistorySchemaTest {
+
+    // 2026-10-19 00:00 KST (월요일)
+    private static final long MONDAY_MIDNIGHT = 1792335600000L;
+
+    private Connection connection;
+    private SchemaSql db;
+
+    @Before
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        db = new JdbcSchemaSql(connection);
+        AirQualityHistorySchema.create(db);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void createIsIdempotent() {
+        AirQualityHistorySchema.create(db);
+        assertTrue(db.hasColumn(AirQualityHistorySchema.TABLE_HOURLY, "pm25"));
+        for (String metric : AirQualityHistorySchema.METRICS) {
+            assertTrue(metric, db.hasColumn(AirQualityHistorySchema.TABLE_DAILY, metric + "_sum"));
+            assertTrue(metric, db.hasColumn(AirQualityHistorySchema.TABLE_WEEKLY, metric + "_n"));
+        }
+    }
+
+    @Test
+    public void dayAndWeekFollowKoreanTime() {
+        long midnight = AirQualityHistorySchema.hourOf(MONDAY_MIDNIGHT);
+        long day = AirQualityHistorySchema.dayOfHour(midnight);
+        // 한국 시간 자정 직전은 전날
+        assertEquals(day - 1, AirQualityHistorySchema.dayOfHour(midnight - 1));
+        assertEquals(day, AirQualityHistorySchema.dayOfHour(midnight + 23));
+        assertEquals(midnight, AirQualityHistorySchema.firstHourOfDay(day));
+        // 월요일이 주의 첫날
+        long week = AirQualityHistorySchema.weekOfDay(day);
+        assertEquals(day, AirQualityHistorySchema.firstDayOfWeek(week));
+        assertEquals(week - 1, AirQualityHistorySchema.weekOfDay(day - 1));
+        assertEquals(week, AirQualityHistorySchema.weekOfDay(day + 6));
+    }
+
+    @Test
+    public void rollupsSkipMissingValues() throws SQLException {
+        long station = insertStation("서울", "중구");
+        long midnight = AirQualityHistorySchema.hourOf(MONDAY_MIDNIGHT);
+        insertHourly(station, midnight - 1, 100, 90);   // 전날 23시 (집계에서 빠진다)
+        insertHourly(station, midnight, 40, 20);
+        insertHourly(station, midnight + 1, 60, null);  // 초미세먼지 없음
+        insertHourly(station, midnight + 23, 20, 10);
+
+        long day = AirQualityHistorySchema.dayOfHour(midnight);
+        rollUpDaily("서울", day);
+        rollUpDaily("서울", day - 1);
+        rollUpWeekly("서울", AirQualityHistorySchema.weekOfDay(day));
+
+        try (ResultSet rs = query(AirQualityHistorySchema.RANGE_DAILY, station, day, day + 1)) {
+            assertTrue(rs.next());
+            assertEquals(day, rs.getLong(1));
+            assertEquals(120, rs.getLong("pm10_sum"));
+            assertEquals(3, rs.getLong("pm10_n"));
+            assertEquals(30, rs.getLong("pm25_sum"));
+            assertEquals(2, rs.getLong("pm25_n"));
+            assertFalse(rs.next());
+        }
+        // 전날은 지난주에 속하므로 이번 주 집계는 이날 하루뿐
+        long week = AirQualityHistorySchema.weekOfDay(day);
+        try (ResultSet rs = query(AirQualityHistorySchema.RANGE_WEEKLY, station, week, week + 1)) {
+            assertTrue(rs.next());
+            assertEquals(30, rs.getLong("pm25_sum"));
+            assertEquals(2, rs.getLong("pm25_n"));
+            assertFalse(rs.next());
+        }
+    }
+
+    @Test
+    public void rerunningRollupReplacesAggregate() throws SQLException {
+        long station = insertStation("부산", "광복동");
+        long midnight = AirQualityHistorySchema.hourOf(MONDAY_MIDNIGHT);
+        long day = AirQualityHistorySchema.dayOfHour(midnight);
+        insertHourly(station, midnight, 40, 20);
+        rollUpDaily("부산", day);
+        insertHourly(station, midnight, 50, 30);  // 같은 시각을 다시 받음
+        insertHourly(station, midnight + 1, 10, 10);
+        rollUpDaily("부산", day);
+
+        try (ResultSet rs = query(AirQualityHistorySchema.RANGE_DAILY, station, day, day + 1)) {
+            assertTrue(rs.next());
+            assertEquals(40, rs.getLong("pm25_sum"));
+            assertEquals(2, rs.getLong("pm25_n"));
+        }
+    }
+
+    @Test
+    public void sidoExposureAveragesOverStationsAndCountsDays() throws SQLException {
+        long a = insertStation("경기", "수원");
+        long b = insertStation("경기", "성남");
+        long other = insertStation("서울", "중구");
+        long midnight = AirQualityHistorySchema.hourOf(MONDAY_MIDNIGHT);
+        long day = AirQualityHistorySchema.dayOfHour(midnight);
+        insertHourly(a, midnight, null, 10);
+        insertHourly(b, midnight, null, 30);
+        insertHourly(a, midnight - 24, null, 20);
+        insertHourly(other, midnight, null, 200);
+        rollUpDaily("경기", day);
+        rollUpDaily("경기", day - 1);
+        rollUpDaily("서울", day);
+
+        try (PreparedStatement statement = connection.prepareStatement(AirQualityHistorySchema.SIDO_PM25)) {
+            statement.setString(1, "경기");
+            statement.setLong(2, day - 6);
+            statement.setLong(3, day + 1);
+            try (ResultSet rs = statement.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(60, rs.getLong(1));
+                assertEquals(3, rs.getLong(2));
+                assertEquals(2, rs.getLong(3));
+            }
+        }
+    }
+
+    @Test
+    public void pruneKeepsRowsFromBoundary() throws SQLException {
+        long station = insertStation("대구", "수창동");
+        long midnight = AirQualityHistorySchema.hourOf(MONDAY_MIDNIGHT);
+        insertHourly(station, midnight - 1, 10, 10);
+        insertHourly(station, midnight, 10, 10);
+        try (PreparedStatement statement = connection.prepareStatement(AirQualityHistorySchema.PRUNE_HOURLY)) {
+            statement.setLong(1, midnight);
+            assertEquals(1, statement.executeUpdate());
+        }
+        try (ResultSet rs = query(AirQualityHistorySchema.RANGE_HOURLY, station, midnight - 24, midnight + 24)) {
+            assertTrue(rs.next());
+            assertEquals(midnight, rs.getLong(1));
+            assertFalse(rs.next());
+        }
+    }
+
+    private long insertStation(String sido, String name) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(AirQualityHistorySchema.INSERT_STATION)) {
+            insert.setString(1, sido);
+            insert.setString(2, name);
+            insert.executeUpdate();
+        }
+        try (PreparedStatement select = connection.prepareStatement(AirQualityHistorySchema.SELECT_STATION)) {
+            select.setString(1, sido);
+            select.setString(2, name);
+            try (ResultSet rs = select.executeQuery()) {
+                assertTrue(rs.next());
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private void insertHourly(long station, long hour, Integer pm10, Integer pm25) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(AirQualityHistorySchema.UPSERT_HOURLY)) {
+            statement.setLong(1, station);
+            statement.setLong(2, hour);
+            statement.setObject(3, pm10);
+            statement.setObject(4, pm25);
+            statement.setObject(5, null);
+            statement.setObject(6, null);
+            statement.setObject(7, null);
+            statement.executeUpdate();
+        }
+    }
+
+    private void rollUpDaily(String sido, long day) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(AirQualityHistorySchema.ROLLUP_DAILY)) {
+            statement.setLong(1, day);
+            statement.setString(2, sido);
+            statement.setLong(3, AirQualityHistorySchema.firstHourOfDay(day));
+            statement.setLong(4, AirQualityHistorySchema.firstHourOfDay(day + 1));
+            statement.executeUpdate();
+        }
+    }
+
+    private void rollUpWeekly(String sido, long week) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(AirQualityHistorySchema.ROLLUP_WEEKLY)) {
+            statement.setLong(1, week);
+            statement.setString(2, sido);
+            statement.setLong(3, AirQualityHistorySchema.firstDayOfWeek(week));
+            statement.setLong(4, AirQualityHistorySchema.firstDayOfWeek(week + 1));
+            statement.executeUpdate();
+        }
+    }
+
+    private ResultSet query(String sql, long station, long from, long to) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        statement.setLong(1, station);
+        statement.setLong(2, from);
+        statement.setLong(3, to);
+        statement.closeOnCompletion();
+        return statement.executeQuery();
+    }
+}
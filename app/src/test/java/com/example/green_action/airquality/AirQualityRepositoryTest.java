@@ -0,0 +1,340 @@
+package com.example.green_action.airquality;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kxml2.io.KXmlParser;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class AirQualityRepositoryTest {
+
+    // 2026-10-18 09:30 KST (09시 자료가 올라온 뒤)
+    private static final long NINE_THIRTY = 1792283400000L;
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private final Queue<Runnable> io = new ConcurrentLinkedQueue<>();
+    private final AtomicLong now = new AtomicLong(NINE_THIRTY);
+    private AirQualityRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        Executor ioExecutor = io::add;
+        repository = new AirQualityRepository(server.url("/getCtprvnRltmMesureDnsty"), "key+/=", new OkHttpClient(),
+                folder.newFolder("air_quality"), ioExecutor, ioExecutor, Runnable::run, now::get, KXmlParser::new);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void hourIsKoreanStandardTime() {
+        assertEquals("2026101809", AirQualityRepository.hourOf(NINE_THIRTY));
+        assertEquals("2026101810", AirQualityRepository.hourOf(NINE_THIRTY + HOUR));
+    }
+
+    @Test
+    public void currentHourWaitsForPublication() {
+        assertEquals("2026101809", repository.currentHour());
+        now.set(NINE_THIRTY + 40 * 60 * 1000L); // 10:10, 10시 자료는 아직 없다.
+        assertEquals("2026101809", repository.currentHour());
+        now.set(NINE_THIRTY + HOUR); // 10:30
+        assertEquals("2026101810", repository.currentHour());
+    }
+
+    @Test
+    public void concurrentRequestsShareOneCall() throws Exception {
+        server.enqueue(ok("수원"));
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        repository.getRealtime("경기", first);
+        repository.getRealtime("경기", second);
+        runIo();
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals("수원", first.fresh.get(0).readings.get(0).stationName);
+        assertEquals(1, second.fresh.size());
+        assertTrue(first.stale.isEmpty());
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("경기", request.getRequestUrl().queryParameter("sidoName"));
+        assertEquals("key+/=", request.getRequestUrl().queryParameter("serviceKey"));
+    }
+
+    @Test
+    public void sameHourIsServedFromDisk() {
+        server.enqueue(ok("수원"));
+        repository.getRealtime("경기", new Recorder());
+        runIo();
+
+        now.addAndGet(40 * 60 * 1000L); // 10:10, 아직 09시 자료가 최신
+        Recorder later = new Recorder();
+        repository.getRealtime("경기", later);
+        runIo();
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, later.fresh.size());
+        assertTrue(later.stale.isEmpty());
+    }
+
+    @Test
+    public void newHourDeliversStaleThenFresh() {
+        server.enqueue(ok("수원"));
+        repository.getRealtime("경기", new Recorder());
+        runIo();
+
+        now.addAndGet(HOUR);
+        server.enqueue(ok("성남"));
+        Recorder next = new Recorder();
+        repository.getRealtime("경기", next);
+        runIo();
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals("수원", next.stale.get(0).readings.get(0).stationName);
+        assertEquals("성남", next.fresh.get(0).readings.get(0).stationName);
+        assertEquals(1, next.order.indexOf("fresh"));
+    }
+
+    @Test
+    public void followsTotalCountAcrossPages() throws Exception {
+        server.enqueue(ok("수원", 250));
+        server.enqueue(ok("성남", 250));
+        server.enqueue(ok("안양", 250));
+        Recorder recorder = new Recorder();
+        repository.getRealtime("경기", recorder);
+        runIo();
+
+        assertEquals(3, server.getRequestCount());
+        for (int pageNo = 1; pageNo <= 3; pageNo++) {
+            assertEquals(String.valueOf(pageNo), server.takeRequest().getRequestUrl().queryParameter("pageNo"));
+        }
+        AirQualityPage page = recorder.fresh.get(0);
+        assertEquals(3, page.readings.size());
+        assertEquals("안양", page.readings.get(2).stationName);
+
+        // 합친 결과가 그대로 저장된다.
+        Recorder cached = new Recorder();
+        repository.getRealtime("경기", cached);
+        runIo();
+        assertEquals(3, server.getRequestCount());
+        assertEquals(3, cached.fresh.get(0).readings.size());
+    }
+
+    @Test
+    public void prefetchSkipsCurrentRegions() throws Exception {
+        server.enqueue(ok("종로구"));
+        repository.getRealtime("서울", new Recorder());
+        runIo();
+        assertTrue(repository.isCurrent("서울"));
+        assertFalse(repository.isCurrent("경기"));
+
+        // prefetch 는 끝날 때까지 기다리므로 다른 스레드에서 부르고, io 작업은 이 스레드에서 돌린다.
+        server.enqueue(ok("수원"));
+        AtomicInteger failed = new AtomicInteger(-1);
+        Thread worker = new Thread(() -> {
+            try {
+                failed.set(repository.prefetch(Arrays.asList("서울", "경기")));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        worker.start();
+        while (worker.isAlive()) {
+            runIo();
+            worker.join(10);
+        }
+
+        assertEquals(0, failed.get());
+        assertEquals(2, server.getRequestCount());
+        assertTrue(repository.isCurrent("경기"));
+        assertEquals(0, repository.prefetch(Arrays.asList("서울", "경기")));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void finishedIsCalledOnceForEveryOutcome() {
+        server.enqueue(ok("수원"));
+        repository.getRealtime("경기", new Recorder());
+        runIo();
+
+        now.addAndGet(HOUR);
+        server.enqueue(new MockResponse().setResponseCode(500));
+        Recorder next = new Recorder();
+        repository.getRealtime("경기", next);
+        runIo();
+        assertEquals(Arrays.asList("stale", "finished:false"), next.order);
+    }
+
+    @Test
+    public void olderDataIsStaleAndFetchedAgain() {
+        now.addAndGet(HOUR); // 10:30, 10시 자료를 기다린다.
+        server.enqueue(ok("수원", 1, NINE_THIRTY)); // API 는 아직 09시 자료
+        Recorder recorder = new Recorder();
+        repository.getRealtime("경기", recorder);
+        runIo();
+
+        assertEquals(Arrays.asList("stale", "finished:false"), recorder.order);
+        assertFalse(repository.isCurrent("경기"));
+
+        server.enqueue(ok("성남"));
+        Recorder retry = new Recorder();
+        repository.getRealtime("경기", retry);
+        runIo();
+        assertEquals(2, server.getRequestCount());
+        assertEquals("수원", retry.stale.get(0).readings.get(0).stationName);
+        assertEquals("성남", retry.fresh.get(0).readings.get(0).stationName);
+        assertTrue(repository.isCurrent("경기"));
+    }
+
+    @Test
+    public void earlyPublishedHourStaysCurrent() {
+        now.addAndGet(40 * 60 * 1000L); // 10:10, 10시 자료가 일찍 올라왔다.
+        server.enqueue(ok("수원", 1, NINE_THIRTY + HOUR));
+        repository.getRealtime("경기", new Recorder());
+        runIo();
+
+        now.addAndGet(20 * 60 * 1000L); // 10:30
+        Recorder later = new Recorder();
+        repository.getRealtime("경기", later);
+        runIo();
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, later.fresh.size());
+        assertTrue(repository.isCurrent("경기"));
+    }
+
+    @Test
+    public void failedPageFailsTheRegion() {
+        server.enqueue(ok("수원", 150));
+        server.enqueue(new MockResponse().setResponseCode(503));
+        Recorder recorder = new Recorder();
+        repository.getRealtime("경기", recorder);
+        runIo();
+
+        assertTrue(recorder.fresh.isEmpty());
+        assertEquals(1, recorder.errors.size());
+    }
+
+    @Test
+    public void failureAfterStaleIsSilent() {
+        server.enqueue(ok("수원"));
+        repository.getRealtime("경기", new Recorder());
+        runIo();
+
+        now.addAndGet(HOUR);
+        server.enqueue(new MockResponse().setResponseCode(500));
+        Recorder next = new Recorder();
+        repository.getRealtime("경기", next);
+        runIo();
+
+        assertEquals(1, next.stale.size());
+        assertTrue(next.fresh.isEmpty());
+        assertTrue(next.errors.isEmpty());
+    }
+
+    @Test
+    public void failureWithoutCacheIsReportedAndNotCached() {
+        server.enqueue(new MockResponse().setBody(response("99", "SERVICE ERROR", "")));
+        Recorder recorder = new Recorder();
+        repository.getRealtime("경기", recorder);
+        runIo();
+        assertEquals(1, recorder.errors.size());
+        assertNotNull(recorder.errors.get(0).getMessage());
+
+        server.enqueue(ok("수원"));
+        Recorder retry = new Recorder();
+        repository.getRealtime("경기", retry);
+        runIo();
+        assertEquals(2, server.getRequestCount());
+        assertFalse(retry.fresh.isEmpty());
+    }
+
+    private void runIo() {
+        Runnable task;
+        while ((task = io.poll()) != null) {
+            task.run();
+        }
+    }
+
+    // 지금 받을 수 있는 가장 최근 시각의 자료
+    private MockResponse ok(String station) {
+        return ok(station, 1);
+    }
+
+    private MockResponse ok(String station, int totalCount) {
+        return ok(station, totalCount, now.get() - AirQualityRepository.PUBLISH_DELAY_MS);
+    }
+
+    private static MockResponse ok(String station, int totalCount, long dataTime) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:00", Locale.ROOT);
+        format.setTimeZone(TimeZone.getTimeZone("Asia/Seoul"));
+        return new MockResponse().setBody(response("00", "NORMAL_CODE",
+                "<item><stationName>" + station + "</stationName><sidoName>경기</sidoName>"
+                        + "<dataTime>" + format.format(new Date(dataTime)) + "</dataTime><pm10Value>31</pm10Value><pm25Value>12</pm25Value></item>",
+                totalCount));
+    }
+
+    private static String response(String code, String message, String items) {
+        return response(code, message, items, 1);
+    }
+
+    private static String response(String code, String message, String items, int totalCount) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?><response><header><resultCode>" + code + "</resultCode>"
+                + "<resultMsg>" + message + "</resultMsg></header><body><items>" + items + "</items>"
+                + "<numOfRows>100</numOfRows><pageNo>1</pageNo><totalCount>" + totalCount + "</totalCount></body></response>";
+    }
+
+    private static final class Recorder implements AirQualityRepository.Callback {
+        final List<AirQualityPage> fresh = new ArrayList<>();
+        final List<AirQualityPage> stale = new ArrayList<>();
+        final List<Exception> errors = new ArrayList<>();
+        final List<String> order = new ArrayList<>();
+
+        @Override
+        public void onResult(AirQualityPage page, boolean isStale) {
+            (isStale ? stale : fresh).add(page);
+            order.add(isStale ? "stale" : "fresh");
+        }
+
+        @Override
+        public void onError(Exception error) {
+            errors.add(error);
+            order.add("error");
+        }
+
+        @Override
+        public void onFinished(boolean current) {
+            order.add("finished:" + current);
+        }
+    }
+}
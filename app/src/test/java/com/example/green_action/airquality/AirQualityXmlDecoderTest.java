@@ -0,0 +1,108 @@
+package com.example.green_action.airquality;
+
+import org.junit.Test;
+import org.kxml2.io.KXmlParser;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AirQualityXmlDecoderTest {
+
+    private static final String RESPONSE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<response>\n"
+            + "  <header><resultCode>00</resultCode><resultMsg>NORMAL_CODE</resultMsg></header>\n"
+            + "  <body>\n"
+            + "    <items>\n"
+            + "      <item>\n"
+            + "        <so2Grade>1</so2Grade><coFlag/><khaiValue>73</khaiValue><so2Value>0.003</so2Value>\n"
+            + "        <coValue>0.4</coValue><pm25Flag/><pm10Flag>통신장애</pm10Flag><o3Grade>2</o3Grade>\n"
+            + "        <pm10Value>-</pm10Value><khaiGrade>2</khaiGrade><pm25Value>15</pm25Value><sidoName>경기</sidoName>\n"
+            + "        <no2Flag/><no2Grade>1</no2Grade><o3Flag/><pm25Grade>1</pm25Grade><so2Flag/>\n"
+            + "        <dataTime>2026-10-18 09:00</dataTime><coGrade>1</coGrade><no2Value>0.012</no2Value>\n"
+            + "        <stationName>신풍동</stationName><pm10Grade/><o3Value>0.061</o3Value><mangName>도시대기</mangName>\n"
+            + "        <pm10Value24>28</pm10Value24><pm25Value24>13</pm25Value24><pm10Grade1h/><pm25Grade1h>1</pm25Grade1h>\n"
+            + "      </item>\n"
+            + "      <item><stationName>인계동</stationName><dataTime>2026-10-18 24:00</dataTime><o3Value>-</o3Value></item>\n"
+            + "    </items>\n"
+            + "    <numOfRows>2</numOfRows><pageNo>3</pageNo><totalCount>105</totalCount>\n"
+            + "  </body>\n"
+            + "</response>";
+
+    @Test
+    public void decodesHeaderAndPaging() throws Exception {
+        AirQualityPage page = decode(RESPONSE);
+        assertTrue(page.isOk());
+        assertEquals("NORMAL_CODE", page.resultMsg);
+        assertEquals(105, page.totalCount);
+        assertEquals(3, page.pageNo);
+        assertEquals(2, page.numOfRows);
+        assertEquals(2, page.readings.size());
+    }
+
+    @Test
+    public void decodesTypedReading() throws Exception {
+        AirQualityReading reading = decode(RESPONSE).readings.get(0);
+        assertEquals("신풍동", reading.stationName);
+        assertEquals("도시대기", reading.mangName);
+        assertEquals("경기", reading.sidoName);
+        assertEquals(1792281600000L, reading.dataTime); // 2026-10-18 09:00 KST
+        assertEquals(0.003, reading.so2, 0);
+        assertEquals(0.4, reading.co, 0);
+        assertEquals(0.061, reading.o3, 0);
+        assertEquals(0.012, reading.no2, 0);
+        assertEquals(AirQualityReading.MISSING, reading.pm10);
+        assertEquals(15, reading.pm25);
+        assertEquals(28, reading.pm10Avg24);
+        assertEquals(13, reading.pm25Avg24);
+        assertEquals(73, reading.khai);
+        assertEquals(2, reading.khaiGrade);
+        assertEquals(2, reading.o3Grade);
+        assertEquals(AirQualityReading.MISSING, reading.pm10Grade);
+        assertEquals(1, reading.pm25Grade1h);
+        assertTrue(reading.isFlagged(AirQualityReading.FLAG_PM10));
+        assertFalse(reading.isFlagged(AirQualityReading.FLAG_PM25));
+        assertEquals(AirQualityReading.FLAG_PM10, reading.flags);
+    }
+
+    @Test
+    public void missingFieldsAndMidnight() throws Exception {
+        AirQualityReading reading = decode(RESPONSE).readings.get(1);
+        assertEquals("인계동", reading.stationName);
+        assertEquals(1792335600000L, reading.dataTime); // "24:00" = 2026-10-19 00:00 KST
+        assertTrue(Double.isNaN(reading.o3));
+        assertTrue(Double.isNaN(reading.so2));
+        assertEquals(AirQualityReading.MISSING, reading.pm25);
+        assertEquals(AirQualityReading.MISSING, reading.khaiGrade);
+        assertEquals("", reading.sidoName);
+        assertEquals(0, reading.flags);
+    }
+
+    @Test
+    public void errorResponse() throws Exception {
+        AirQualityPage page = decode("<OpenAPI_ServiceResponse><cmmMsgHeader><errMsg>SERVICE ERROR</errMsg>"
+                + "<returnAuthMsg>SERVICE_KEY_IS_NOT_REGISTERED_ERROR</returnAuthMsg><returnReasonCode>30</returnReasonCode>"
+                + "</cmmMsgHeader></OpenAPI_ServiceResponse>");
+        assertFalse(page.isOk());
+        assertTrue(page.readings.isEmpty());
+    }
+
+    @Test
+    public void numbers() {
+        assertEquals(42, AirQualityXmlDecoder.parseInt(" 42 "));
+        assertEquals(AirQualityReading.MISSING, AirQualityXmlDecoder.parseInt("-"));
+        assertEquals(AirQualityReading.MISSING, AirQualityXmlDecoder.parseInt(""));
+        assertEquals(AirQualityReading.MISSING, AirQualityXmlDecoder.parseInt("1.5"));
+        assertEquals(0.5, AirQualityXmlDecoder.parseDouble(".5"), 0);
+        assertTrue(Double.isNaN(AirQualityXmlDecoder.parseDouble("-")));
+        assertTrue(Double.isNaN(AirQualityXmlDecoder.parseDouble("0.0.1")));
+        assertEquals(0, AirQualityXmlDecoder.parseDataTime("2026-10-18"));
+    }
+
+    private static AirQualityPage decode(String xml) throws Exception {
+        return AirQualityXmlDecoder.decode(new KXmlParser(), new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+}
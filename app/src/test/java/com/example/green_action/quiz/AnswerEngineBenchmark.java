@@ -0,0 +1,73 @@
+package com.example.green_action.quiz;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// 포함된 퀴즈 팩 전체로 정답 키 계산과 채점 시간을 잰다. (결과는 표준 출력, 통과 조건은 정확성만)
+// ./gradlew :app:testDebugUnitTest --tests "*AnswerEngineBenchmark" -i
+public class AnswerEngineBenchmark {
+
+    private static final File PACK = new File("src/main/assets/quiz_pack.db");
+    private static final int ROUNDS = 200;
+
+    @Test
+    public void fullContentSet() throws SQLException {
+        List<Quiz> quizzes = loadPack();
+        assertTrue("empty quiz pack", !quizzes.isEmpty());
+
+        // 키 계산 (Quiz 생성 시 한 번)
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Quiz quiz : quizzes) {
+                AnswerKey.of(quiz.correctAnswer);
+            }
+        }
+        long keyNanos = (System.nanoTime() - start) / ((long) ROUNDS * quizzes.size());
+
+        // 채점: 정답과 공백/대소문자가 다른 답, 오답을 번갈아 제출
+        AnswerEngine engine = new AnswerEngine();
+        int correct = 0;
+        start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Quiz quiz : quizzes) {
+                if (engine.submit(quiz, " " + quiz.correctAnswer.toUpperCase() + " ").outcome == AnswerEngine.Outcome.CORRECT) {
+                    correct++;
+                }
+                engine.submit(quiz, "오답입니다");
+            }
+        }
+        long submitNanos = (System.nanoTime() - start) / (2L * ROUNDS * quizzes.size());
+
+        assertEquals(ROUNDS * quizzes.size(), correct);
+        System.out.println("AnswerEngineBenchmark: " + quizzes.size() + " quizzes, key "
+                + keyNanos + " ns/quiz, submit " + submitNanos + " ns/answer");
+    }
+
+    private static List<Quiz> loadPack() throws SQLException {
+        List<Quiz> quizzes = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + PACK.getPath());
+             Statement statement = connection.createStatement()) {
+            for (QuizCategory category : QuizCategory.values()) {
+                try (ResultSet rs = statement.executeQuery("SELECT question, study, correct_answer, explanation, "
+                        + "max_score, attempts_allowed, order_index FROM " + category.table)) {
+                    while (rs.next()) {
+                        quizzes.add(new Quiz(category, rs.getInt(7), rs.getString(1), rs.getString(2),
+                                rs.getString(3), rs.getString(4), rs.getInt(5), rs.getInt(6)));
+                    }
+                }
+            }
+        }
+        return quizzes;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.green_action.quiz;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class AnswerEngineTest {
+
+    private static Quiz quiz(int order, String answer, int maxScore, int attemptsAllowed) {
+        return new Quiz(QuizCategory.AIR, order, "문제", null, answer, "해설", maxScore, attemptsAllowed);
+    }
+
+    @Test
+    public void correctOnFirstTryGetsFullScore() {
+        AnswerEngine engine = new AnswerEngine();
+        AnswerEngine.Result result = engine.submit(quiz(1, "정답1", 3, 3), "정답 1");
+        assertEquals(AnswerEngine.Outcome.CORRECT, result.outcome);
+        assertEquals(3, result.score);
+    }
+
+    @Test
+    public void eachWrongAttemptCostsPoints() {
+        AnswerEngine engine = new AnswerEngine();
+        Quiz quiz = quiz(1, "정답1", 3, 3);
+        AnswerEngine.Result wrong = engine.submit(quiz, "오답");
+        assertEquals(AnswerEngine.Outcome.WRONG, wrong.outcome);
+        assertEquals(2, wrong.attemptsLeft);
+        engine.submit(quiz, "오답");
+        AnswerEngine.Result result = engine.submit(quiz, "정답1");
+        assertEquals(AnswerEngine.Outcome.CORRECT, result.outcome);
+        assertEquals(1, result.score);
+        // 맞히면 횟수가 초기화된다.
+        assertEquals(3, engine.attemptsLeft(quiz));
+    }
+
+    @Test
+    public void runningOutOfAttemptsResetsThem() {
+        AnswerEngine engine = new AnswerEngine();
+        Quiz quiz = quiz(2, "정답2", 3, 2);
+        assertEquals(AnswerEngine.Outcome.WRONG, engine.submit(quiz, "x").outcome);
+        AnswerEngine.Result out = engine.submit(quiz, "y");
+        assertEquals(AnswerEngine.Outcome.OUT_OF_ATTEMPTS, out.outcome);
+        assertEquals(0, out.score);
+        assertEquals(2, engine.attemptsLeft(quiz));
+    }
+
+    @Test
+    public void attemptsAreTrackedPerQuiz() {
+        AnswerEngine engine = new AnswerEngine();
+        Quiz air = quiz(1, "a", 3, 3);
+        Quiz soil = new Quiz(QuizCategory.SOIL, 1, "문제", null, "a", null, 3, 3);
+        engine.submit(air, "x");
+        assertEquals(2, engine.attemptsLeft(air));
+        assertEquals(3, engine.attemptsLeft(soil));
+    }
+
+    @Test
+    public void unlimitedAttempts() {
+        AnswerEngine engine = new AnswerEngine();
+        Quiz quiz = quiz(3, "정답3", 5, 0);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(AnswerEngine.Outcome.WRONG, engine.submit(quiz, "x").outcome);
+        }
+        assertEquals(-1, engine.attemptsLeft(quiz));
+        assertEquals(1, engine.submit(quiz, "정답3").score);
+    }
+
+    @Test
+    public void scorePenaltyScalesWithMaxScore() {
+        Quiz quiz = quiz(4, "a", 10, 3);
+        assertEquals(10, AnswerEngine.scoreAfter(quiz, 0));
+        assertEquals(7, AnswerEngine.scoreAfter(quiz, 1));
+        assertEquals(4, AnswerEngine.scoreAfter(quiz, 2));
+        assertEquals(0, AnswerEngine.scoreAfter(quiz(5, "a", 0, 3), 1));
+    }
+}
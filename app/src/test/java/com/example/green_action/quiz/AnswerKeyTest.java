@@ -0,0 +1,62 @@
+package com.example.green_action.quiz;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AnswerKeyTest {
+
+    @Test
+    public void ignoresCaseWhitespaceAndPunctuation() {
+        AnswerKey key = AnswerKey.of("미세먼지");
+        assertTrue(key.matches("미세먼지"));
+        assertTrue(key.matches("  미세 먼지. "));
+        assertTrue(key.matches("\"미세먼지!\""));
+        assertFalse(key.matches("초미세먼지"));
+        assertTrue(AnswerKey.of("PM10").matches("pm 10"));
+    }
+
+    @Test
+    public void composesHangulJamo() {
+        AnswerKey key = AnswerKey.of("미세먼지");
+        assertTrue(key.matches("\u1106\u1175\u1109\u1166\u1106\u1165\u11ab\u110c\u1175"));
+        assertTrue(key.matches("미세먼지"));
+        // 호환 자모를 하나씩 친 입력
+        assertTrue(key.matches("ㅁㅣㅅㅔㅁㅓㄴㅈㅣ"));
+        // 겹모음/겹받침
+        assertTrue(AnswerKey.of("과학").matches("ㄱㅗㅏㅎㅏㄱ"));
+        assertTrue(AnswerKey.of("닭").matches("ㄷㅏㄹㄱ"));
+        assertFalse(key.matches("ㅁㅣㅅㅔ"));
+    }
+
+    @Test
+    public void foldsFullWidthCharacters() {
+        assertTrue(AnswerKey.of("PM10").matches("ＰＭ１０"));
+    }
+
+    @Test
+    public void acceptsSynonyms() {
+        AnswerKey key = AnswerKey.of("미세먼지|PM10| fine dust ");
+        assertTrue(key.matches("미세먼지"));
+        assertTrue(key.matches("pm10"));
+        assertTrue(key.matches("Fine Dust"));
+        assertFalse(key.matches("황사"));
+        assertFalse(key.matches(""));
+    }
+
+    @Test
+    public void emptyAnswerAcceptsAnything() {
+        assertTrue(AnswerKey.of("").acceptsAnything());
+        assertTrue(AnswerKey.of(" | ").matches("아무거나"));
+        assertFalse(AnswerKey.of("정답1").acceptsAnything());
+    }
+
+    @Test
+    public void normalizeIsIdempotent() {
+        String once = AnswerKey.normalize(" ＰＭ 2.5 ㅁㅣ세 ");
+        assertEquals(once, AnswerKey.normalize(once));
+        assertEquals(AnswerKey.normalize("pm25미세"), once);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.green_action.quiz;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class QuizProgressTest {
+
+    @Test
+    public void emptyProgress() {
+        QuizProgress progress = QuizProgress.decode(null);
+        assertEquals(0, progress.lastSolved());
+        assertEquals(1, progress.nextUnlocked());
+        assertEquals("", progress.encode());
+        assertSame(QuizProgress.empty(), QuizProgress.decode(""));
+    }
+
+    @Test
+    public void roundTrip() {
+        QuizProgress progress = QuizProgress.empty().withSolved(1).withSolved(2).withSolved(9);
+        QuizProgress decoded = QuizProgress.decode(progress.encode());
+        assertTrue(decoded.isSolved(1));
+        assertTrue(decoded.isSolved(2));
+        assertFalse(decoded.isSolved(3));
+        assertTrue(decoded.isSolved(9));
+        assertFalse(decoded.isSolved(0));
+        assertEquals(9, decoded.lastSolved());
+        assertEquals(10, decoded.nextUnlocked());
+        assertEquals(3, decoded.solvedCount());
+    }
+
+    @Test
+    public void hundredsOfQuizzesFitInAFewBytes() {
+        QuizProgress progress = QuizProgress.empty();
+        for (int order = 1; order <= 300; order++) {
+            progress = progress.withSolved(order);
+        }
+        assertEquals(52, progress.encode().length());
+        assertEquals(300, QuizProgress.decode(progress.encode()).solvedCount());
+    }
+
+    @Test
+    public void migratesLegacyPerKeyFormat() {
+        Map<Integer, Boolean> legacy = new HashMap<>();
+        legacy.put(1, true);
+        legacy.put(2, false);
+        legacy.put(3, true);
+        legacy.put(QuizCategory.SOIL.progressKey(4), true);
+
+        QuizProgress air = QuizProgress.fromLegacy(QuizCategory.AIR, legacy);
+        assertTrue(air.isSolved(1));
+        assertFalse(air.isSolved(2));
+        assertTrue(air.isSolved(3));
+        assertFalse(air.isSolved(4));
+        assertEquals(3, air.lastSolved());
+
+        QuizProgress soil = QuizProgress.fromLegacy(QuizCategory.SOIL, legacy);
+        assertEquals(1, soil.solvedCount());
+        assertTrue(soil.isSolved(4));
+    }
+
+    @Test
+    public void convertsToAndFromProgressKeys() {
+        BitSet keys = new BitSet();
+        keys.set(QuizCategory.WATER.progressKey(2));
+        keys.set(QuizCategory.WATER.progressKey(5));
+        keys.set(QuizCategory.AIR.progressKey(7));
+
+        QuizProgress water = QuizProgress.fromProgressKeys(QuizCategory.WATER, keys);
+        assertEquals(2, water.solvedCount());
+        assertEquals(5, water.lastSolved());
+
+        BitSet back = new BitSet();
+        water.addProgressKeysTo(QuizCategory.WATER, back);
+        assertEquals(2, back.cardinality());
+        assertTrue(back.get(QuizCategory.WATER.progressKey(5)));
+    }
+
+    @Test
+    public void solvingTheFrontierChangesTwoCells() {
+        QuizProgress before = QuizProgress.empty().withSolved(1).withSolved(2);
+        BitSet changed = before.withSolved(3).changedOrders(before);
+        assertEquals(2, changed.cardinality());
+        assertTrue(changed.get(3));
+        assertTrue(changed.get(4));
+        assertTrue(before.changedOrders(before).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidBase64() {
+        QuizProgress.decode("not base64!");
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.green_action.remote;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+// 화면 lifecycle 에 따라 리스너가 연결/해제되는지 확인 (Firebase 없이 가짜 연결 작업 사용)
+public class ListenerRegistryTest {
+
+    private FakeOwner owner;
+    private ListenerRegistry registry;
+    private int attached;
+    private int baseline;
+
+    @Before
+    public void setUp() {
+        owner = new FakeOwner();
+        owner.lifecycle.setCurrentState(Lifecycle.State.CREATED);
+        registry = ListenerRegistry.bind(owner);
+        attached = 0;
+        baseline = ListenerRegistry.totalActiveCount();
+    }
+
+    private ListenerRegistry.Attachment fakeListener() {
+        return () -> {
+            attached++;
+            return () -> attached--;
+        };
+    }
+
+    @Test
+    public void attachesOnStartAndDetachesOnStop() {
+        registry.add("a", fakeListener());
+        registry.add("b", fakeListener());
+        assertEquals(0, attached);
+
+        owner.lifecycle.handleLifecycleEvent(Lifecycle.Event.ON_START);
+        assertEquals(2, attached);
+        assertEquals(2, registry.activeCount());
+        assertEquals(baseline + 2, ListenerRegistry.totalActiveCount());
+
+        owner.lifecycle.handleLifecycleEvent(Lifecycle.Event.ON_STOP);
+        assertEquals(0, attached);
+        assertEquals(0, registry.activeCount());
+        assertEquals(baseline, ListenerRegistry.totalActiveCount());
+
+        // 다시 보이면 다시 연결
+        owner.lifecycle.handleLifecycleEvent(Lifecycle.Event.ON_START);
+        assertEquals(2, attached);
+    }
+
+    @Test
+    public void addWhileStartedAttachesImmediately() {
+        owner.lifecycle.handleLifecycleEvent(Lifecycle.Event.ON_START);
+        registry.add("a", fakeListener());
+        assertEquals(1, attached);
+    }
+
+    @Test
+    public void duplicateKeyReplacesPreviousListener() {
+        owner.lifecycle.handleLifecycleEvent(Lifecycle.Event.ON_START);
+        registry.add("a", fakeListener());
+        registry.add("a", fakeListener());
+        assertEquals(1, attached);
+        assertEquals(1, registry.activeCount());
+    }
+
+    @Test
+    public void destroyDetachesAndIgnoresLaterAdds() {
+        owner.lifecycle.handleLifecycleEvent(Lifecycle.Event.ON_START);
+        registry.add("a", fakeListener());
+        owner.lifecycle.handleLifecycleEvent(Lifecycle.Event.ON_DESTROY);
+        assertEquals(0, attached);
+        assertEquals(baseline, ListenerRegistry.totalActiveCount());
+
+        registry.add("b", fakeListener());
+        assertEquals(0, registry.activeCount());
+    }
+
+    @Test
+    public void removeDetaches() {
+        owner.lifecycle.handleLifecycleEvent(Lifecycle.Event.ON_START);
+        registry.add("a", fakeListener());
+        registry.remove("a");
+        assertEquals(0, attached);
+    }
+
+    private static final class FakeOwner implements LifecycleOwner {
+        // 테스트 스레드에서 쓰므로 메인 스레드 검사를 하지 않는 등록부 사용
+        final LifecycleRegistry lifecycle = LifecycleRegistry.createUnsafe(this);
+
+        @NonNull
+        @Override
+        public Lifecycle getLifecycle() {
+            return lifecycle;
+        }
+    }
+}
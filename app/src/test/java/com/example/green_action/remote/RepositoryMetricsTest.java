@@ -0,0 +1,76 @@
+package com.example.green_action.remote;
+
+import com.google.firebase.database.Exclude;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// 경로별 집계와 전송량 추정 확인
+public class RepositoryMetricsTest {
+
+    @After
+    public void tearDown() {
+        RepositoryMetrics.setEnabled(false);
+    }
+
+    @Test
+    public void recordsNothingWhenDisabled() {
+        RepositoryMetrics metrics = new RepositoryMetrics();
+        metrics.recordWrite("/users/a", "name");
+        metrics.recordCacheResult("/users/a", true);
+        assertTrue(metrics.snapshot().isEmpty());
+    }
+
+    @Test
+    public void recordsWritesPerTopLevelPathWhenEnabled() {
+        RepositoryMetrics.setEnabled(true);
+        RepositoryMetrics metrics = new RepositoryMetrics();
+        metrics.recordWrite("/users/a/name", "abc");
+        metrics.recordWrite("/users/b/name", "de");
+
+        RepositoryMetrics.PathStats users = metrics.snapshot().get("users");
+        assertEquals(2, users.writes);
+        assertEquals(5 + 4, users.bytesWritten);
+    }
+
+    @Test
+    public void pojoIsSizedLikeItsMap() {
+        Map<String, Object> asMap = new HashMap<>();
+        asMap.put("title", "hello");
+        asMap.put("likes", 3);
+        asMap.put("solved", true);
+        asMap.put("tags", Collections.singletonMap("a", 1L));
+        assertEquals(RepositoryMetrics.estimateSize(asMap), RepositoryMetrics.estimateSize(new Post()));
+    }
+
+    @SuppressWarnings("unused")
+    public static class Post {
+        public int likes = 3;
+        public Map<String, Long> tags = Collections.singletonMap("a", 1L);
+        private final String title = "hello";
+
+        public String getTitle() {
+            return title;
+        }
+
+        public boolean isSolved() {
+            return true;
+        }
+
+        @Exclude
+        public String getExcluded() {
+            return "not stored";
+        }
+
+        public static String getStatic() {
+            return "not a property";
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.green_action.remote;
+
+import com.example.green_action.JdbcSchemaSql;
+import com.example.green_action.QuizSchema;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+// pending_writes 의 묶음 선택/실패 시 합치기 SQL 을 JDBC SQLite(메모리 DB)로 검증
+public class WriteBehindQueueSqlTest {
+
+    private static final String SCORE = "users/a/score";
+    private static final String BITS = "users/a/quiz_bits/air";
+    private static final String NAME = "ranking/a/userId";
+
+    private Connection connection;
+
+    @Before
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        QuizSchema.create(new JdbcSchemaSql(connection));
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void claimedBatchIsMarkedSentSeparately() throws SQLException {
+        insert(SCORE, 0, WriteBehindQueue.OP_INCREMENT, 10L, null);
+        execute(WriteBehindQueue.CLAIM_BATCH, -1);
+        insert(SCORE, 0, WriteBehindQueue.OP_INCREMENT, 5L, null);  // 고른 뒤 들어온 쓰기
+
+        execute(WriteBehindQueue.MARK_SENT, 1, -1);
+
+        assertEquals(10, num(SCORE, 1));
+        assertEquals(5, num(SCORE, 0));
+        assertEquals(2, count());
+    }
+
+    @Test
+    public void failedIncrementIsAddedToNewerIncrement() throws SQLException {
+        insert(SCORE, 1, WriteBehindQueue.OP_INCREMENT, 10L, null);
+        insert(SCORE, 0, WriteBehindQueue.OP_INCREMENT, 5L, null);
+
+        fail(1);
+
+        assertEquals(WriteBehindQueue.OP_INCREMENT, op(SCORE, 0));
+        assertEquals(15, num(SCORE, 0));
+        assertEquals(1, count());
+    }
+
+    @Test
+    public void failedValueUnderNewerIncrementBecomesValue() throws SQLException {
+        insert(SCORE, 1, WriteBehindQueue.OP_SET_NUMBER, 100L, null);
+        insert(SCORE, 0, WriteBehindQueue.OP_INCREMENT, 5L, null);
+
+        fail(1);
+
+        assertEquals(WriteBehindQueue.OP_SET_NUMBER, op(SCORE, 0));
+        assertEquals(105, num(SCORE, 0));
+        assertEquals(1, count());
+    }
+
+    @Test
+    public void newerValueWinsOverFailedValue() throws SQLException {
+        insert(BITS, 1, WriteBehindQueue.OP_SET_NUMBER, 1L, null);
+        insert(BITS, 0, WriteBehindQueue.OP_SET_NUMBER, 3L, null);
+
+        fail(1);
+
+        assertEquals(3, num(BITS, 0));
+        assertEquals(1, count());
+    }
+
+    @Test
+    public void failedWritesWithoutNewerOnesAreRequeued() throws SQLException {
+        insert(NAME, 1, WriteBehindQueue.OP_SET_TEXT, null, "a");
+        insert(SCORE, 1, WriteBehindQueue.OP_INCREMENT, 10L, null);
+
+        fail(1);
+
+        assertEquals(WriteBehindQueue.OP_SET_TEXT, op(NAME, 0));
+        assertEquals(10, num(SCORE, 0));
+        assertEquals(2, count());
+    }
+
+    @Test
+    public void lateFailureKeepsNewerBatchValueButRequeuesIncrement() throws SQLException {
+        // 응답이 늦은 묶음 1 이 실패했을 때 이미 묶음 2 가 같은 경로를 보낸 상태
+        insert(BITS, 1, WriteBehindQueue.OP_SET_NUMBER, 1L, null);
+        insert(SCORE, 1, WriteBehindQueue.OP_INCREMENT, 10L, null);
+        insert(BITS, 2, WriteBehindQueue.OP_SET_NUMBER, 3L, null);
+        insert(SCORE, 2, WriteBehindQueue.OP_INCREMENT, 5L, null);
+
+        fail(1);
+
+        assertFalse(exists(BITS, 0));
+        assertEquals(10, num(SCORE, 0));
+        assertEquals(3, num(BITS, 2));
+        assertEquals(5, num(SCORE, 2));
+        assertEquals(3, count());
+    }
+
+    @Test
+    public void unsentClaimsFromDeadProcessAreRequeuedInOrder() throws SQLException {
+        // 넘기기 전에 끝난 묶음 -1, -2 를 되돌린다. (recoverBatches)
+        insert(BITS, -1, WriteBehindQueue.OP_SET_NUMBER, 1L, null);
+        insert(SCORE, -1, WriteBehindQueue.OP_INCREMENT, 10L, null);
+        insert(BITS, -2, WriteBehindQueue.OP_SET_NUMBER, 3L, null);
+        insert(SCORE, -2, WriteBehindQueue.OP_INCREMENT, 5L, null);
+
+        fail(-2);
+        fail(-1);
+
+        assertEquals(3, num(BITS, 0));
+        assertEquals(15, num(SCORE, 0));
+        assertEquals(2, count());
+    }
+
+    @Test
+    public void transientFailuresAreCountedUntilTheRowIsDropped() throws SQLException {
+        insert(SCORE, 1, WriteBehindQueue.OP_INCREMENT, 10L, null);
+        insert(NAME, 1, WriteBehindQueue.OP_SET_TEXT, null, "a");
+        execute("UPDATE " + QuizSchema.TABLE_PENDING_WRITES + " SET attempts = " + (WriteBehindQueue.MAX_ATTEMPTS - 1) +
+                " WHERE path = '" + SCORE + "'");
+
+        failTransient(1);
+
+        assertFalse(exists(SCORE, 0));
+        assertEquals(1, attempts(NAME, 0));
+        assertEquals(1, count());
+    }
+
+    @Test
+    public void mergedIncrementKeepsFailedAttempts() throws SQLException {
+        insert(SCORE, 1, WriteBehindQueue.OP_INCREMENT, 10L, null);
+        insert(SCORE, 0, WriteBehindQueue.OP_INCREMENT, 5L, null);
+        execute("UPDATE " + QuizSchema.TABLE_PENDING_WRITES + " SET attempts = 3 WHERE batch = 1");
+
+        failTransient(1);
+
+        assertEquals(15, num(SCORE, 0));
+        assertEquals(4, attempts(SCORE, 0));
+    }
+
+    @Test
+    public void unsentClaimsAreNotCountedAsAttempts() throws SQLException {
+        insert(SCORE, -1, WriteBehindQueue.OP_INCREMENT, 10L, null);
+
+        fail(-1);
+
+        assertEquals(0, attempts(SCORE, 0));
+    }
+
+    @Test
+    public void successDeletesOnlyThatBatch() throws SQLException {
+        insert(SCORE, 1, WriteBehindQueue.OP_INCREMENT, 10L, null);
+        insert(SCORE, 0, WriteBehindQueue.OP_INCREMENT, 5L, null);
+
+        execute(WriteBehindQueue.DELETE_BATCH, 1);
+
+        assertFalse(exists(SCORE, 1));
+        assertTrue(exists(SCORE, 0));
+    }
+
+    // WriteBehindQueue.finishBatch(batch, false) 와 같은 순서
+    private void fail(long batch) throws SQLException {
+        execute(WriteBehindQueue.DROP_SUPERSEDED, batch);
+        execute(WriteBehindQueue.MERGE_INCREMENTS, batch, batch, batch, batch);
+        execute(WriteBehindQueue.REQUEUE_BATCH, batch);
+        execute(WriteBehindQueue.DELETE_BATCH, batch);
+    }
+
+    // WriteBehindQueue.failBatch(batch) 와 같은 순서
+    private void failTransient(long batch) throws SQLException {
+        execute(WriteBehindQueue.COUNT_ATTEMPT, batch);
+        execute(WriteBehindQueue.DROP_EXHAUSTED, batch);
+        fail(batch);
+    }
+
+    private void insert(String path, long batch, int op, Long num, String text) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO " + QuizSchema.TABLE_PENDING_WRITES + " (path, batch, op, num, text) VALUES (?, ?, ?, ?, ?)")) {
+            statement.setString(1, path);
+            statement.setLong(2, batch);
+            statement.setInt(3, op);
+            statement.setObject(4, num);
+            statement.setString(5, text);
+            statement.executeUpdate();
+        }
+    }
+
+    private void execute(String sql, long... args) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < args.length; i++) {
+                statement.setLong(i + 1, args[i]);
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    private boolean exists(String path, long batch) throws SQLException {
+        try (ResultSet rs = select("op", path, batch)) {
+            return rs.next();
+        }
+    }
+
+    private int op(String path, long batch) throws SQLException {
+        try (ResultSet rs = select("op", path, batch)) {
+            assertTrue(path, rs.next());
+            return rs.getInt(1);
+        }
+    }
+
+    private int attempts(String path, long batch) throws SQLException {
+        try (ResultSet rs = select("attempts", path, batch)) {
+            assertTrue(path, rs.next());
+            return rs.getInt(1);
+        }
+    }
+
+    private long num(String path, long batch) throws SQLException {
+        try (ResultSet rs = select("num", path, batch)) {
+            assertTrue(path, rs.next());
+            return rs.getLong(1);
+        }
+    }
+
+    private ResultSet select(String column, String path, long batch) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(
+                "SELECT " + column + " FROM " + QuizSchema.TABLE_PENDING_WRITES + " WHERE path = ? AND batch = ?");
+        statement.setString(1, path);
+        statement.setLong(2, batch);
+        statement.closeOnCompletion();
+        return statement.executeQuery();
+    }
+
+    private int count() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM " + QuizSchema.TABLE_PENDING_WRITES)) {
+            assertTrue(rs.next());
+            return rs.getInt(1);
+        }
+    }
+}